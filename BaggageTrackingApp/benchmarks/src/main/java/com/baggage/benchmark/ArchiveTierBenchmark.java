@@ -0,0 +1,78 @@
+package com.baggage.benchmark;
+
+import com.baggage.BaggageTrackingApplication;
+import com.baggage.archive.BaggageArchiver;
+import com.baggage.service.LoadingRecordServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A one-day window near today against half a year of history, with every
+ * day still in TBAG/TFLIGHT ("hot") and with the departed days moved to the
+ * archive tier ("archived"), plus a window a month back that reads both
+ * tiers. The cache is disabled so every call runs the database read path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ArchiveTierBenchmark {
+
+    private static final int HISTORY_DAYS = 180;
+    private static final int FUTURE_DAYS = 7;
+
+    @Param({"1000000"})
+    private int bagCount;
+
+    @Param({"hot", "archived"})
+    private String tiering;
+
+    private ConfigurableApplicationContext context;
+    private LoadingRecordServiceImpl loadingRecordService;
+    private LocalDateTime recentFrom;
+    private LocalDateTime pastFrom;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BaggageTrackingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("baggage.cache.enabled=false", "spring.jpa.show-sql=false", "baggage.archive.cron=-",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                .run();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        new SyntheticDataGenerator(bagCount, today.minusDays(HISTORY_DAYS), HISTORY_DAYS + FUTURE_DAYS)
+                .populate(context.getBean(JdbcTemplate.class));
+        if (tiering.equals("archived")) {
+            context.getBean(BaggageArchiver.class).archiveDepartedDays();
+        }
+        loadingRecordService = context.getBean(LoadingRecordServiceImpl.class);
+        recentFrom = today.minusDays(1).atStartOfDay();
+        pastFrom = today.minusDays(30).atStartOfDay();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void recentDay(Blackhole blackhole) {
+        blackhole.consume(loadingRecordService.getSpecialBaggageByDateRange(recentFrom, recentFrom.plusDays(1)));
+    }
+
+    @Benchmark
+    public void dayAMonthBack(Blackhole blackhole) {
+        blackhole.consume(loadingRecordService.getSpecialBaggageByDateRange(pastFrom, pastFrom.plusDays(1)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.baggage.benchmark;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.journal.BagJournal;
+import com.baggage.journal.JournalProperties;
+import com.baggage.model.BagId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The bag journal: appending scans (one shot of a million per iteration,
+ * into a fresh journal that already holds ten scans of each of 10k bags),
+ * and tracing one bag tag through its ten scans.
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class BagJournalBenchmark {
+
+    private static final int BAGS = 10_000;
+    private static final int SCANS = 1_000_000;
+
+    private ScanEvent[] scans;
+    private Path directory;
+    private BagJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate day = LocalDate.of(2025, 5, 11);
+        LocalDateTime start = day.atTime(6, 0);
+        scans = new ScanEvent[BAGS];
+        for (int i = 0; i < BAGS; i++) {
+            BagId bagId = new BagId(100_000 + i, (short) 15, (short) 0, (short) 1, (short) (100 + i / 100),
+                    (short) 13, 'A', day, (short) 1);
+            scans[i] = new ScanEvent(bagId, 2, null, "11L", "SORTER " + i % 8, start.plusSeconds(i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openJournal() throws IOException {
+        directory = Files.createTempDirectory("bag-journal");
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        journal = new BagJournal(properties, Clock.fixed(scans[0].getScannedAt().toInstant(ZoneOffset.UTC),
+                ZoneOffset.UTC), new SimpleMeterRegistry());
+        for (int round = 0; round < 10; round++) {
+            for (ScanEvent scan : scans) {
+                journal.append(scan);
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteJournal() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OperationsPerInvocation(SCANS)
+    public void append() {
+        for (int i = 0; i < SCANS; i++) {
+            journal.append(scans[i % BAGS]);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<ScanEvent> trace() {
+        return journal.trace("015100042");
+    }
+}
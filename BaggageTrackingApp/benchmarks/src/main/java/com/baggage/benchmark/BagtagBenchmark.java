@@ -0,0 +1,69 @@
+package com.baggage.benchmark;
+
+import com.baggage.index.BagtagDecoder;
+import com.baggage.model.Bag;
+import com.baggage.model.BagId;
+import com.baggage.repository.projection.SpecialBagView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-bag cost of building the bag tag string on the entity and on the
+ * read projection, and of decoding a scanned tag into lookup candidates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(BagtagBenchmark.BAGS)
+public class BagtagBenchmark {
+    
+    static final int BAGS = 10_000;
+    
+    private List<SpecialBagView> views;
+    private List<Bag> entities;
+    private String[] tags;
+    private final long[] candidates = new long[BagtagDecoder.MAX_CANDIDATES];
+    
+    @Setup
+    public void setUp() {
+        views = new SyntheticDataGenerator(BAGS).bags();
+        entities = new ArrayList<>(BAGS);
+        for (SpecialBagView view : views) {
+            Bag bag = new Bag();
+            bag.setId(new BagId(view.getBtSerialNr(), view.getBtAirlineCodeNr(), view.getOninterPrefix(),
+                    view.getDuplicateNr(), view.getFlightNr(), view.getAirlineCodeNr(), view.getSuffix(),
+                    view.getFlightDepDate(), view.getLegNr()));
+            entities.add(bag);
+        }
+        tags = views.stream().map(SpecialBagView::getBagtag).toArray(String[]::new);
+    }
+    
+    @Benchmark
+    public void entityBagtag(Blackhole blackhole) {
+        for (Bag bag : entities) {
+            blackhole.consume(bag.getBagtag());
+        }
+    }
+    
+    @Benchmark
+    public void projectionBagtag(Blackhole blackhole) {
+        for (SpecialBagView bag : views) {
+            blackhole.consume(bag.getBagtag());
+        }
+    }
+    
+    @Benchmark
+    public void decodeBagtag(Blackhole blackhole) {
+        for (String tag : tags) {
+            blackhole.consume(BagtagDecoder.decode(tag, candidates));
+        }
+        blackhole.consume(candidates);
+    }
+}
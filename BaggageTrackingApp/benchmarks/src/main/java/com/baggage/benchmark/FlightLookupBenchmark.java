@@ -0,0 +1,97 @@
+package com.baggage.benchmark;
+
+import com.baggage.index.FlightIndex;
+import com.baggage.index.FlightKeys;
+import com.baggage.model.ExceptionCodes;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the String.format keyed flight map with the packed-long FlightIndex:
+ * building the index for a window and resolving the flight of every bag.
+ * Also measures building just the per-bag key both ways.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightLookupBenchmark {
+    
+    @Param({"200", "2000"})
+    private int flightCount;
+    
+    @Param({"50"})
+    private int bagsPerFlight;
+    
+    private List<FlightView> flights;
+    private List<SpecialBagView> bags;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate day = LocalDate.of(2025, 5, 10);
+        flights = new ArrayList<>(flightCount);
+        bags = new ArrayList<>(flightCount * bagsPerFlight);
+        for (int i = 0; i < flightCount; i++) {
+            short flightNr = (short) (100 + i);
+            short airline = (short) (1 + i % 40);
+            char suffix = (char) ('A' + i % 8);
+            flights.add(new FlightView(flightNr, airline, suffix, day, (short) 1,
+                    day.atTime(6, 0).plusMinutes(i), "S" + (i % 90), null));
+            for (int j = 0; j < bagsPerFlight; j++) {
+                bags.add(new SpecialBagView(random.nextInt(999_999), airline, (short) 0, (short) 1,
+                        flightNr, airline, suffix, day, (short) 1, "12A", "B", ExceptionCodes.PET, 8, null));
+            }
+        }
+        Collections.shuffle(bags, random);
+    }
+    
+    @Benchmark
+    public void stringKeyedMap(Blackhole blackhole) {
+        Map<String, FlightView> flightMap = new HashMap<>();
+        for (FlightView flight : flights) {
+            flightMap.put(String.format("%d-%d-%s-%s-%d", flight.getFlightNr(), flight.getAirlineCodeNr(),
+                    flight.getSuffix(), flight.getFlightDepDate(), flight.getLegNr()), flight);
+        }
+        for (SpecialBagView bag : bags) {
+            // The service used to build this key twice per bag (date filter and mapping)
+            for (int i = 0; i < 2; i++) {
+                blackhole.consume(flightMap.get(String.format("%d-%d-%s-%s-%d", bag.getFlightNr(),
+                        bag.getAirlineCodeNr(), bag.getSuffix(), bag.getFlightDepDate(), bag.getLegNr())));
+            }
+        }
+    }
+    
+    @Benchmark
+    public void packedFlightIndex(Blackhole blackhole) {
+        FlightIndex flightIndex = FlightIndex.of(flights);
+        for (SpecialBagView bag : bags) {
+            blackhole.consume(flightIndex.get(bag));
+        }
+    }
+    
+    @Benchmark
+    public void formatStringKeys(Blackhole blackhole) {
+        for (SpecialBagView bag : bags) {
+            blackhole.consume(String.format("%d-%d-%s-%s-%d", bag.getFlightNr(), bag.getAirlineCodeNr(),
+                    bag.getSuffix(), bag.getFlightDepDate(), bag.getLegNr()));
+        }
+    }
+    
+    @Benchmark
+    public void packFlightKeys(Blackhole blackhole) {
+        FlightKeys keys = new FlightKeys();
+        for (SpecialBagView bag : bags) {
+            blackhole.consume(keys.of(bag));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.baggage.benchmark;
+
+import com.baggage.analytics.LoadColumns;
+import com.baggage.analytics.LoadGrouping;
+import com.baggage.dto.LoadProgress;
+import com.baggage.index.FlightKeys;
+import com.baggage.repository.projection.LoadBagView;
+import com.baggage.service.LoadingRecordMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load progress of one operating day (100 bags per flight leg, four ULDs
+ * and positions each): the LoadColumns aggregates per flight, ULD and unit
+ * position, against grouping the same bags row by row as objects.
+ * Run with -p parallelThreshold=1 to slice every scan over the common pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LoadProgressBenchmark {
+    
+    private static final int BAGS_PER_FLIGHT = 100;
+    
+    @Param({"100000", "1000000"})
+    private int bagCount;
+    
+    @Param({"2147483647"})
+    private int parallelThreshold;
+    
+    private List<LoadBagView> bags;
+    private LoadColumns columns;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate day = LocalDate.of(2025, 5, 11);
+        bags = new ArrayList<>(bagCount);
+        for (int i = 0; i < bagCount; i++) {
+            int flight = i / BAGS_PER_FLIGHT;
+            int uld = random.nextInt(4);
+            bags.add(new LoadBagView(i, (short) 15, (short) 0, (short) 1, (short) (1 + flight % 30_000),
+                    (short) (1 + flight / 30_000), 'A', day, (short) 1, "AKE" + (10_000 + flight) + "AA" + uld,
+                    (11 + uld) + "L", 10f + random.nextInt(25), random.nextInt(12), null));
+        }
+        columns = new LoadColumns(parallelThreshold);
+        bags.forEach(columns::upsert);
+    }
+    
+    @Benchmark
+    public List<LoadProgress> columnarByFlight() {
+        return columns.aggregate(LoadGrouping.FLIGHT, null);
+    }
+    
+    @Benchmark
+    public List<LoadProgress> columnarByLoadDevice() {
+        return columns.aggregate(LoadGrouping.LOAD_DEVICE, null);
+    }
+    
+    @Benchmark
+    public List<LoadProgress> columnarByUnitPosition() {
+        return columns.aggregate(LoadGrouping.UNIT_POSITION, null);
+    }
+    
+    // Bag count, loaded count, weight and loaded weight per flight leg, one boxed key and object read per bag
+    @Benchmark
+    public Map<Long, double[]> rowWiseByFlight() {
+        FlightKeys keys = new FlightKeys();
+        Map<Long, double[]> totals = new HashMap<>();
+        for (LoadBagView bag : bags) {
+            double[] total = totals.computeIfAbsent(keys.of(bag), key -> new double[4]);
+            double weight = bag.getBagWeight() != null ? bag.getBagWeight() : 0;
+            boolean loaded = LoadingRecordMapper.isLoaded(bag.getLoadedStatus());
+            total[0]++;
+            total[1] += loaded ? 1 : 0;
+            total[2] += weight;
+            total[3] += loaded ? weight : 0;
+        }
+        return totals;
+    }
+    
+    @Benchmark
+    public void incrementalUpsert() {
+        // What a refresh applies for a 0.1% slice of the day
+        for (int i = 0; i < bagCount; i += 1000) {
+            columns.upsert(bags.get(i));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.baggage.benchmark;
+
+import com.baggage.index.FlightIndex;
+import com.baggage.model.ExceptionCodes;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import com.baggage.service.LoadingRecordMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-bag cost of the LoadingRecordMapper steps over a synthetic bag mix
+ * (special, unrelated and missing exception types).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(LoadingRecordMapperBenchmark.BAGS)
+public class LoadingRecordMapperBenchmark {
+    
+    static final int BAGS = 10_000;
+    
+    private final LoadingRecordMapper mapper = new LoadingRecordMapper();
+    private List<SpecialBagView> bags;
+    private String[] exceptionTypes;
+    private FlightView[] flightOfBag;
+    
+    @Setup
+    public void setUp() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(BAGS);
+        bags = generator.bags();
+        exceptionTypes = new String[BAGS];
+        for (int i = 0; i < BAGS; i++) {
+            exceptionTypes[i] = generator.exceptionTypes(i);
+        }
+        FlightIndex flightIndex = FlightIndex.of(generator.flights());
+        flightOfBag = bags.stream().map(bag -> flightIndex.get(bag)).toArray(FlightView[]::new);
+    }
+    
+    // Decoding TBAG.EXCEPTION_TYPES, as done once per row by the EXCEPTION_MASK column
+    @Benchmark
+    public void parseExceptionCodes(Blackhole blackhole) {
+        for (String codes : exceptionTypes) {
+            blackhole.consume(ExceptionCodes.parse(codes));
+        }
+    }
+    
+    // The baggage type the mapper derives from the mask
+    @Benchmark
+    public void determineBaggageType(Blackhole blackhole) {
+        for (SpecialBagView bag : bags) {
+            blackhole.consume(ExceptionCodes.baggageType(bag.getExceptionMask()));
+        }
+    }
+    
+    @Benchmark
+    public void hasRelevantExceptionType(Blackhole blackhole) {
+        for (SpecialBagView bag : bags) {
+            blackhole.consume(mapper.hasRelevantExceptionType(bag));
+        }
+    }
+    
+    @Benchmark
+    public void formatDepartureDateTime(Blackhole blackhole) {
+        for (int i = 0; i < BAGS; i++) {
+            blackhole.consume(mapper.formatDepartureDateTime(bags.get(i).getFlightDepDate(), flightOfBag[i]));
+        }
+    }
+    
+    @Benchmark
+    public void mapToLoadingRecord(Blackhole blackhole) {
+        for (int i = 0; i < BAGS; i++) {
+            blackhole.consume(mapper.mapToLoadingRecord(bags.get(i), flightOfBag[i]));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.baggage.benchmark;
+
+import com.baggage.BaggageTrackingApplication;
+import com.baggage.service.LoadingRecordServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getSpecialBaggageByDateRange against H2 loaded by SyntheticDataGenerator,
+ * for a one-day window (a tenth of the data). The cache is disabled so every
+ * call runs the database read path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SpecialBaggageEndToEndBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    private int bagCount;
+    
+    private ConfigurableApplicationContext context;
+    private LoadingRecordServiceImpl loadingRecordService;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BaggageTrackingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("baggage.cache.enabled=false", "spring.jpa.show-sql=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                .run();
+        new SyntheticDataGenerator(bagCount).populate(context.getBean(JdbcTemplate.class));
+        loadingRecordService = context.getBean(LoadingRecordServiceImpl.class);
+        from = SyntheticDataGenerator.dayStart(3);
+        to = from.plusDays(1);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public void getSpecialBaggageByDateRange(Blackhole blackhole) {
+        blackhole.consume(loadingRecordService.getSpecialBaggageByDateRange(from, to));
+    }
+    
+    @Benchmark
+    public void streamSpecialBaggageByDateRange(Blackhole blackhole) {
+        loadingRecordService.streamSpecialBaggageByDateRange(from, to, blackhole::consume);
+    }
+}
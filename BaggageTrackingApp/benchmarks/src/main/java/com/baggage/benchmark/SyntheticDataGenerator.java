@@ -0,0 +1,148 @@
+package com.baggage.benchmark;
+
+import com.baggage.model.ExceptionCodes;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic TFLIGHT/TBAG data at a given bag count (10k, 100k, 1M...).
+ * Flights are spread evenly over DAYS days starting at FIRST_DAY (or over
+ * any number of days, for months of history), with BAGS_PER_FLIGHT bags each; about 15% of the bags carry a special
+ * exception type, mixed with unrelated codes and combinations. Row j is
+ * always the same row, so in-memory views and inserted rows line up.
+ */
+public class SyntheticDataGenerator {
+    
+    // Clear of the sample data in data.sql
+    public static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    public static final int DAYS = 10;
+    public static final int BAGS_PER_FLIGHT = 100;
+    
+    private static final int BATCH_SIZE = 5000;
+    
+    private static final String[] SPECIAL_EXCEPTION_TYPES = {
+            "PET", "WCHR", "WCHS", "WCHC", "WCBD", "WEAP", "PET,WCHR", "WEAP,WCLB", "PRIO,WCBW", "FRAG,PET"
+    };
+    private static final String[] OTHER_EXCEPTION_TYPES = {"PRIO", "FRAG", "HEAVY", "RUSH,PRIO", "AVIH", "PETC"};
+    
+    private final int bagCount;
+    private final LocalDate firstDay;
+    private final int days;
+    private final int flightCount;
+    private final int flightsPerDay;
+    
+    public SyntheticDataGenerator(int bagCount) {
+        this(bagCount, FIRST_DAY, DAYS);
+    }
+    
+    public SyntheticDataGenerator(int bagCount, LocalDate firstDay, int days) {
+        this.bagCount = bagCount;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.flightCount = Math.max(1, bagCount / BAGS_PER_FLIGHT);
+        this.flightsPerDay = (flightCount + days - 1) / days;
+    }
+    
+    public int getBagCount() {
+        return bagCount;
+    }
+    
+    public int getFlightCount() {
+        return flightCount;
+    }
+    
+    public static LocalDateTime dayStart(int day) {
+        return FIRST_DAY.plusDays(day).atStartOfDay();
+    }
+    
+    public FlightView flight(int i) {
+        int day = i % days;
+        int slot = i / days;
+        LocalDate date = firstDay.plusDays(day);
+        // Departures between 05:00 and 23:00
+        LocalDateTime departure = date.atTime(5, 0).plusSeconds(slot * (18L * 3600 / flightsPerDay));
+        return new FlightView((short) (slot + 1), (short) (1 + slot % 50), 'A', date, (short) 1,
+                departure, "S" + (slot % 120), departure.minusHours(2));
+    }
+    
+    // TBAG.EXCEPTION_TYPES of bag j
+    public String exceptionTypes(int j) {
+        SplittableRandom random = new SplittableRandom(j);
+        int roll = random.nextInt(100);
+        return roll < 15
+                ? SPECIAL_EXCEPTION_TYPES[random.nextInt(SPECIAL_EXCEPTION_TYPES.length)]
+                : roll < 35 ? OTHER_EXCEPTION_TYPES[random.nextInt(OTHER_EXCEPTION_TYPES.length)] : null;
+    }
+    
+    public SpecialBagView bag(int j) {
+        FlightView flight = flight(j % flightCount);
+        SplittableRandom random = new SplittableRandom(~j);
+        return new SpecialBagView(j + 1, flight.getAirlineCodeNr(), (short) 0, (short) 1,
+                flight.getFlightNr(), flight.getAirlineCodeNr(), flight.getSuffix(), flight.getFlightDepDate(),
+                flight.getLegNr(), (1 + random.nextInt(30)) + "" + "ABCDEF".charAt(random.nextInt(6)),
+                random.nextBoolean() ? "B" : null, ExceptionCodes.parse(exceptionTypes(j)),
+                random.nextBoolean() ? 8 : 2, flight.getBestDepartureTime().minusHours(3));
+    }
+    
+    public List<FlightView> flights() {
+        List<FlightView> flights = new ArrayList<>(flightCount);
+        for (int i = 0; i < flightCount; i++) {
+            flights.add(flight(i));
+        }
+        return flights;
+    }
+    
+    public List<SpecialBagView> bags() {
+        List<SpecialBagView> bags = new ArrayList<>(bagCount);
+        for (int j = 0; j < bagCount; j++) {
+            bags.add(bag(j));
+        }
+        return bags;
+    }
+    
+    /**
+     * Inserts all flights and bags in JDBC batches.
+     */
+    public void populate(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < flightCount; i++) {
+            FlightView flight = flight(i);
+            batch.add(new Object[]{flight.getFlightNr(), flight.getAirlineCodeNr(), String.valueOf(flight.getSuffix()),
+                    Date.valueOf(flight.getFlightDepDate()), flight.getLegNr(), Date.valueOf(flight.getFlightDepDate()),
+                    "AMS", "STD", Timestamp.valueOf(flight.getBestDepartureTime()), flight.getStand(),
+                    Timestamp.valueOf(flight.getFmmRecvTimestamp())});
+            if (batch.size() == BATCH_SIZE || i == flightCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, " +
+                        "LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, LOAD_STRATEGY, SCHEDULE_TIME, STAND, FMM_RECV_TIMESTAMP) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        
+        for (int j = 0; j < bagCount; j++) {
+            SpecialBagView bag = bag(j);
+            batch.add(new Object[]{bag.getBtSerialNr(), bag.getBtAirlineCodeNr(), bag.getOninterPrefix(),
+                    bag.getDuplicateNr(), bag.getFlightNr(), bag.getAirlineCodeNr(), String.valueOf(bag.getSuffix()),
+                    Date.valueOf(bag.getFlightDepDate()), bag.getLegNr(), Date.valueOf(bag.getFlightDepDate()),
+                    "AMS", (short) 1, "AKE12345KL", (short) 0, bag.getSeat(), bag.getPaxStatus(),
+                    exceptionTypes(j), bag.getLoadedStatus(), Timestamp.valueOf(bag.getLastModified())});
+            if (batch.size() == BATCH_SIZE || j == bagCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, " +
+                        "DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, " +
+                        "LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE, BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, " +
+                        "LOADED_STATUS, TIME_BSM_RECEIVED) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
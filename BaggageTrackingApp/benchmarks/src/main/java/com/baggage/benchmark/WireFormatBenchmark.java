@@ -0,0 +1,65 @@
+package com.baggage.benchmark;
+
+import com.baggage.config.BinaryWireFormatConfig;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.index.FlightIndex;
+import com.baggage.repository.projection.SpecialBagView;
+import com.baggage.service.LoadingRecordMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode time of a /get-special-baggage response as JSON and as the
+ * negotiated CBOR encoding. Bytes on the wire per format are printed once
+ * per trial, since JMH only reports times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+    
+    // Special baggage share of the synthetic bags is about 15%
+    @Param({"10000", "100000"})
+    public int bagCount;
+    
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = BinaryWireFormatConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+    private List<LoadingRecord> records;
+    
+    @Setup
+    public void setUp() throws IOException {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(bagCount);
+        FlightIndex flightIndex = FlightIndex.of(generator.flights());
+        LoadingRecordMapper mapper = new LoadingRecordMapper();
+        records = new ArrayList<>();
+        for (SpecialBagView bag : generator.bags()) {
+            if (mapper.hasRelevantExceptionType(bag)) {
+                records.add(mapper.mapToLoadingRecord(bag, flightIndex.get(bag)));
+            }
+        }
+        
+        int jsonBytes = json.writeValueAsBytes(records).length;
+        int cborBytes = cbor.writeValueAsBytes(records).length;
+        System.out.printf("%n%d records: json %d bytes, cbor %d bytes (%.0f%%)%n",
+                records.size(), jsonBytes, cborBytes, 100.0 * cborBytes / jsonBytes);
+    }
+    
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes(records);
+    }
+    
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.writeValueAsBytes(records);
+    }
+}
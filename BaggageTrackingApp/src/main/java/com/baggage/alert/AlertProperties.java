@@ -0,0 +1,18 @@
+package com.baggage.alert;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.alerts")
+public class AlertProperties {
+    
+    // An alert is raised when a special bag is still not loaded this long before departure
+    private List<Duration> leadTimes = List.of(Duration.ofMinutes(20));
+    
+    // Timer wheel resolution; alerts fire at most this late
+    private Duration tick = Duration.ofSeconds(1);
+}
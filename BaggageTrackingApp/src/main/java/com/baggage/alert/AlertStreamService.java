@@ -0,0 +1,64 @@
+package com.baggage.alert;
+
+import com.baggage.stream.SseSubscriber;
+import com.baggage.stream.SseSubscribers;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes baggage alerts to Server-Sent Events subscribers.
+ *
+ * Each subscriber first receives an "active" event with every alert that is
+ * currently raised, then an "alert" event per raised or updated alert and a
+ * "cleared" event per alert that no longer applies.
+ *
+ * Alerts are only queued on the thread that raises them; every subscriber
+ * has its own bounded queue drained by its own sender (see
+ * {@link SseSubscriber}), so a slow or stalled client delays nobody but
+ * itself. A subscriber whose queue overflows is closed and misses the
+ * alerts after that; its EventSource reconnects and starts over from the
+ * active alerts.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "baggage.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AlertStreamService {
+    
+    private final LoadingAlertEngine loadingAlertEngine;
+    private final SseSubscribers sseSubscribers;
+    private final Set<SseSubscriber> subscriptions = ConcurrentHashMap.newKeySet();
+    
+    public SseEmitter subscribe() {
+        SseSubscriber subscription = sseSubscribers.open(subscriptions::remove);
+        
+        // Register before taking the snapshot so no alert can fall between the two
+        subscriptions.add(subscription);
+        subscription.start("active", loadingAlertEngine.getActiveAlerts());
+        return subscription.getEmitter();
+    }
+    
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+    
+    @EventListener
+    public void onBaggageAlert(BaggageAlertEvent event) {
+        String eventName = event.isCleared() ? "cleared" : "alert";
+        for (SseSubscriber subscription : subscriptions) {
+            subscription.send(eventName, event.getAlert());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> subscription.getEmitter().complete());
+        subscriptions.clear();
+    }
+}
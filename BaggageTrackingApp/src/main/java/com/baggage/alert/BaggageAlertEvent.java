@@ -0,0 +1,14 @@
+package com.baggage.alert;
+
+import com.baggage.dto.BaggageAlert;
+import lombok.Value;
+
+/**
+ * Published by LoadingAlertEngine when an alert is raised or updated, and
+ * when it clears (bag loaded, removed or departed).
+ */
+@Value
+public class BaggageAlertEvent {
+    BaggageAlert alert;
+    boolean cleared;
+}
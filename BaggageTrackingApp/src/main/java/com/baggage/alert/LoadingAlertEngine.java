@@ -0,0 +1,169 @@
+package com.baggage.alert;
+
+import com.baggage.cache.SpecialBaggageChangedEvent;
+import com.baggage.dto.BaggageAlert;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.LoadingRecordChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raises an alert when a special bag is still not loaded at a lead time
+ * (baggage.alerts.lead-times) before its flight's best departure time.
+ *
+ * Works off the changes published by SpecialBaggageCache (its first load
+ * arrives as one big change set), so it tracks exactly the cached horizon.
+ * Every unloaded bag has one TimerWheel deadline per lead time plus one at
+ * departure; a change to the bag cancels them and schedules the new ones, so
+ * nothing is re-scanned on a tick and each change costs O(lead times).
+ * Alerts stay active until the bag is loaded, leaves the cache or departs.
+ *
+ * Publishes baggage.alerts.pending (scheduled deadlines), baggage.alerts.active
+ * and baggage.alerts.raised.
+ */
+@Service
+@ConditionalOnProperty(prefix = "baggage.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadingAlertEngine {
+
+    private final List<Duration> leadTimes;
+    private final long tickMillis;
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter raised;
+
+    // Guarded by this
+    private final TimerWheel<Deadline> wheel;
+    private final Map<String, TrackedBag> bags = new HashMap<>();
+    private final Map<String, BaggageAlert> active = new LinkedHashMap<>();
+
+    // Null lead time: the departure itself, where tracking ends
+    private record Deadline(TrackedBag bag, Duration leadTime) {
+    }
+
+    private static final class TrackedBag {
+        private final String id;
+        private final LoadingRecord record;
+        private final LocalDateTime departure;
+        private final List<TimerWheel.Timeout<Deadline>> timeouts = new ArrayList<>();
+
+        private TrackedBag(String id, LoadingRecord record, LocalDateTime departure) {
+            this.id = id;
+            this.record = record;
+            this.departure = departure;
+        }
+    }
+
+    public LoadingAlertEngine(AlertProperties properties, Clock clock, ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.leadTimes = properties.getLeadTimes();
+        this.tickMillis = properties.getTick().toMillis();
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new TimerWheel<>(clock.millis() / tickMillis);
+        this.raised = Counter.builder("baggage.alerts.raised").register(meterRegistry);
+        Gauge.builder("baggage.alerts.pending", this, LoadingAlertEngine::getPendingDeadlines)
+                .register(meterRegistry);
+        Gauge.builder("baggage.alerts.active", this, engine -> engine.getActiveAlerts().size())
+                .register(meterRegistry);
+    }
+
+    public synchronized List<BaggageAlert> getActiveAlerts() {
+        return new ArrayList<>(active.values());
+    }
+
+    public synchronized int getPendingDeadlines() {
+        return wheel.size();
+    }
+
+    @EventListener
+    public synchronized void onSpecialBaggageChanged(SpecialBaggageChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (LoadingRecordChange change : event.getChanges()) {
+            apply(change, now);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${baggage.alerts.tick:PT1S}")
+    public synchronized void tick() {
+        wheel.advanceTo(clock.millis() / tickMillis, timeout -> fire(timeout.getPayload()));
+    }
+
+    private void apply(LoadingRecordChange change, LocalDateTime now) {
+        TrackedBag previous = bags.remove(change.getId());
+        if (previous != null) {
+            previous.timeouts.forEach(wheel::cancel);
+        }
+        LoadingRecord record = change.getRecord();
+        LocalDateTime departure = change.getDeparture();
+        if (record == null || "loaded".equals(record.getStatus()) || departure == null || !departure.isAfter(now)) {
+            clear(change.getId());
+            return;
+        }
+
+        TrackedBag bag = new TrackedBag(change.getId(), record, departure);
+        bags.put(bag.id, bag);
+        bag.timeouts.add(wheel.schedule(tickOf(departure), new Deadline(bag, null)));
+
+        BaggageAlert alert = active.get(bag.id);
+        Duration crossed = null;
+        for (Duration leadTime : leadTimes) {
+            LocalDateTime deadline = departure.minus(leadTime);
+            if (deadline.isAfter(now)) {
+                bag.timeouts.add(wheel.schedule(tickOf(deadline), new Deadline(bag, leadTime)));
+            } else if (crossed == null || leadTime.compareTo(crossed) < 0) {
+                crossed = leadTime;
+            }
+        }
+        if (crossed == null) {
+            // Departure moved out past every lead time
+            clear(bag.id);
+        } else if (alert == null || alert.getMinutesBeforeDeparture() != crossed.toMinutes()
+                || !alert.getRecord().equals(record)) {
+            // Already late when it arrived or changed: raise (or update) on the next tick
+            bag.timeouts.add(wheel.schedule(wheel.getCurrentTick(), new Deadline(bag, crossed)));
+        }
+    }
+
+    private void fire(Deadline deadline) {
+        TrackedBag bag = deadline.bag();
+        if (deadline.leadTime() == null) {
+            bags.remove(bag.id, bag);
+            bag.timeouts.forEach(wheel::cancel);
+            clear(bag.id);
+            return;
+        }
+        BaggageAlert alert = new BaggageAlert(bag.id, deadline.leadTime().toMinutes(), bag.record, bag.departure);
+        active.put(bag.id, alert);
+        raised.increment();
+        eventPublisher.publishEvent(new BaggageAlertEvent(alert, false));
+    }
+
+    private void clear(String id) {
+        BaggageAlert alert = active.remove(id);
+        if (alert != null) {
+            eventPublisher.publishEvent(new BaggageAlertEvent(alert, true));
+        }
+    }
+
+    // Rounded up, so an alert never fires before its deadline
+    private long tickOf(LocalDateTime dateTime) {
+        long millis = dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+}
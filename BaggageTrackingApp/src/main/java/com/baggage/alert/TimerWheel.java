@@ -0,0 +1,164 @@
+package com.baggage.alert;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel over integer ticks: LEVELS wheels of SLOTS slots,
+ * each level SLOTS times coarser than the one below (at one-second ticks:
+ * 64 s, 68 min, 73 h, 194 days). A timeout lives in the finest level whose
+ * slot it shares with the current tick's higher digits and is cascaded down
+ * one level when the wheel reaches that slot, so scheduling and cancelling
+ * are O(1) and advancing touches only the timeouts that are due or cascade.
+ * Deadlines past the top level's range wait in its slots and cascade again.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public class TimerWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final Timeout<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * A scheduled payload; cancel it through TimerWheel.cancel.
+     */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadline;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private Timeout<T>[] bucket; // level of the slot it sits in, null once expired or cancelled
+        private int slot;
+
+        private Timeout(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startTick) {
+        this.slots = new Timeout[LEVELS][SLOTS];
+        this.currentTick = startTick;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Deadlines at or before the current tick fire on the next advance
+    public Timeout<T> schedule(long deadline, T payload) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(deadline, currentTick + 1));
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel to the given tick, handing every timeout whose deadline
+     * has been reached to the consumer, tick by tick.
+     */
+    public void advanceTo(long tick, Consumer<Timeout<T>> expired) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                // Nothing to cascade or fire on the way
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            // Coarse slots first, so timeouts cascading into a finer slot that is due now are not missed
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (BITS * level)) & MASK);
+                }
+            }
+            // One at a time, so the consumer may cancel other timeouts of this tick
+            int slot = (int) currentTick & MASK;
+            Timeout<T> timeout;
+            while ((timeout = slots[0][slot]) != null) {
+                unlink(timeout);
+                size--;
+                expired.accept(timeout);
+            }
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout<T> timeout = detach(slots[level], slot);
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        // Finest level at which the deadline and the current tick agree on every coarser digit
+        int level = 0;
+        while (level < LEVELS - 1
+                && (timeout.deadline >>> (BITS * (level + 1))) != (currentTick >>> (BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) (timeout.deadline >>> (BITS * level)) & MASK;
+        Timeout<T>[] bucket = slots[level];
+        timeout.bucket = bucket;
+        timeout.slot = slot;
+        timeout.previous = null;
+        timeout.next = bucket[slot];
+        if (bucket[slot] != null) {
+            bucket[slot].previous = timeout;
+        }
+        bucket[slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            timeout.bucket[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.bucket = null;
+    }
+
+    // The slot's list, still chained through next; insert relinks each timeout
+    private static <T> Timeout<T> detach(Timeout<T>[] bucket, int slot) {
+        Timeout<T> head = bucket[slot];
+        bucket[slot] = null;
+        return head;
+    }
+}
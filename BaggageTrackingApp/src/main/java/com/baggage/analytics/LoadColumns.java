@@ -0,0 +1,290 @@
+package com.baggage.analytics;
+
+import com.baggage.dto.LoadProgress;
+import com.baggage.index.BagtagDecoder;
+import com.baggage.index.FlightKeys;
+import com.baggage.index.LongObjectHashMap;
+import com.baggage.repository.projection.LoadBagView;
+import com.baggage.service.LoadingRecordMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Struct-of-arrays copy of the load columns of the bags of one operating
+ * day: one primitive array per column, indexed by row. Flight legs, ULD ids
+ * (LOAD_DEVICE) and UNIT_POSITION are dictionary-encoded into int codes.
+ * ULD and position codes are scoped to their flight leg, so a code alone
+ * identifies a group and aggregating is a single pass adding each row into
+ * per-code accumulators, without hashing or touching a bag object.
+ *
+ * Rows are appended or updated in place by upsert and never removed; bags
+ * that leave the day are dropped by rebuilding. Snapshots of at least
+ * parallelThreshold rows are aggregated in slices on the common fork-join
+ * pool and the per-slice accumulators summed.
+ *
+ * Not thread-safe; callers serialize writes against reads. Concurrent
+ * aggregate calls are fine.
+ */
+public class LoadColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Accumulators are interleaved per group, so one row touches one cache line
+    private static final int BAGS = 0;
+    private static final int LOADED_BAGS = 1;
+    private static final int WEIGHT = 2;
+    private static final int LOADED_WEIGHT = 3;
+    private static final int STRIDE = 4;
+
+    private final int parallelThreshold;
+
+    // Row columns
+    private int size;
+    private int[] flight = new int[INITIAL_CAPACITY];
+    private int[] loadDevice = new int[INITIAL_CAPACITY];
+    private int[] unitPosition = new int[INITIAL_CAPACITY];
+    private short[] duplicateNr = new short[INITIAL_CAPACITY];
+    private byte[] loaded = new byte[INITIAL_CAPACITY]; // 0 or 1, so it is summed and multiplied without a branch
+    private float[] weight = new float[INITIAL_CAPACITY]; // 0 when BAG_WEIGHT is null
+
+    // Rows by BagtagDecoder key; one tag can be on several legs and duplicated, told apart by flight and duplicateNr
+    private final LongObjectHashMap<int[]> rowsByBagtag = new LongObjectHashMap<>();
+
+    // Dictionaries
+    private final FlightKeys flightKeys = new FlightKeys();
+    private final LongObjectHashMap<Integer> flightCodes = new LongObjectHashMap<>();
+    private final List<Leg> legs = new ArrayList<>();
+    private final Dictionary flights = new Dictionary();
+    private final Dictionary loadDevices = new Dictionary();
+    private final Dictionary unitPositions = new Dictionary();
+
+    // The key fields of a flight leg, and its flight number formatted once
+    private record Leg(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr,
+                       String flightNumber) {
+        
+        // TFLIGHT primary key order
+        static final Comparator<Leg> ORDER = Comparator.comparingInt(Leg::flightNr)
+                .thenComparingInt(Leg::airlineCodeNr)
+                .thenComparingInt(Leg::suffix)
+                .thenComparing(Leg::flightDepDate)
+                .thenComparingInt(Leg::legNr);
+    }
+
+    // Values of one column, coded per flight leg in order of first appearance
+    private final class Dictionary {
+        private final Map<Entry, Integer> codes = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        // Codes in output order; computed by the first aggregate after a new code, reset only by writers
+        private volatile int[] order;
+
+        private int code(int flight, String value) {
+            return codes.computeIfAbsent(new Entry(flight, value), entry -> {
+                entries.add(entry);
+                order = null;
+                return entries.size() - 1;
+            });
+        }
+
+        private int size() {
+            return entries.size();
+        }
+
+        // By flight leg (the TFLIGHT key order), then value
+        private int[] order() {
+            int[] sorted = order;
+            if (sorted == null) {
+                Comparator<Entry> byKey = Comparator.comparing(entry -> legs.get(entry.flight()), Leg.ORDER);
+                Comparator<Entry> byValue = Comparator.comparing(Entry::value,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                sorted = IntStream.range(0, entries.size()).boxed()
+                        .sorted(Comparator.comparing(entries::get, byKey.thenComparing(byValue)))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                order = sorted;
+            }
+            return sorted;
+        }
+    }
+
+    private record Entry(int flight, String value) {
+    }
+
+    public LoadColumns(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void upsert(LoadBagView bag) {
+        int flightCode = flightCode(bag);
+        long bagtag = BagtagDecoder.pack(bag.getOninterPrefix(), bag.getBtAirlineCodeNr(), bag.getBtSerialNr());
+        int row = findRow(bagtag, flightCode, bag.getDuplicateNr());
+        if (row < 0) {
+            row = appendRow(bagtag);
+            flight[row] = flightCode;
+            duplicateNr[row] = bag.getDuplicateNr();
+        }
+        loadDevice[row] = loadDevices.code(flightCode, trimToNull(bag.getLoadDevice()));
+        unitPosition[row] = unitPositions.code(flightCode, trimToNull(bag.getUnitPosition()));
+        loaded[row] = (byte) (LoadingRecordMapper.isLoaded(bag.getLoadedStatus()) ? 1 : 0);
+        weight[row] = bag.getBagWeight() != null ? bag.getBagWeight() : 0f;
+    }
+
+    /**
+     * Load progress per group of the bags on the flight legs with the given
+     * flight number (null for all), ordered by flight leg and then ULD or
+     * position. Groups without bags are left out.
+     */
+    public List<LoadProgress> aggregate(LoadGrouping grouping, Short flightNumber) {
+        boolean[] included = new boolean[legs.size()];
+        for (int code = 0; code < included.length; code++) {
+            included[code] = flightNumber == null || legs.get(code).flightNr() == flightNumber;
+        }
+        int[] groups = switch (grouping) {
+            case FLIGHT -> flight;
+            case LOAD_DEVICE -> loadDevice;
+            case UNIT_POSITION -> unitPosition;
+        };
+        Dictionary dictionary = switch (grouping) {
+            case FLIGHT -> flights;
+            case LOAD_DEVICE -> loadDevices;
+            case UNIT_POSITION -> unitPositions;
+        };
+        double[] sums = scan(groups, dictionary.size(), included);
+
+        List<LoadProgress> progress = new ArrayList<>();
+        for (int group : dictionary.order()) {
+            int base = group * STRIDE;
+            int bags = (int) sums[base + BAGS];
+            if (bags == 0) {
+                continue;
+            }
+            Entry entry = dictionary.entries.get(group);
+            Leg leg = legs.get(entry.flight());
+            int loadedBags = (int) sums[base + LOADED_BAGS];
+            progress.add(LoadProgress.builder()
+                    .flightNumber(leg.flightNumber())
+                    .airlineCodeNr(leg.airlineCodeNr())
+                    .suffix(leg.suffix())
+                    .flightDepDate(leg.flightDepDate())
+                    .legNr(leg.legNr())
+                    .loadDevice(grouping == LoadGrouping.LOAD_DEVICE ? entry.value() : null)
+                    .unitPosition(grouping == LoadGrouping.UNIT_POSITION ? entry.value() : null)
+                    .bags(bags)
+                    .loadedBags(loadedBags)
+                    .weight(sums[base + WEIGHT])
+                    .loadedWeight(sums[base + LOADED_WEIGHT])
+                    .percentLoaded(Math.round(loadedBags * 1000.0 / bags) / 10.0)
+                    .build());
+        }
+        return progress;
+    }
+
+    private double[] scan(int[] groups, int groupCount, boolean[] included) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (size < parallelThreshold || parallelism < 2) {
+            return scan(groups, groupCount, included, 0, size);
+        }
+        int slice = (size + parallelism - 1) / parallelism;
+        List<ForkJoinTask<double[]>> slices = new ArrayList<>(parallelism);
+        for (int from = 0; from < size; from += slice) {
+            int start = from;
+            int end = Math.min(size, from + slice);
+            slices.add(ForkJoinTask.adapt(() -> scan(groups, groupCount, included, start, end)));
+        }
+        ForkJoinTask.invokeAll(slices);
+        double[] sums = slices.get(0).join();
+        for (int i = 1; i < slices.size(); i++) {
+            double[] other = slices.get(i).join();
+            for (int j = 0; j < sums.length; j++) {
+                sums[j] += other[j];
+            }
+        }
+        return sums;
+    }
+
+    // The hot loop: sequential reads of four columns, no objects, no calls
+    private double[] scan(int[] groups, int groupCount, boolean[] included, int from, int to) {
+        double[] sums = new double[groupCount * STRIDE];
+        for (int row = from; row < to; row++) {
+            if (!included[flight[row]]) {
+                continue;
+            }
+            int base = groups[row] * STRIDE;
+            int isLoaded = loaded[row];
+            float bagWeight = weight[row];
+            sums[base + BAGS]++;
+            sums[base + LOADED_BAGS] += isLoaded;
+            sums[base + WEIGHT] += bagWeight;
+            sums[base + LOADED_WEIGHT] += isLoaded * bagWeight;
+        }
+        return sums;
+    }
+
+    private int flightCode(LoadBagView bag) {
+        long flightKey = flightKeys.of(bag);
+        Integer code = flightCodes.get(flightKey);
+        if (code == null) {
+            code = legs.size();
+            legs.add(new Leg(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(), bag.getFlightDepDate(),
+                    bag.getLegNr(), String.valueOf(bag.getFlightNr())));
+            flights.code(code, null);
+            flightCodes.put(flightKey, code);
+        }
+        return code;
+    }
+
+    private int findRow(long bagtag, int flightCode, short duplicate) {
+        int[] rows = rowsByBagtag.get(bagtag);
+        if (rows != null) {
+            for (int row : rows) {
+                if (flight[row] == flightCode && duplicateNr[row] == duplicate) {
+                    return row;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int appendRow(long bagtag) {
+        if (size == flight.length) {
+            int capacity = size * 2;
+            flight = Arrays.copyOf(flight, capacity);
+            loadDevice = Arrays.copyOf(loadDevice, capacity);
+            unitPosition = Arrays.copyOf(unitPosition, capacity);
+            duplicateNr = Arrays.copyOf(duplicateNr, capacity);
+            loaded = Arrays.copyOf(loaded, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        int row = size++;
+        int[] rows = rowsByBagtag.get(bagtag);
+        if (rows == null) {
+            rowsByBagtag.put(bagtag, new int[] {row});
+        } else {
+            rows = Arrays.copyOf(rows, rows.length + 1);
+            rows[rows.length - 1] = row;
+            rowsByBagtag.put(bagtag, rows);
+        }
+        return row;
+    }
+
+    // CHAR columns come back blank-padded
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
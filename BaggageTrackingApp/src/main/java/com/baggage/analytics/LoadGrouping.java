@@ -0,0 +1,11 @@
+package com.baggage.analytics;
+
+/**
+ * What LoadColumns.aggregate groups the bags of the day by. Load devices and
+ * unit positions are grouped per flight leg.
+ */
+public enum LoadGrouping {
+    FLIGHT,
+    LOAD_DEVICE,
+    UNIT_POSITION
+}
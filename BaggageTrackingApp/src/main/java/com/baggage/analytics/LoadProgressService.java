@@ -0,0 +1,172 @@
+package com.baggage.analytics;
+
+import com.baggage.dto.LoadProgress;
+import com.baggage.repository.BagRepository;
+import com.baggage.repository.projection.LoadBagView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Load progress of the operating day (TBAG rows whose FLIGHT_DEP_DATE is
+ * today, UTC) per flight leg, ULD and unit position, answered from a
+ * LoadColumns snapshot instead of scanning TBAG.
+ *
+ * The snapshot is built by streaming the day's bags once and then kept up
+ * to date like SpecialBaggageCache: only bags whose LAST_MODIFIED passes the
+ * recorded high-water mark are re-read and upserted. It is rebuilt at day
+ * rollover and every full-resync-interval, which also drops deleted bags.
+ *
+ * Publishes baggage.load-snapshot.bags, baggage.load-snapshot.refresh and
+ * baggage.load-snapshot.aggregate (per grouping).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "baggage.load-snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadProgressService {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BagRepository bagRepository;
+    private final LoadSnapshotProperties properties;
+    private final Clock clock;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Read side, guarded by lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LoadColumns columns;
+
+    // Write side, only touched from refresh()
+    private LocalDate day;
+    private LocalDateTime highWaterMark = BEGINNING;
+    private Instant lastFullLoad;
+
+    private final Timer refreshTimer;
+    private final Map<LoadGrouping, Timer> aggregateTimers = new EnumMap<>(LoadGrouping.class);
+
+    public LoadProgressService(BagRepository bagRepository,
+                               LoadSnapshotProperties properties,
+                               Clock clock,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.bagRepository = bagRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshTimer = Timer.builder("baggage.load-snapshot.refresh").register(meterRegistry);
+        for (LoadGrouping grouping : LoadGrouping.values()) {
+            aggregateTimers.put(grouping, Timer.builder("baggage.load-snapshot.aggregate")
+                    .tag("grouping", grouping.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("baggage.load-snapshot.bags", this, LoadProgressService::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load progress of the operating day per grouping, for every flight leg
+     * or only those with the given flight number, or empty before the first
+     * snapshot has been built.
+     */
+    public Optional<List<LoadProgress>> getLoadProgress(LoadGrouping grouping, Short flightNumber) {
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                return Optional.empty();
+            }
+            return Optional.of(aggregateTimers.get(grouping).record(() -> columns.aggregate(grouping, flightNumber)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${baggage.load-snapshot.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        try {
+            refreshTimer.record(this::doRefresh);
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot
+            log.warn("Load progress snapshot refresh failed", e);
+        }
+    }
+
+    private void doRefresh() {
+        Instant now = clock.instant();
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(day) || lastFullLoad == null
+                || !now.isBefore(lastFullLoad.plus(properties.getFullResyncInterval()))) {
+            fullLoad(today);
+            lastFullLoad = now;
+            return;
+        }
+
+        // Database read happens outside the lock
+        List<LoadBagView> changed = bagRepository.findLoadBagsOfDayModifiedSince(day,
+                highWaterMark.minus(BagRepository.LAST_MODIFIED_LOOKBACK));
+        if (changed.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changed.forEach(columns::upsert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed.forEach(this::advanceHighWaterMark);
+    }
+
+    // Built off to the side and swapped in, so readers keep the old snapshot while the day is streamed
+    private void fullLoad(LocalDate today) {
+        LoadColumns rebuilt = new LoadColumns(properties.getParallelThreshold());
+        highWaterMark = BEGINNING;
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<LoadBagView> bags = bagRepository.streamLoadBagsOfDay(today)) {
+                bags.forEach(bag -> {
+                    rebuilt.upsert(bag);
+                    advanceHighWaterMark(bag);
+                });
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            columns = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        day = today;
+    }
+
+    private void advanceHighWaterMark(LoadBagView bag) {
+        if (bag.getLastModified() != null && bag.getLastModified().isAfter(highWaterMark)) {
+            highWaterMark = bag.getLastModified();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.baggage.analytics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.load-snapshot")
+public class LoadSnapshotProperties {
+
+    private boolean enabled = true;
+
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    // Periodic rebuild drops deleted bags
+    private Duration fullResyncInterval = Duration.ofMinutes(10);
+
+    // Snapshots with at least this many bags are aggregated in slices on the common fork-join pool
+    private int parallelThreshold = 1 << 18;
+}
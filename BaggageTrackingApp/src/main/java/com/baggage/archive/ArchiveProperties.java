@@ -0,0 +1,17 @@
+package com.baggage.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.archive")
+public class ArchiveProperties {
+    
+    // Days (by FLIGHT_DEP_DATE) older than this are moved to the archive; keep it above baggage.cache.past
+    private Duration retention = Duration.ofDays(7);
+    
+    // When the archive job runs (UTC); "-" disables it
+    private String cron = "0 30 0 * * *";
+}
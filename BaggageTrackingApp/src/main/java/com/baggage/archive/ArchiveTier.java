@@ -0,0 +1,38 @@
+package com.baggage.archive;
+
+import com.baggage.repository.ArchiveRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where the archive tier ends: the latest departure of any archived flight.
+ * Windows starting after it are read from TBAG/TFLIGHT alone; only windows
+ * reaching back to it pay for the archive tables.
+ */
+@Component
+public class ArchiveTier {
+    
+    // Null while nothing is archived
+    private volatile LocalDateTime latestDeparture;
+    
+    public ArchiveTier(ArchiveRepository archiveRepository) {
+        this.latestDeparture = archiveRepository.findLatestArchivedDeparture();
+    }
+    
+    // A null fromDateTime is a window without start, which reaches the tier as soon as anything is archived
+    public boolean reaches(LocalDateTime fromDateTime) {
+        LocalDateTime latest = latestDeparture;
+        return latest != null && (fromDateTime == null || !fromDateTime.isAfter(latest));
+    }
+    
+    /**
+     * Called before flights departing up to the given time are moved, so that
+     * a reader never routes a window away from rows that are about to arrive.
+     */
+    synchronized void extendTo(LocalDateTime departure) {
+        if (departure != null && (latestDeparture == null || departure.isAfter(latestDeparture))) {
+            latestDeparture = departure;
+        }
+    }
+}
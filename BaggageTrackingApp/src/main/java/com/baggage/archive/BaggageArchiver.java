@@ -0,0 +1,67 @@
+package com.baggage.archive;
+
+import com.baggage.model.Flight;
+import com.baggage.repository.ArchiveRepository;
+import com.baggage.repository.FlightRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves departed days out of TBAG/TFLIGHT into the archive tier, one
+ * FLIGHT_DEP_DATE per transaction, so the hot tables and their indexes only
+ * grow with the retention period instead of with the whole season.
+ *
+ * Publishes baggage.archive.days and baggage.archive.bags.
+ */
+@Slf4j
+@Component
+public class BaggageArchiver {
+    
+    private final ArchiveRepository archiveRepository;
+    private final ArchiveTier archiveTier;
+    private final ArchiveProperties properties;
+    private final Clock clock;
+    private final Cache cache;
+    private final Counter days;
+    private final Counter bags;
+    
+    public BaggageArchiver(ArchiveRepository archiveRepository, ArchiveTier archiveTier,
+                           ArchiveProperties properties, Clock clock,
+                           EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.archiveTier = archiveTier;
+        this.properties = properties;
+        this.clock = clock;
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.days = Counter.builder("baggage.archive.days").register(meterRegistry);
+        this.bags = Counter.builder("baggage.archive.bags").register(meterRegistry);
+    }
+    
+    @Scheduled(cron = "${baggage.archive.cron:0 30 0 * * *}", zone = "UTC")
+    public synchronized void archiveDepartedDays() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(properties.getRetention().toDays());
+        List<LocalDate> departedDays = archiveRepository.findHotDaysBefore(cutoff);
+        for (LocalDate day : departedDays) {
+            archiveTier.extendTo(archiveRepository.findLatestDepartureOfDay(day));
+            int moved = archiveRepository.archiveDay(day);
+            days.increment();
+            bags.increment(moved);
+            log.info("Archived {}: {} bags", day, moved);
+        }
+        if (!departedDays.isEmpty()) {
+            // The moved flights are gone from TFLIGHT, behind Hibernate's back
+            cache.evictEntityData(Flight.class);
+            cache.evictQueryRegion(FlightRepository.QUERY_CACHE_REGION);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.baggage.cache;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+@Configuration
+public class FlightCacheConfig {
+    
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+    
+    // Hibernate would resolve hibernate.javax.cache.uri to a jar: URL inside the packaged application,
+    // which Caffeine cannot read; a classpath: URI works both from the jar and from target/classes
+    @Bean(destroyMethod = "close")
+    public CacheManager flightCacheManager() {
+        return Caching.getCachingProvider(PROVIDER)
+                .getCacheManager(URI.create("classpath:flight-cache.conf"), getClass().getClassLoader());
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer flightCacheManagerCustomizer(CacheManager flightCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, flightCacheManager);
+    }
+}
@@ -0,0 +1,128 @@
+package com.baggage.cache;
+
+import com.baggage.model.Flight;
+import com.baggage.model.FlightId;
+import com.baggage.repository.FlightRepository;
+import com.baggage.repository.projection.FlightView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the Flight second-level cache and the flight query cache in step with
+ * TFLIGHT. FMM updates are written to TFLIGHT outside this application, so
+ * Hibernate never sees them; instead FMM_RECV_TIMESTAMP is polled and every
+ * flight received since the last poll is evicted, together with the cached
+ * flight queries (any cached window may contain it). At the start of each
+ * operating day both regions are cleared, so the cache only ever holds
+ * flights read since then.
+ *
+ * Publishes baggage.flight-cache.requests and baggage.flight-cache.hit-ratio
+ * per region, and baggage.flight-cache.evictions per reason.
+ */
+@Slf4j
+@Component
+public class FlightCacheEvictor {
+    
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final FlightRepository flightRepository;
+    private final Cache cache;
+    private final Counter fmmEvictions;
+    private final Counter rolloverEvictions;
+    
+    // Only touched from evictUpdatedFlights()
+    private LocalDateTime highWaterMark;
+    
+    public FlightCacheEvictor(FlightRepository flightRepository,
+                              EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry) {
+        this.flightRepository = flightRepository;
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cache = sessionFactory.getCache();
+        this.fmmEvictions = Counter.builder("baggage.flight-cache.evictions").tag("reason", "fmm-update")
+                .register(meterRegistry);
+        this.rolloverEvictions = Counter.builder("baggage.flight-cache.evictions").tag("reason", "day-rollover")
+                .register(meterRegistry);
+        
+        Statistics statistics = sessionFactory.getStatistics();
+        registerRegionMeters(meterRegistry, statistics, Flight.CACHE_REGION,
+                Statistics::getDomainDataRegionStatistics);
+        registerRegionMeters(meterRegistry, statistics, FlightRepository.QUERY_CACHE_REGION,
+                Statistics::getQueryRegionStatistics);
+    }
+    
+    @Scheduled(fixedDelayString = "${baggage.flight-cache.eviction-interval:PT5S}")
+    public synchronized void evictUpdatedFlights() {
+        if (highWaterMark == null) {
+            // Nothing was cached before the first poll, so only later updates matter
+            LocalDateTime latest = flightRepository.findLatestFmmRecvTimestamp();
+            highWaterMark = latest != null ? latest : BEGINNING;
+            return;
+        }
+        List<FlightView> updated = flightRepository.findFlightsModifiedSince(highWaterMark);
+        if (updated.isEmpty()) {
+            return;
+        }
+        for (FlightView flight : updated) {
+            cache.evictEntityData(Flight.class, new FlightId(flight.getFlightNr(), flight.getAirlineCodeNr(),
+                    flight.getSuffix(), flight.getFlightDepDate(), flight.getLegNr()));
+            if (flight.getFmmRecvTimestamp().isAfter(highWaterMark)) {
+                highWaterMark = flight.getFmmRecvTimestamp();
+            }
+        }
+        cache.evictQueryRegion(FlightRepository.QUERY_CACHE_REGION);
+        fmmEvictions.increment(updated.size());
+        log.debug("Evicted {} flights updated by FMM", updated.size());
+    }
+    
+    @Scheduled(cron = "${baggage.flight-cache.day-rollover-cron:0 0 0 * * *}", zone = "UTC")
+    public void evictPreviousOperatingDay() {
+        cache.evictEntityData(Flight.class);
+        cache.evictQueryRegion(FlightRepository.QUERY_CACHE_REGION);
+        rolloverEvictions.increment();
+    }
+    
+    // Regions are created on first use, so their statistics are looked up on every read. Meters hold their
+    // state object weakly: it has to be the Statistics instance, which the SessionFactory keeps alive
+    private static void registerRegionMeters(MeterRegistry meterRegistry, Statistics statistics, String region,
+                                             BiFunction<Statistics, String, CacheRegionStatistics> lookup) {
+        FunctionCounter.builder("baggage.flight-cache.requests", statistics,
+                        stats -> hitCount(lookup.apply(stats, region)))
+                .tags("region", region, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("baggage.flight-cache.requests", statistics,
+                        stats -> missCount(lookup.apply(stats, region)))
+                .tags("region", region, "result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("baggage.flight-cache.hit-ratio", statistics, stats -> {
+                    CacheRegionStatistics regionStatistics = lookup.apply(stats, region);
+                    double hits = hitCount(regionStatistics);
+                    double total = hits + missCount(regionStatistics);
+                    return total == 0 ? Double.NaN : hits / total;
+                })
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+    
+    private static double hitCount(CacheRegionStatistics statistics) {
+        return statistics != null ? statistics.getHitCount() : 0;
+    }
+    
+    private static double missCount(CacheRegionStatistics statistics) {
+        return statistics != null ? statistics.getMissCount() : 0;
+    }
+}
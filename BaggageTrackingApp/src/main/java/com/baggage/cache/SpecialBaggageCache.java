@@ -0,0 +1,517 @@
+package com.baggage.cache;
+
+import com.baggage.dto.FlightBaggage;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.LoadingRecordChange;
+import com.baggage.index.FlightKeys;
+import com.baggage.index.LongObjectHashMap;
+import com.baggage.repository.BagRepository;
+import com.baggage.repository.FlightRepository;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import com.baggage.service.LoadingRecordMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Materialized view of the special-baggage LoadingRecords departing within a
+ * sliding horizon around now, ordered like BagRepository.DEPARTURE_ORDER.
+ *
+ * After an initial load the view is maintained incrementally: flights sliding
+ * into the horizon are loaded, departed ones evicted, and bags/flights are
+ * re-read only when their LAST_MODIFIED / FMM_RECV_TIMESTAMP passes the
+ * recorded high-water marks. LAST_MODIFIED is stamped by the database on
+ * every write to the bag row, so boarding and status changes show up too. A periodic full resync covers deletions.
+ * Range queries inside the horizon are answered from a sorted map.
+ *
+ * Every refresh that changes, adds or removes records publishes a
+ * SpecialBaggageChangedEvent with exactly those records.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "baggage.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SpecialBaggageCache {
+    
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final BagRepository bagRepository;
+    private final FlightRepository flightRepository;
+    private final LoadingRecordMapper loadingRecordMapper;
+    private final SpecialBaggageCacheProperties properties;
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Read side, guarded by lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<EntryKey, LoadingRecord> recordsByDeparture = new TreeMap<>();
+    private LocalDateTime horizonFrom;
+    private LocalDateTime horizonTo;
+    
+    // Write side, only touched from refresh()
+    private final FlightKeys flightKeys = new FlightKeys();
+    private final LongObjectHashMap<FlightView> flights = new LongObjectHashMap<>();
+    private final LongObjectHashMap<Map<BagRef, SpecialBagView>> bagsByFlight = new LongObjectHashMap<>();
+    private LocalDateTime bagHighWaterMark = BEGINNING;
+    private LocalDateTime flightHighWaterMark = BEGINNING;
+    private Instant lastFullLoad;
+    private volatile Instant lastRefresh;
+    private List<LoadingRecordChange> pendingChanges = new ArrayList<>();
+    
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refreshTimer;
+    
+    public SpecialBaggageCache(BagRepository bagRepository,
+                               FlightRepository flightRepository,
+                               LoadingRecordMapper loadingRecordMapper,
+                               SpecialBaggageCacheProperties properties,
+                               Clock clock,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.bagRepository = bagRepository;
+        this.flightRepository = flightRepository;
+        this.loadingRecordMapper = loadingRecordMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        this.hits = Counter.builder("baggage.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("baggage.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.refreshTimer = Timer.builder("baggage.cache.refresh").register(meterRegistry);
+        Gauge.builder("baggage.cache.staleness", this, SpecialBaggageCache::getStalenessSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("baggage.cache.size", this, SpecialBaggageCache::size)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Returns the records departing in [fromDateTime, toDateTime], or empty when
+     * the window is not fully covered by the cached horizon.
+     */
+    public Optional<List<LoadingRecord>> find(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        lock.readLock().lock();
+        try {
+            if (horizonFrom == null || fromDateTime.isBefore(horizonFrom) || toDateTime.isAfter(horizonTo)) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            if (fromDateTime.isAfter(toDateTime)) {
+                return Optional.of(new ArrayList<>());
+            }
+            return Optional.of(new ArrayList<>(recordsByDeparture.subMap(
+                    new EntryKey(fromDateTime, BagRef.MIN), true,
+                    new EntryKey(toDateTime, BagRef.MAX), true).values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns the records departing in [fromDateTime, toDateTime] grouped per
+     * flight leg, or empty when the window is not fully covered by the cached
+     * horizon. The flight fields are taken from the first record of each leg.
+     */
+    public Optional<List<FlightBaggage>> findByFlight(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        lock.readLock().lock();
+        try {
+            if (horizonFrom == null || fromDateTime.isBefore(horizonFrom) || toDateTime.isAfter(horizonTo)) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            List<FlightBaggage> flights = new ArrayList<>();
+            if (fromDateTime.isAfter(toDateTime)) {
+                return Optional.of(flights);
+            }
+            // Entries of one flight leg share its departure and flight fields, so they are adjacent
+            FlightBaggage current = null;
+            BagRef currentBag = null;
+            for (Map.Entry<EntryKey, LoadingRecord> entry : recordsByDeparture.subMap(
+                    new EntryKey(fromDateTime, BagRef.MIN), true,
+                    new EntryKey(toDateTime, BagRef.MAX), true).entrySet()) {
+                BagRef bag = entry.getKey().bag();
+                if (current == null || !bag.isOnFlightOf(currentBag)) {
+                    current = loadingRecordMapper.toFlightBaggage(entry.getValue());
+                    currentBag = bag;
+                    flights.add(current);
+                }
+                current.getBags().add(loadingRecordMapper.toBaggageEntry(entry.getValue()));
+            }
+            return Optional.of(flights);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns the records departing in [fromDateTime, toDateTime] as upserts
+     * carrying their stable ids, or empty when the window is not fully
+     * covered by the cached horizon.
+     */
+    public Optional<List<LoadingRecordChange>> snapshot(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        lock.readLock().lock();
+        try {
+            if (horizonFrom == null || fromDateTime.isBefore(horizonFrom) || toDateTime.isAfter(horizonTo)) {
+                return Optional.empty();
+            }
+            List<LoadingRecordChange> records = new ArrayList<>();
+            if (!fromDateTime.isAfter(toDateTime)) {
+                recordsByDeparture.subMap(new EntryKey(fromDateTime, BagRef.MIN), true,
+                        new EntryKey(toDateTime, BagRef.MAX), true).forEach((key, record) ->
+                        records.add(LoadingRecordChange.upsert(key.bag().toId(), record, key.departure(), null)));
+            }
+            return Optional.of(records);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Content hash of the records departing in [fromDateTime, toDateTime],
+     * computed without copying them, or empty when the window is not fully
+     * covered by the cached horizon.
+     */
+    public Optional<String> version(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        lock.readLock().lock();
+        try {
+            if (horizonFrom == null || fromDateTime.isBefore(horizonFrom) || toDateTime.isAfter(horizonTo)) {
+                return Optional.empty();
+            }
+            long hash = 0;
+            int count = 0;
+            if (!fromDateTime.isAfter(toDateTime)) {
+                for (Map.Entry<EntryKey, LoadingRecord> entry : recordsByDeparture.subMap(
+                        new EntryKey(fromDateTime, BagRef.MIN), true,
+                        new EntryKey(toDateTime, BagRef.MAX), true).entrySet()) {
+                    long entryHash = ((long) entry.getKey().hashCode() << 32) ^ entry.getValue().hashCode();
+                    hash = hash * 0x9E3779B97F4A7C15L + entryHash;
+                    count++;
+                }
+            }
+            return Optional.of("c-" + Long.toHexString(hash) + "-" + Integer.toHexString(count));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recordsByDeparture.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public double getStalenessSeconds() {
+        Instant refreshed = lastRefresh;
+        if (refreshed == null) {
+            return Double.NaN;
+        }
+        return Duration.between(refreshed, clock.instant()).toMillis() / 1000.0;
+    }
+    
+    @Scheduled(fixedDelayString = "${baggage.cache.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        try {
+            refreshTimer.record(this::doRefresh);
+            lastRefresh = clock.instant();
+        } catch (RuntimeException e) {
+            // Keep serving the previous state; staleness keeps growing until a refresh succeeds
+            log.warn("Special baggage cache refresh failed", e);
+        } finally {
+            publishPendingChanges();
+        }
+    }
+    
+    private void publishPendingChanges() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        List<LoadingRecordChange> changes = pendingChanges;
+        pendingChanges = new ArrayList<>();
+        eventPublisher.publishEvent(new SpecialBaggageChangedEvent(changes));
+    }
+    
+    private void doRefresh() {
+        Instant now = clock.instant();
+        LocalDateTime nowUtc = LocalDateTime.now(clock);
+        LocalDateTime from = nowUtc.minus(properties.getPast());
+        LocalDateTime to = nowUtc.plus(properties.getFuture());
+        
+        if (lastFullLoad == null || !now.isBefore(lastFullLoad.plus(properties.getFullResyncInterval()))) {
+            fullLoad(from, to);
+            lastFullLoad = now;
+            return;
+        }
+        
+        // Database reads happen outside the lock
+        List<FlightView> enteringFlights = List.of();
+        List<SpecialBagView> enteringBags = List.of();
+        if (to.isAfter(horizonTo)) {
+            enteringFlights = flightRepository.findFlightsDepartingBetween(horizonTo, to);
+            enteringBags = bagRepository.findSpecialBagsDepartingBetween(horizonTo, to);
+        }
+        
+        List<FlightView> changedFlights = flightRepository.findFlightsModifiedSince(flightHighWaterMark);
+        List<SpecialBagView> bagsOfArrivingFlights = new ArrayList<>();
+        for (FlightView flight : changedFlights) {
+            if (isWithin(flight, from, to) && flights.get(flightKeys.find(flight)) == null) {
+                bagsOfArrivingFlights.addAll(bagRepository.findSpecialBagsOfFlight(flight.getFlightNr(),
+                        flight.getAirlineCodeNr(), flight.getSuffix(), flight.getFlightDepDate(), flight.getLegNr()));
+            }
+        }
+        List<SpecialBagView> changedBags = bagRepository.findBagsModifiedSince(
+                bagHighWaterMark.minus(BagRepository.LAST_MODIFIED_LOOKBACK), from, to);
+        
+        lock.writeLock().lock();
+        try {
+            evictDepartedBefore(from);
+            enteringFlights.forEach(this::upsertFlight);
+            for (FlightView flight : changedFlights) {
+                if (isWithin(flight, from, to)) {
+                    upsertFlight(flight);
+                } else {
+                    removeFlight(flightKeys.find(flight));
+                }
+            }
+            enteringBags.forEach(this::upsertBag);
+            bagsOfArrivingFlights.forEach(this::upsertBag);
+            changedBags.forEach(this::upsertBag);
+            horizonFrom = from;
+            horizonTo = to;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        advanceFlightHighWaterMark(changedFlights);
+        advanceBagHighWaterMark(changedBags);
+    }
+    
+    private void fullLoad(LocalDateTime from, LocalDateTime to) {
+        List<FlightView> windowFlights = flightRepository.findFlightsDepartingBetween(from, to);
+        List<SpecialBagView> windowBags = bagRepository.findSpecialBagsDepartingBetween(from, to);
+        
+        lock.writeLock().lock();
+        try {
+            Map<BagRef, Map.Entry<EntryKey, LoadingRecord>> previous = new HashMap<>();
+            for (Map.Entry<EntryKey, LoadingRecord> entry : recordsByDeparture.entrySet()) {
+                previous.put(entry.getKey().bag(), entry);
+            }
+            recordsByDeparture.clear();
+            flights.clear();
+            bagsByFlight.clear();
+            flightKeys.clear();
+            windowFlights.forEach(this::upsertFlight);
+            windowBags.forEach(this::upsertBag);
+            // Replace the per-row changes collected while rebuilding with a diff against the previous state;
+            // the first load has none, so it is published as upserts of everything (the listeners' initial state)
+            pendingChanges.clear();
+            diff(previous, pendingChanges);
+            horizonFrom = from;
+            horizonTo = to;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        advanceFlightHighWaterMark(windowFlights);
+        advanceBagHighWaterMark(windowBags);
+    }
+    
+    private void diff(Map<BagRef, Map.Entry<EntryKey, LoadingRecord>> previous, List<LoadingRecordChange> changes) {
+        for (Map.Entry<EntryKey, LoadingRecord> entry : recordsByDeparture.entrySet()) {
+            EntryKey key = entry.getKey();
+            Map.Entry<EntryKey, LoadingRecord> before = previous.remove(key.bag());
+            if (before == null) {
+                changes.add(LoadingRecordChange.upsert(key.bag().toId(), entry.getValue(), key.departure(), null));
+            } else if (!before.getKey().equals(key) || !before.getValue().equals(entry.getValue())) {
+                changes.add(LoadingRecordChange.upsert(key.bag().toId(), entry.getValue(), key.departure(),
+                        before.getKey().departure()));
+            }
+        }
+        for (Map.Entry<EntryKey, LoadingRecord> removed : previous.values()) {
+            changes.add(LoadingRecordChange.remove(removed.getKey().bag().toId(), removed.getKey().departure()));
+        }
+    }
+    
+    private void upsertFlight(FlightView flight) {
+        long flightKey = flightKeys.of(flight);
+        FlightView previous = flights.put(flightKey, flight);
+        Map<BagRef, SpecialBagView> bags = bagsByFlight.get(flightKey);
+        if (previous == null || bags == null) {
+            return;
+        }
+        // Departure time or stand may have changed: re-key and re-map the flight's bags
+        for (Map.Entry<BagRef, SpecialBagView> bag : bags.entrySet()) {
+            LoadingRecord before = recordsByDeparture.remove(new EntryKey(previous.getBestDepartureTime(), bag.getKey()));
+            LoadingRecord after = loadingRecordMapper.mapToLoadingRecord(bag.getValue(), flight);
+            recordsByDeparture.put(new EntryKey(flight.getBestDepartureTime(), bag.getKey()), after);
+            if (!after.equals(before) || !flight.getBestDepartureTime().equals(previous.getBestDepartureTime())) {
+                pendingChanges.add(LoadingRecordChange.upsert(bag.getKey().toId(), after,
+                        flight.getBestDepartureTime(), previous.getBestDepartureTime()));
+            }
+        }
+    }
+    
+    private void upsertBag(SpecialBagView bag) {
+        long flightKey = flightKeys.find(bag);
+        FlightView flight = flights.get(flightKey);
+        if (flight == null) {
+            return;
+        }
+        BagRef ref = BagRef.of(bag);
+        EntryKey entryKey = new EntryKey(flight.getBestDepartureTime(), ref);
+        Map<BagRef, SpecialBagView> bags = bagsByFlight.get(flightKey);
+        if (!loadingRecordMapper.hasRelevantExceptionType(bag)) {
+            if (bags != null) {
+                bags.remove(ref);
+            }
+            if (recordsByDeparture.remove(entryKey) != null) {
+                pendingChanges.add(LoadingRecordChange.remove(ref.toId(), entryKey.departure()));
+            }
+            return;
+        }
+        if (bags == null) {
+            bags = new HashMap<>();
+            bagsByFlight.put(flightKey, bags);
+        }
+        bags.put(ref, bag);
+        LoadingRecord record = loadingRecordMapper.mapToLoadingRecord(bag, flight);
+        LoadingRecord before = recordsByDeparture.put(entryKey, record);
+        if (!record.equals(before)) {
+            pendingChanges.add(LoadingRecordChange.upsert(ref.toId(), record, entryKey.departure(),
+                    before != null ? entryKey.departure() : null));
+        }
+    }
+    
+    private void removeFlight(long flightKey) {
+        FlightView flight = flights.remove(flightKey);
+        Map<BagRef, SpecialBagView> bags = bagsByFlight.remove(flightKey);
+        flightKeys.release(flightKey);
+        if (flight != null && bags != null) {
+            for (BagRef ref : bags.keySet()) {
+                if (recordsByDeparture.remove(new EntryKey(flight.getBestDepartureTime(), ref)) != null) {
+                    pendingChanges.add(LoadingRecordChange.remove(ref.toId(), flight.getBestDepartureTime()));
+                }
+            }
+        }
+    }
+    
+    private void evictDepartedBefore(LocalDateTime from) {
+        List<Long> departed = new ArrayList<>();
+        flights.forEach((flightKey, flight) -> {
+            if (flight.getBestDepartureTime().isBefore(from)) {
+                departed.add(flightKey);
+            }
+        });
+        departed.forEach(this::removeFlight);
+    }
+    
+    private static boolean isWithin(FlightView flight, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime departure = flight.getBestDepartureTime();
+        return departure != null && !departure.isBefore(from) && !departure.isAfter(to);
+    }
+    
+    private void advanceFlightHighWaterMark(List<FlightView> seen) {
+        for (FlightView flight : seen) {
+            if (flight.getFmmRecvTimestamp() != null && flight.getFmmRecvTimestamp().isAfter(flightHighWaterMark)) {
+                flightHighWaterMark = flight.getFmmRecvTimestamp();
+            }
+        }
+    }
+    
+    private void advanceBagHighWaterMark(List<SpecialBagView> seen) {
+        for (SpecialBagView bag : seen) {
+            if (bag.getLastModified() != null && bag.getLastModified().isAfter(bagHighWaterMark)) {
+                bagHighWaterMark = bag.getLastModified();
+            }
+        }
+    }
+    
+    // Bag identity within the cache; ordering matches the tail of BagRepository.DEPARTURE_ORDER. It holds the
+    // flight's fields rather than its key, which carries no order for flights outside the packed layout
+    private record BagRef(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr,
+                          short oninterPrefix, short btAirlineCodeNr, int btSerialNr,
+                          short duplicateNr) implements Comparable<BagRef> {
+        
+        static final BagRef MIN = new BagRef(Short.MIN_VALUE, Short.MIN_VALUE, Character.MIN_VALUE, LocalDate.MIN,
+                Short.MIN_VALUE, Short.MIN_VALUE, Short.MIN_VALUE, Integer.MIN_VALUE, Short.MIN_VALUE);
+        static final BagRef MAX = new BagRef(Short.MAX_VALUE, Short.MAX_VALUE, Character.MAX_VALUE, LocalDate.MAX,
+                Short.MAX_VALUE, Short.MAX_VALUE, Short.MAX_VALUE, Integer.MAX_VALUE, Short.MAX_VALUE);
+        
+        static BagRef of(SpecialBagView bag) {
+            return new BagRef(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(), bag.getFlightDepDate(),
+                    bag.getLegNr(), bag.getOninterPrefix(), bag.getBtAirlineCodeNr(), bag.getBtSerialNr(),
+                    bag.getDuplicateNr());
+        }
+        
+        // Numeric parts in this order, so clients can sort on them; the date as yyyymmdd
+        String toId() {
+            return flightNr + ":" + airlineCodeNr + ":" + (int) suffix + ":"
+                    + flightDepDate.format(DateTimeFormatter.BASIC_ISO_DATE) + ":" + legNr + ":"
+                    + oninterPrefix + ":" + btAirlineCodeNr + ":" + btSerialNr + ":" + duplicateNr;
+        }
+        
+        boolean isOnFlightOf(BagRef other) {
+            return flightNr == other.flightNr && airlineCodeNr == other.airlineCodeNr && suffix == other.suffix
+                    && flightDepDate.equals(other.flightDepDate) && legNr == other.legNr;
+        }
+        
+        @Override
+        public int compareTo(BagRef other) {
+            int result = Short.compare(flightNr, other.flightNr);
+            if (result == 0) {
+                result = Short.compare(airlineCodeNr, other.airlineCodeNr);
+            }
+            if (result == 0) {
+                result = Character.compare(suffix, other.suffix);
+            }
+            if (result == 0) {
+                result = flightDepDate.compareTo(other.flightDepDate);
+            }
+            if (result == 0) {
+                result = Short.compare(legNr, other.legNr);
+            }
+            if (result == 0) {
+                result = Short.compare(oninterPrefix, other.oninterPrefix);
+            }
+            if (result == 0) {
+                result = Short.compare(btAirlineCodeNr, other.btAirlineCodeNr);
+            }
+            if (result == 0) {
+                result = Integer.compare(btSerialNr, other.btSerialNr);
+            }
+            if (result == 0) {
+                result = Short.compare(duplicateNr, other.duplicateNr);
+            }
+            return result;
+        }
+    }
+    
+    private record EntryKey(LocalDateTime departure, BagRef bag) implements Comparable<EntryKey> {
+        
+        @Override
+        public int compareTo(EntryKey other) {
+            int result = departure.compareTo(other.departure);
+            return result != 0 ? result : bag.compareTo(other.bag);
+        }
+    }
+}
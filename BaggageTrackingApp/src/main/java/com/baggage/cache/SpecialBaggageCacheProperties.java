@@ -0,0 +1,23 @@
+package com.baggage.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.cache")
+public class SpecialBaggageCacheProperties {
+    
+    private boolean enabled = true;
+    
+    // Cached horizon relative to now; windows outside it fall through to the database. past is a few minutes
+    // over the dashboard's 24h, whose window start is truncated to the minute and taken from the client's clock
+    private Duration past = Duration.ofHours(24).plusMinutes(5);
+    private Duration future = Duration.ofHours(48);
+    
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    
+    // Periodic full reload picks up deletions and rows whose timestamps did not advance
+    private Duration fullResyncInterval = Duration.ofMinutes(10);
+}
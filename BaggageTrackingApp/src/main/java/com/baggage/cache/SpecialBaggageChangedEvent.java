@@ -0,0 +1,14 @@
+package com.baggage.cache;
+
+import com.baggage.dto.LoadingRecordChange;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by SpecialBaggageCache after a refresh changed cached records.
+ */
+@Value
+public class SpecialBaggageChangedEvent {
+    List<LoadingRecordChange> changes;
+}
@@ -0,0 +1,49 @@
+package com.baggage.config;
+
+import com.baggage.wire.CompactCodesModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves application/cbor to clients that ask for it in Accept. Baggage
+ * type and status go out as dictionary codes (see CompactCodesModule) and
+ * repeated keys and strings such as stands and flight numbers are sent once
+ * per response as CBOR string references (tags 256/25).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryWireFormatConfig implements WebMvcConfigurer {
+    
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    
+    // Takes the place of the default CBOR converter, which sits after JSON, so clients sending */* keep getting JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2CborHttpMessageConverter cbor =
+                new MappingJackson2CborHttpMessageConverter(cborObjectMapper(objectMapperBuilder.getObject()));
+        converters.replaceAll(converter -> converter instanceof MappingJackson2CborHttpMessageConverter ? cbor : converter);
+        if (!converters.contains(cbor)) {
+            converters.add(cbor);
+        }
+    }
+    
+    // Also used by the benchmarks module
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        CBORFactory factory = CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build();
+        return builder.factory(factory)
+                .postConfigurer(mapper -> mapper.registerModule(new CompactCodesModule()))
+                .build();
+    }
+}
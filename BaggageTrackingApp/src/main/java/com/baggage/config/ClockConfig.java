@@ -0,0 +1,16 @@
+package com.baggage.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+    
+    // Departure times in TBAG/TFLIGHT are UTC
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,37 @@
+package com.baggage.controller;
+
+import com.baggage.alert.AlertStreamService;
+import com.baggage.alert.LoadingAlertEngine;
+import com.baggage.dto.BaggageAlert;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(prefix = "baggage.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AlertController {
+
+    private final LoadingAlertEngine loadingAlertEngine;
+    private final AlertStreamService alertStreamService;
+    
+    @GetMapping
+    public ResponseEntity<List<BaggageAlert>> getActiveAlerts() {
+        return ResponseEntity.ok(loadingAlertEngine.getActiveAlerts());
+    }
+    
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return alertStreamService.subscribe();
+    }
+}
@@ -0,0 +1,32 @@
+package com.baggage.controller;
+
+import com.baggage.dto.BagDetails;
+import com.baggage.service.BagLookupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class BagController {
+    
+    private final BagLookupService bagLookupService;
+    
+    @GetMapping("/bags/{bagtag}")
+    public List<BagDetails> getBagsByTag(@PathVariable String bagtag) {
+        List<BagDetails> bags = bagLookupService.findByBagtag(bagtag);
+        if (bags.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No bag with tag " + bagtag);
+        }
+        return bags;
+    }
+}
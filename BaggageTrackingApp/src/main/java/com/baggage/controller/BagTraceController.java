@@ -0,0 +1,34 @@
+package com.baggage.controller;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.journal.BagJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(prefix = "baggage.journal", name = "enabled", havingValue = "true")
+public class BagTraceController {
+
+    private final BagJournal bagJournal;
+
+    @GetMapping("/bags/{bagtag}/trace")
+    public List<ScanEvent> getBagTrace(@PathVariable String bagtag) {
+        List<ScanEvent> scans = bagJournal.trace(bagtag);
+        if (scans.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No journaled scans of tag " + bagtag);
+        }
+        return scans;
+    }
+}
@@ -0,0 +1,51 @@
+package com.baggage.controller;
+
+import com.baggage.analytics.LoadGrouping;
+import com.baggage.analytics.LoadProgressService;
+import com.baggage.dto.LoadProgress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/load-progress")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(prefix = "baggage.load-snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadProgressController {
+
+    private final LoadProgressService loadProgressService;
+
+    @GetMapping("/flights")
+    public ResponseEntity<List<LoadProgress>> getFlightProgress(
+            @RequestParam(required = false) Short flightNumber) {
+        return loadProgress(LoadGrouping.FLIGHT, flightNumber);
+    }
+
+    @GetMapping("/load-devices")
+    public ResponseEntity<List<LoadProgress>> getLoadDeviceProgress(
+            @RequestParam(required = false) Short flightNumber) {
+        return loadProgress(LoadGrouping.LOAD_DEVICE, flightNumber);
+    }
+
+    @GetMapping("/unit-positions")
+    public ResponseEntity<List<LoadProgress>> getUnitPositionProgress(
+            @RequestParam(required = false) Short flightNumber) {
+        return loadProgress(LoadGrouping.UNIT_POSITION, flightNumber);
+    }
+
+    // 503 until the first snapshot of the day has been built
+    private ResponseEntity<List<LoadProgress>> loadProgress(LoadGrouping grouping, Short flightNumber) {
+        return loadProgressService.getLoadProgress(grouping, flightNumber)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
@@ -1,33 +1,232 @@
 package com.baggage.controller;
 
+import com.baggage.dto.FlightBaggage;
 import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.dto.SpecialBaggagePage;
+import com.baggage.metrics.SpecialBaggageMetrics;
 import com.baggage.service.LoadingRecordService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {LoadingRecordController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class LoadingRecordController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    // Push what has been written so far to the client every this many records
+    private static final int NDJSON_FLUSH_INTERVAL = 100;
+    
+    // Record list representations, in message converter order
+    private static final List<MediaType> PRODUCIBLE_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+    
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    // Paged and filtered reads without a limit still stop here and hand back a cursor
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    
+    // Set when more rows follow; pass its value back as the cursor parameter to get the next page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LoadingRecordService loadingRecordService;
+    private final ObjectMapper objectMapper;
+    private final SpecialBaggageMetrics metrics;
+    private final ContentNegotiationManager contentNegotiationManager;
     
     @GetMapping("/get-special-baggage")
     public ResponseEntity<List<LoadingRecord>> getSpecialBaggageByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String flightStatus,
+            @RequestParam(required = false) String passengerType,
+            @RequestParam(required = false) String baggageStatus,
+            @RequestParam(required = false) String stand,
+            @RequestParam(required = false) Short flightNumber,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            NativeWebRequest webRequest) {
+        
+        SpecialBaggageFilter filter = SpecialBaggageFilter.builder()
+                .fromDateTime(from).toDateTime(to)
+                .flightStatus(flightStatus).passengerType(passengerType).baggageStatus(baggageStatus)
+                .stand(stand).flightNumber(flightNumber)
+                .build();
+        
+        return metrics.requestTimer("get-special-baggage", "json", from, to).record(() -> {
+            // Plain windows keep going through the cached date range read
+            if (filter.isDateRangeOnly() && limit == null && cursor == null) {
+                // Unchanged since the client's copy: answer 304 before any record is read
+                String etag = etag(loadingRecordService.getSpecialBaggageVersion(from, to), webRequest);
+                if (webRequest.checkNotModified(etag)) {
+                    return null;
+                }
+                List<LoadingRecord> records = loadingRecordService.getSpecialBaggageByDateRange(from, to);
+                return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT).body(records);
+            }
+            return page(filter, limit, cursor);
+        });
+    }
+    
+    // Same records as /get-special-baggage, one entry per flight leg with its bags nested
+    @GetMapping("/v2/special-baggage")
+    public ResponseEntity<List<FlightBaggage>> getSpecialBaggageByFlight(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            NativeWebRequest webRequest) {
+        
+        return metrics.requestTimer("v2-special-baggage", "json", from, to).record(() -> {
+            String etag = etag(loadingRecordService.getSpecialBaggageVersion(from, to), webRequest);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            List<FlightBaggage> flights = loadingRecordService.getSpecialBaggageByFlight(from, to);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT).body(flights);
+        });
+    }
+    
+    // Strong validators differ per representation, so the suffix follows the media type the response is written in
+    private String etag(String version, NativeWebRequest webRequest) {
+        boolean cbor = MediaType.APPLICATION_CBOR.equals(negotiatedMediaType(webRequest));
+        return "\"" + version + (cbor ? "-cbor" : "") + "\"";
+    }
+    
+    // Same choice as the message converters make after the handler returns: the most specific and preferred
+    // accepted type that a converter produces, JSON before CBOR (see BinaryWireFormatConfig)
+    private MediaType negotiatedMediaType(NativeWebRequest webRequest) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(contentNegotiationManager.resolveMediaTypes(webRequest));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null; // Answered with 406 once the body is written
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType acceptable : accepted) {
+            for (MediaType producible : PRODUCIBLE_MEDIA_TYPES) {
+                if (acceptable.isCompatibleWith(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return null;
+    }
+    
+    @GetMapping("/loading-records")
+    public ResponseEntity<List<LoadingRecord>> getLoadingRecords(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "All") String flightStatus,
+            @RequestParam(defaultValue = "All") String passengerType,
+            @RequestParam(defaultValue = "All") String baggageStatus,
+            @RequestParam(required = false) String stand,
+            @RequestParam(required = false) Short flightNumber,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        
+        SpecialBaggageFilter filter = SpecialBaggageFilter.builder()
+                .fromDateTime(from).toDateTime(to)
+                .flightStatus(flightStatus).passengerType(passengerType).baggageStatus(baggageStatus)
+                .stand(stand).flightNumber(flightNumber)
+                .build();
+        return metrics.requestTimer("loading-records", "json", from, to).record(() -> page(filter, limit, cursor));
+    }
+    
+    private ResponseEntity<List<LoadingRecord>> page(SpecialBaggageFilter filter, Integer limit, String cursor) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        checkChoice(filter.getFlightStatus(), "flightStatus", "Boarded", "Not Boarded");
+        checkChoice(filter.getPassengerType(), "passengerType", "Pet", "Wheelchair", "Weapon");
+        checkChoice(filter.getBaggageStatus(), "baggageStatus", "Loaded", "Not Loaded");
+        
+        SpecialBaggageCursor after;
+        try {
+            after = cursor == null ? null : SpecialBaggageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+        
+        SpecialBaggagePage page = loadingRecordService.findSpecialBaggage(filter, after, limit == null ? DEFAULT_PAGE_SIZE : limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getRecords());
+    }
+    
+    private static void checkChoice(String value, String name, String... choices) {
+        if (!SpecialBaggageFilter.isApplied(value)) {
+            return;
+        }
+        for (String choice : choices) {
+            if (choice.equalsIgnoreCase(value)) {
+                return;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported " + name + ": " + value);
+    }
+    
+    // Same records as newline-delimited JSON, written while the database cursor is read
+    @GetMapping(path = "/get-special-baggage", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSpecialBaggageByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
         
-        List<LoadingRecord> records = loadingRecordService.getSpecialBaggageByDateRange(from, to);
-        return ResponseEntity.ok(records);
+        ObjectWriter writer = objectMapper.writerFor(LoadingRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Timer.Sample sample = Timer.start();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                loadingRecordService.streamSpecialBaggageByDateRange(from, to, record -> {
+                    try {
+                        writer.writeValue(generator, record);
+                        generator.writeRaw('\n');
+                        if (++written[0] % NDJSON_FLUSH_INTERVAL == 1) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                sample.stop(metrics.requestTimer("get-special-baggage", "ndjson", from, to));
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
     }
-} 
\ No newline at end of file
+}
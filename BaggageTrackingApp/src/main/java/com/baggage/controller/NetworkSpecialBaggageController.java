@@ -0,0 +1,33 @@
+package com.baggage.controller;
+
+import com.baggage.dto.NetworkSpecialBaggage;
+import com.baggage.shard.ShardedLoadingRecordService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/network")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(prefix = "baggage.shards", name = "enabled", havingValue = "true")
+public class NetworkSpecialBaggageController {
+
+    private final ShardedLoadingRecordService shardedLoadingRecordService;
+    
+    @GetMapping("/special-baggage")
+    public ResponseEntity<NetworkSpecialBaggage> getSpecialBaggageByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        return ResponseEntity.ok(shardedLoadingRecordService.getSpecialBaggageByDateRange(from, to));
+    }
+}
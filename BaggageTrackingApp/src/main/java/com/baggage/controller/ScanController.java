@@ -0,0 +1,59 @@
+package com.baggage.controller;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.ingest.ScanIngestionService;
+import com.baggage.model.BagId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ScanController {
+    
+    // TBAG.UNIT_POSITION and TBAG.LAST_KNOWN_LOCATION
+    private static final int UNIT_POSITION_LENGTH = 5;
+    private static final int LAST_KNOWN_LOCATION_LENGTH = 100;
+    
+    private final ScanIngestionService scanIngestionService;
+    
+    // Accepted scans are written to TBAG asynchronously, within baggage.scans.flush-interval
+    @PostMapping("/scans")
+    public ResponseEntity<Void> ingestScans(@RequestBody List<ScanEvent> scans) {
+        for (ScanEvent scan : scans) {
+            if (scan.getScannedAt() == null || !isComplete(scan.getBagId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every scan needs a full bagId and scannedAt");
+            }
+            if (length(scan.getUnitPosition()) > UNIT_POSITION_LENGTH
+                    || length(scan.getLastKnownLocation()) > LAST_KNOWN_LOCATION_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unitPosition is at most "
+                        + UNIT_POSITION_LENGTH + " and lastKnownLocation at most " + LAST_KNOWN_LOCATION_LENGTH
+                        + " characters");
+            }
+        }
+        if (!scanIngestionService.ingest(scans)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+    
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+    
+    private static boolean isComplete(BagId id) {
+        return id != null && id.getBtSerialNr() != null && id.getBtAirlineCodeNr() != null
+                && id.getOninterPrefix() != null && id.getDuplicateNr() != null && id.getFlightNr() != null
+                && id.getAirlineCodeNr() != null && id.getSuffix() != null && id.getFlightDepDate() != null
+                && id.getLegNr() != null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.baggage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One TBAG row as shown to desk agents looking up a scanned tag
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BagDetails {
+    private String bagtag;
+    private short duplicateNr;
+    private String seat;
+    private String destination;
+    private String exceptionTypes;
+    private String baggageType; // pet, wheelchair, weapon; null for other bags
+    private String status; // loaded, not_loaded
+    private boolean hasBoarded;
+    private LocalDateTime timeBagLoaded;
+    private String unitPosition;
+    private String lastKnownLocation;
+    private LocalDateTime lastKnownTimestampUtc;
+    private FlightDetails flight; // null when the flight is not in TFLIGHT
+}
@@ -0,0 +1,21 @@
+package com.baggage.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A special bag still not loaded at one of the alert lead times before its
+ * flight's best departure time. The id is the stable id of the bag on its
+ * flight leg, as in LoadingRecordChange.
+ */
+@Value
+public class BaggageAlert {
+    String id;
+    long minutesBeforeDeparture; // the lead time that was crossed
+    LoadingRecord record;
+    
+    @JsonIgnore
+    LocalDateTime departure;
+}
@@ -0,0 +1,19 @@
+package com.baggage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The per-bag fields of LoadingRecord, nested under their FlightBaggage
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaggageEntry {
+    private String seat;
+    private String baggageType; // pet, wheelchair, weapon
+    private String status; // loaded, not_loaded
+    private boolean hasBoarded;
+    private String bagtag;
+}
@@ -0,0 +1,25 @@
+package com.baggage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Special baggage of one flight leg: the flight fields of LoadingRecord,
+ * formatted once, with the bags nested as compact entries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightBaggage {
+    private String flightNumber;
+    private String departureDateTime; // Format: DD/MMM HH:MM
+    private String flightStand;
+    @Builder.Default
+    private List<BaggageEntry> bags = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.baggage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// The TFLIGHT leg of a BagDetails
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightDetails {
+    private String flightNumber;
+    private short airlineCodeNr;
+    private char suffix;
+    private LocalDate flightDepDate;
+    private short legNr;
+    private String legOrigin;
+    private String legDestination;
+    private String departureDateTime; // Format: DD/MMM HH:MM
+    private String flightStand;
+    private String gate;
+}
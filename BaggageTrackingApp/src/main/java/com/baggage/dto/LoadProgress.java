@@ -0,0 +1,32 @@
+package com.baggage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Load progress of one group of bags of the operating day: a flight leg, or
+ * one ULD (loadDevice) or unit position on a flight leg. Weights are the sum
+ * of BAG_WEIGHT, bags without a weight counting as 0.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadProgress {
+    private String flightNumber;
+    private short airlineCodeNr;
+    private char suffix;
+    private LocalDate flightDepDate;
+    private short legNr;
+    private String loadDevice;   // set when grouped by load device
+    private String unitPosition; // set when grouped by unit position
+    private int bags;
+    private int loadedBags;
+    private double weight;
+    private double loadedWeight;
+    private double percentLoaded; // of the bags, 0-100
+}
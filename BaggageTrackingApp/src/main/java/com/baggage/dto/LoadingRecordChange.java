@@ -0,0 +1,36 @@
+package com.baggage.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * One added, changed or removed special-baggage record, as pushed to
+ * streaming subscribers. The id is stable for a bag on a flight leg.
+ */
+@Value
+public class LoadingRecordChange {
+    
+    public static final String UPSERT = "upsert";
+    public static final String REMOVE = "remove";
+    
+    String id;
+    String change; // upsert, remove
+    LoadingRecord record; // null for removals
+    
+    // Departure before and after the change, used to route the change to subscriber windows; departure (null
+    // for removals) is sent as well so clients can keep the records in the server's order
+    LocalDateTime departure;
+    @JsonIgnore
+    LocalDateTime previousDeparture;
+    
+    public static LoadingRecordChange upsert(String id, LoadingRecord record,
+                                             LocalDateTime departure, LocalDateTime previousDeparture) {
+        return new LoadingRecordChange(id, UPSERT, record, departure, previousDeparture);
+    }
+    
+    public static LoadingRecordChange remove(String id, LocalDateTime previousDeparture) {
+        return new LoadingRecordChange(id, REMOVE, null, null, previousDeparture);
+    }
+}
@@ -0,0 +1,11 @@
+package com.baggage.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class NetworkSpecialBaggage {
+    List<LoadingRecord> records;
+    List<String> unavailableStations; // timed out or failed, so their records are missing
+}
@@ -0,0 +1,40 @@
+package com.baggage.dto;
+
+import com.baggage.model.BagId;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One loader scan of a bag. Fields left null are not changed on TBAG.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanEvent {
+    private BagId bagId;
+    private Integer loadedStatus;
+    private LocalDateTime timeBagLoaded;
+    private String unitPosition; // 5 characters
+    private String lastKnownLocation;
+    private LocalDateTime scannedAt; // stored as LAST_KNOWN_TIMESTAMP_UTC, orders scans of the same bag
+    
+    /**
+     * Combines two scans of the same bag: the later scan wins field by field,
+     * the earlier one fills in what the later one left null.
+     */
+    public static ScanEvent coalesce(ScanEvent a, ScanEvent b) {
+        ScanEvent later = b.getScannedAt().isBefore(a.getScannedAt()) ? a : b;
+        ScanEvent earlier = later == a ? b : a;
+        return new ScanEvent(later.getBagId(),
+                later.getLoadedStatus() != null ? later.getLoadedStatus() : earlier.getLoadedStatus(),
+                later.getTimeBagLoaded() != null ? later.getTimeBagLoaded() : earlier.getTimeBagLoaded(),
+                later.getUnitPosition() != null ? later.getUnitPosition() : earlier.getUnitPosition(),
+                later.getLastKnownLocation() != null ? later.getLastKnownLocation() : earlier.getLastKnownLocation(),
+                later.getScannedAt());
+    }
+}
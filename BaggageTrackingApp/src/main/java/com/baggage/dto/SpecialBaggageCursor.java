@@ -0,0 +1,64 @@
+package com.baggage.dto;
+
+import com.baggage.repository.projection.SpecialBagView;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the special baggage ordering (best departure time,
+ * TFLIGHT key, bag tag). Encoded as an opaque URL-safe token for clients.
+ */
+@Value
+public class SpecialBaggageCursor {
+    LocalDateTime departure;
+    Short flightNr;
+    Short airlineCodeNr;
+    Character suffix;
+    LocalDate flightDepDate;
+    Short legNr;
+    Short oninterPrefix;
+    Short btAirlineCodeNr;
+    Integer btSerialNr;
+    Short duplicateNr;
+    
+    public static SpecialBaggageCursor after(SpecialBagView bag, LocalDateTime departure) {
+        return new SpecialBaggageCursor(departure, bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(),
+                bag.getFlightDepDate(), bag.getLegNr(), bag.getOninterPrefix(), bag.getBtAirlineCodeNr(),
+                bag.getBtSerialNr(), bag.getDuplicateNr());
+    }
+    
+    // Values in ordering sequence, matching BagRepository.DEPARTURE_ORDER
+    public Object[] values() {
+        return new Object[]{departure, flightNr, airlineCodeNr, suffix, flightDepDate, legNr,
+                oninterPrefix, btAirlineCodeNr, btSerialNr, duplicateNr};
+    }
+    
+    public String encode() {
+        String raw = String.join("|", departure.toString(), flightNr.toString(), airlineCodeNr.toString(),
+                suffix.toString(), flightDepDate.toString(), legNr.toString(), oninterPrefix.toString(),
+                btAirlineCodeNr.toString(), btSerialNr.toString(), duplicateNr.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static SpecialBaggageCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 10 || parts[3].length() != 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new SpecialBaggageCursor(LocalDateTime.parse(parts[0]), Short.valueOf(parts[1]),
+                    Short.valueOf(parts[2]), parts[3].charAt(0), LocalDate.parse(parts[4]), Short.valueOf(parts[5]),
+                    Short.valueOf(parts[6]), Short.valueOf(parts[7]), Integer.valueOf(parts[8]),
+                    Short.valueOf(parts[9]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.baggage.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-side filters for special baggage queries. Null or "All" means the
+ * filter is not applied; the date range bounds are inclusive.
+ */
+@Value
+@Builder
+public class SpecialBaggageFilter {
+    LocalDateTime fromDateTime;
+    LocalDateTime toDateTime;
+    String flightStatus; // All, Boarded, Not Boarded
+    String passengerType; // All, Pet, Wheelchair, Weapon
+    String baggageStatus; // All, Loaded, Not Loaded
+    String stand;
+    Short flightNumber;
+    
+    public static boolean isApplied(String value) {
+        return value != null && !value.isBlank() && !"All".equalsIgnoreCase(value);
+    }
+    
+    // True when only the date range is set, i.e. the plain date range query applies
+    public boolean isDateRangeOnly() {
+        return !isApplied(flightStatus) && !isApplied(passengerType) && !isApplied(baggageStatus)
+                && !isApplied(stand) && flightNumber == null;
+    }
+}
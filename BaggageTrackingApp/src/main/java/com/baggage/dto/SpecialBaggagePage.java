@@ -0,0 +1,11 @@
+package com.baggage.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SpecialBaggagePage {
+    List<LoadingRecord> records;
+    String nextCursor; // null on the last page
+}
@@ -0,0 +1,97 @@
+package com.baggage.index;
+
+/**
+ * Decodes a bag tag as built by Bag.getBagtag(): ONINTER_PREFIX,
+ * BT_AIRLINE_CODE_NR and BT_SERIAL_NR printed with %d and concatenated.
+ * The parts are not padded, so one tag can split in several ways
+ * ("11111001" is 1-1-111001, 11-11-1001, 111-1-1001, ...); every split
+ * whose parts fit their columns is a candidate.
+ *
+ * Candidates are packed into longs written to a caller-supplied array, so
+ * decoding allocates nothing. Layout, from the high bits: oninterPrefix (16)
+ * | btAirlineCodeNr (16) | btSerialNr (32).
+ */
+public final class BagtagDecoder {
+
+    // SMALLINT, SMALLINT and INTEGER columns, as printed by %d without a sign
+    private static final int MAX_PREFIX_DIGITS = 5;
+    private static final int MAX_AIRLINE_DIGITS = 5;
+    private static final int MAX_SERIAL_DIGITS = 10;
+
+    public static final int MAX_LENGTH = MAX_PREFIX_DIGITS + MAX_AIRLINE_DIGITS + MAX_SERIAL_DIGITS;
+
+    // Enough for every split of a MAX_LENGTH tag
+    public static final int MAX_CANDIDATES = MAX_PREFIX_DIGITS * MAX_AIRLINE_DIGITS;
+
+    private BagtagDecoder() {
+    }
+
+    /**
+     * Writes the candidate keys of the tag to candidates, in ascending
+     * prefix length, and returns how many were written. Returns 0 when the
+     * tag is not a bag tag at all (empty, too long or not all digits).
+     */
+    public static int decode(CharSequence tag, long[] candidates) {
+        int length = tag.length();
+        if (length < 3 || length > MAX_LENGTH) {
+            return 0;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = tag.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+        }
+
+        int count = 0;
+        for (int prefixEnd = 1; prefixEnd <= Math.min(MAX_PREFIX_DIGITS, length - 2); prefixEnd++) {
+            long prefix = parse(tag, 0, prefixEnd);
+            if (prefix < 0 || prefix > Short.MAX_VALUE) {
+                continue;
+            }
+            for (int airlineEnd = prefixEnd + 1;
+                 airlineEnd <= Math.min(prefixEnd + MAX_AIRLINE_DIGITS, length - 1); airlineEnd++) {
+                long airline = parse(tag, prefixEnd, airlineEnd);
+                if (airline < 0 || airline > Short.MAX_VALUE || length - airlineEnd > MAX_SERIAL_DIGITS) {
+                    continue;
+                }
+                long serial = parse(tag, airlineEnd, length);
+                if (serial < 0 || serial > Integer.MAX_VALUE) {
+                    continue;
+                }
+                candidates[count++] = pack((short) prefix, (short) airline, (int) serial);
+            }
+        }
+        return count;
+    }
+
+    public static long pack(short oninterPrefix, short btAirlineCodeNr, int btSerialNr) {
+        return ((oninterPrefix & 0xFFFFL) << 48)
+                | ((btAirlineCodeNr & 0xFFFFL) << 32)
+                | (btSerialNr & 0xFFFFFFFFL);
+    }
+
+    public static short oninterPrefix(long key) {
+        return (short) (key >>> 48);
+    }
+
+    public static short btAirlineCodeNr(long key) {
+        return (short) (key >>> 32);
+    }
+
+    public static int btSerialNr(long key) {
+        return (int) key;
+    }
+
+    // Digits [from, to) as a number, or -1 for a part %d would not print (a leading zero before other digits)
+    private static long parse(CharSequence tag, int from, int to) {
+        if (tag.charAt(from) == '0' && to - from > 1) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (tag.charAt(i) - '0');
+        }
+        return value;
+    }
+}
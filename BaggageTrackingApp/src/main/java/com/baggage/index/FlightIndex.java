@@ -0,0 +1,48 @@
+package com.baggage.index;
+
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+
+import java.util.Collection;
+
+/**
+ * Flights of one query window, addressable by their FlightKey. Keys come
+ * from the index's own FlightKeys, so keys of flights outside the packed
+ * layout are dropped with the index.
+ */
+public class FlightIndex {
+    
+    private final FlightKeys keys;
+    private final LongObjectHashMap<FlightView> flights;
+    
+    private FlightIndex(FlightKeys keys, LongObjectHashMap<FlightView> flights) {
+        this.keys = keys;
+        this.flights = flights;
+    }
+    
+    public static FlightIndex of(Collection<FlightView> flights) {
+        FlightKeys keys = new FlightKeys();
+        LongObjectHashMap<FlightView> map = new LongObjectHashMap<>(flights.size());
+        for (FlightView flight : flights) {
+            map.put(keys.of(flight), flight);
+        }
+        return new FlightIndex(keys, map);
+    }
+    
+    // Same key for the bags of one flight leg, whether or not the flight is in the index
+    public long keyOf(SpecialBagView bag) {
+        return keys.of(bag);
+    }
+    
+    public FlightView get(SpecialBagView bag) {
+        return flights.get(keys.find(bag));
+    }
+    
+    public FlightView get(long flightKey) {
+        return flights.get(flightKey);
+    }
+    
+    public int size() {
+        return flights.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.baggage.index;
+
+import java.time.LocalDate;
+
+/**
+ * Packs the TFLIGHT composite key (flight number, airline code, suffix,
+ * departure date, leg) into a single long so flights can be looked up
+ * without building a String key per row.
+ *
+ * Layout, from the high bits: flightNr (16) | airlineCodeNr (16) |
+ * suffix (8) | departure epoch day (16) | legNr (8). For non-negative
+ * components, comparing packed keys gives the TFLIGHT primary key order.
+ *
+ * The schema allows keys that do not fit that layout (LEG_NR above 255, a
+ * suffix outside 1..255, a date outside 1970..2149); see {@link #fits}.
+ * Indexes take their keys from a {@link FlightKeys}, which stands in for
+ * those.
+ */
+public final class FlightKey {
+    
+    private static final long MAX_EPOCH_DAY = 0xFFFF;
+    
+    private FlightKey() {
+    }
+    
+    public static boolean fits(char suffix, LocalDate flightDepDate, short legNr) {
+        long epochDay = flightDepDate.toEpochDay();
+        return suffix != 0 && suffix <= 0xFF && legNr >= 0 && legNr <= 0xFF
+                && epochDay >= 0 && epochDay <= MAX_EPOCH_DAY;
+    }
+    
+    public static long pack(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr) {
+        if (!fits(suffix, flightDepDate, legNr)) {
+            throw new IllegalArgumentException("Flight key does not fit the packed layout: " + flightNr + "/"
+                    + airlineCodeNr + "/" + suffix + "/" + flightDepDate + "/" + legNr);
+        }
+        return packFitting(flightNr, airlineCodeNr, suffix, flightDepDate, legNr);
+    }
+    
+    // Only for keys that fit
+    static long packFitting(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr) {
+        return ((flightNr & 0xFFFFL) << 48)
+                | ((airlineCodeNr & 0xFFFFL) << 32)
+                | ((long) suffix << 24)
+                | (flightDepDate.toEpochDay() << 8)
+                | legNr;
+    }
+    
+    public static short flightNr(long key) {
+        return (short) (key >>> 48);
+    }
+    
+    public static short airlineCodeNr(long key) {
+        return (short) (key >>> 32);
+    }
+    
+    public static char suffix(long key) {
+        return (char) ((key >>> 24) & 0xFF);
+    }
+    
+    public static short legNr(long key) {
+        return (short) (key & 0xFF);
+    }
+    
+    public static LocalDate flightDepDate(long key) {
+        return LocalDate.ofEpochDay((key >>> 8) & MAX_EPOCH_DAY);
+    }
+}
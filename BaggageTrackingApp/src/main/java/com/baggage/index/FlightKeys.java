@@ -0,0 +1,99 @@
+package com.baggage.index;
+
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.LoadBagView;
+import com.baggage.repository.projection.SpecialBagView;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The flight keys of one index, cache or snapshot. A flight that fits the
+ * {@link FlightKey} layout gets its packed key. Any other flight is interned
+ * in this table: it gets a sequence number in the high 32 bits with the low
+ * 32 bits zero. A packed key never has a zero suffix byte, so the two kinds
+ * cannot collide, and 0 (sequence 0) is never handed out.
+ *
+ * Interned keys exist only in the table that handed them out and go away
+ * with it (or with {@link #release}), so keys of different tables must not be
+ * mixed. They carry no order: order flights by their fields, not their keys.
+ */
+public class FlightKeys {
+    
+    // Returned by find for a flight that has no key here
+    public static final long NONE = 0;
+    
+    private final Map<Wide, Long> interned = new ConcurrentHashMap<>();
+    private final Map<Long, Wide> internedByKey = new ConcurrentHashMap<>();
+    private final AtomicLong nextInterned = new AtomicLong(1);
+    
+    private record Wide(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr) {
+    }
+    
+    public long of(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr) {
+        if (FlightKey.fits(suffix, flightDepDate, legNr)) {
+            return FlightKey.packFitting(flightNr, airlineCodeNr, suffix, flightDepDate, legNr);
+        }
+        return interned.computeIfAbsent(new Wide(flightNr, airlineCodeNr, suffix, flightDepDate, legNr), wide -> {
+            long key = nextInterned.getAndIncrement() << 32;
+            internedByKey.put(key, wide);
+            return key;
+        });
+    }
+    
+    public long of(FlightView flight) {
+        return of(flight.getFlightNr(), flight.getAirlineCodeNr(), flight.getSuffix(),
+                flight.getFlightDepDate(), flight.getLegNr());
+    }
+    
+    public long of(SpecialBagView bag) {
+        return of(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(), bag.getFlightDepDate(), bag.getLegNr());
+    }
+    
+    public long of(LoadBagView bag) {
+        return of(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(), bag.getFlightDepDate(), bag.getLegNr());
+    }
+    
+    /**
+     * Like of, but interns nothing: NONE for a flight outside the packed
+     * layout that has no key here yet.
+     */
+    public long find(short flightNr, short airlineCodeNr, char suffix, LocalDate flightDepDate, short legNr) {
+        if (FlightKey.fits(suffix, flightDepDate, legNr)) {
+            return FlightKey.packFitting(flightNr, airlineCodeNr, suffix, flightDepDate, legNr);
+        }
+        Long key = interned.get(new Wide(flightNr, airlineCodeNr, suffix, flightDepDate, legNr));
+        return key != null ? key : NONE;
+    }
+    
+    public long find(FlightView flight) {
+        return find(flight.getFlightNr(), flight.getAirlineCodeNr(), flight.getSuffix(),
+                flight.getFlightDepDate(), flight.getLegNr());
+    }
+    
+    public long find(SpecialBagView bag) {
+        return find(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(), bag.getFlightDepDate(), bag.getLegNr());
+    }
+    
+    /**
+     * Forgets an interned key once nothing refers to it any more; packed keys are left alone.
+     */
+    public void release(long key) {
+        Wide wide = internedByKey.remove(key);
+        if (wide != null) {
+            interned.remove(wide);
+        }
+    }
+    
+    public void clear() {
+        interned.clear();
+        internedByKey.clear();
+    }
+    
+    // Interned keys currently held, for tests and meters
+    public int internedCount() {
+        return interned.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.baggage.ingest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.scans")
+public class ScanIngestionProperties {
+    
+    // Flush as soon as this many bags are pending, and write them in JDBC batches of this size
+    private int batchSize = 500;
+    
+    // Flush at least this often while scans are pending
+    private Duration flushInterval = Duration.ofMillis(200);
+    
+    // Above this many pending bags new scans are rejected until the buffer drains
+    private int maxPending = 100_000;
+}
@@ -0,0 +1,291 @@
+package com.baggage.ingest;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.journal.BagJournal;
+import com.baggage.model.BagId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for loader scans. Scans are merged per bag into a
+ * ConcurrentHashMap (CAS on empty bins, no global lock), so a bag scanned
+ * many times between flushes costs one UPDATE. A flush drains the map and
+ * writes the pending bags as JDBC batch updates in primary key order, which
+ * keeps row locks short and acquired in a consistent order.
+ *
+ * A flush runs every flushInterval from the scheduler, and as soon as
+ * batchSize bags are pending on the scan-flush thread, which the ingest (or
+ * replayed scan) that crosses the threshold wakes. Neither request threads
+ * nor the replay ever write to the database themselves. When a batch fails, its scans are
+ * written one by one: a scan the database rejects is dead-lettered (logged
+ * and counted), the others are written or, on a transient error, put back.
+ *
+ * With the bag journal enabled, every accepted scan is appended to it before
+ * it is buffered, so scans still pending when the process dies are written
+ * by the replay on the next start. A flush marks the journal up to where it
+ * stood when the flush began, unless a scan had to be put back, and the
+ * replay starts from the last mark.
+ */
+@Slf4j
+@Service
+public class ScanIngestionService {
+    
+    // Scans older than what is already stored are dropped by the WHERE clause, so a
+    // late flush cannot roll a bag back. The update stamps TBAG.LAST_MODIFIED,
+    // which the special baggage cache polls.
+    private static final String UPDATE_BAG = "UPDATE TBAG SET " +
+            "LOADED_STATUS = COALESCE(?, LOADED_STATUS), " +
+            "TIME_BAG_LOADED = COALESCE(?, TIME_BAG_LOADED), " +
+            "UNIT_POSITION = COALESCE(?, UNIT_POSITION), " +
+            "LAST_KNOWN_LOCATION = COALESCE(?, LAST_KNOWN_LOCATION), " +
+            "LAST_KNOWN_TIMESTAMP_UTC = ? " +
+            "WHERE BT_SERIAL_NR = ? AND BT_AIRLINE_CODE_NR = ? AND ONINTER_PREFIX = ? AND DUPLICATE_NR = ? " +
+            "AND FLIGHT_NR = ? AND AIRLINE_CODE_NR = ? AND SUFFIX = ? AND FLIGHT_DEP_DATE = ? AND LEG_NR = ? " +
+            "AND (LAST_KNOWN_TIMESTAMP_UTC IS NULL OR LAST_KNOWN_TIMESTAMP_UTC <= ?)";
+    
+    // TBAG primary key order
+    private static final Comparator<BagId> PRIMARY_KEY_ORDER = Comparator
+            .comparing(BagId::getBtSerialNr)
+            .thenComparing(BagId::getBtAirlineCodeNr)
+            .thenComparing(BagId::getOninterPrefix)
+            .thenComparing(BagId::getDuplicateNr)
+            .thenComparing(BagId::getFlightNr)
+            .thenComparing(BagId::getAirlineCodeNr)
+            .thenComparing(BagId::getSuffix)
+            .thenComparing(BagId::getFlightDepDate)
+            .thenComparing(BagId::getLegNr);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ScanIngestionProperties properties;
+    private final BagJournal journal; // null when the journal is disabled
+    
+    private final ConcurrentHashMap<BagId, ScanEvent> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scan-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Set while a flush is queued on the flusher, so crossing the threshold again queues no second one
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // Shared by ingests across journal append and merge, taken exclusively to mark the journal,
+    // so every scan journaled before the mark is pending by then
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+    
+    private final Counter received;
+    private final Counter written;
+    private final Counter skipped;
+    private final Counter deadLettered;
+    private final Timer flushTimer;
+    
+    public ScanIngestionService(JdbcTemplate jdbcTemplate, ScanIngestionProperties properties,
+                                ObjectProvider<BagJournal> journal, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.journal = journal.getIfAvailable();
+        this.received = Counter.builder("baggage.scans.received").register(meterRegistry);
+        // Bag rows updated; skipped counts unknown bags and scans older than the stored one
+        this.written = Counter.builder("baggage.scans.written").register(meterRegistry);
+        this.skipped = Counter.builder("baggage.scans.skipped").register(meterRegistry);
+        // Scans the database rejects (e.g. a value longer than its column), logged and dropped
+        this.deadLettered = Counter.builder("baggage.scans.dead-lettered").register(meterRegistry);
+        this.flushTimer = Timer.builder("baggage.scans.flush").register(meterRegistry);
+        Gauge.builder("baggage.scans.pending", pending, ConcurrentHashMap::mappingCount).register(meterRegistry);
+    }
+    
+    /**
+     * Buffers the scans.
+     *
+     * @return false if the buffer is full and nothing was accepted
+     */
+    public boolean ingest(List<ScanEvent> scans) {
+        if (pending.mappingCount() >= properties.getMaxPending()) {
+            return false;
+        }
+        if (journal != null) {
+            journalLock.readLock().lock();
+            try {
+                for (ScanEvent scan : scans) {
+                    journal.append(scan);
+                    pending.merge(scan.getBagId(), scan, ScanEvent::coalesce);
+                }
+            } finally {
+                journalLock.readLock().unlock();
+            }
+        } else {
+            for (ScanEvent scan : scans) {
+                pending.merge(scan.getBagId(), scan, ScanEvent::coalesce);
+            }
+        }
+        received.increment(scans.size());
+        flushIfFull();
+        return true;
+    }
+    
+    /**
+     * Buffers a scan replayed from the journal: not journaled again and never
+     * rejected. A scan TBAG already has just writes the same values again,
+     * and one older than the stored scan is skipped as usual.
+     */
+    public void restore(ScanEvent scan) {
+        pending.merge(scan.getBagId(), scan, ScanEvent::coalesce);
+        flushIfFull();
+    }
+    
+    @Scheduled(fixedDelayString = "${baggage.scans.flush-interval:PT0.2S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flusher.shutdown();
+        flush();
+    }
+    
+    public long getPendingCount() {
+        return pending.mappingCount();
+    }
+    
+    private void flushIfFull() {
+        if (pending.mappingCount() >= properties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    // Cleared first, so scans arriving during this flush can queue the next one
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; flushOnShutdown writes what is pending
+            }
+        }
+    }
+    
+    private void doFlush() {
+        Map<Integer, Integer> journaled = null;
+        if (journal != null) {
+            journalLock.writeLock().lock();
+            try {
+                journaled = journal.mark();
+            } finally {
+                journalLock.writeLock().unlock();
+            }
+        }
+        if (writePending() && journaled != null) {
+            journal.markFlushed(journaled);
+        }
+    }
+    
+    /**
+     * @return false if a scan was put back to be retried
+     */
+    private boolean writePending() {
+        if (pending.isEmpty()) {
+            return true;
+        }
+        // Removing key by key keeps concurrent merges: a scan merged before the remove
+        // is part of this flush, one merged after it starts a new entry for the next flush
+        List<ScanEvent> drained = new ArrayList<>();
+        for (BagId bagId : pending.keySet()) {
+            ScanEvent scan = pending.remove(bagId);
+            if (scan != null) {
+                drained.add(scan);
+            }
+        }
+        drained.sort(Comparator.comparing(ScanEvent::getBagId, PRIMARY_KEY_ORDER));
+        
+        return flushTimer.record(() -> {
+            boolean settled = true;
+            for (int from = 0; from < drained.size(); from += properties.getBatchSize()) {
+                List<ScanEvent> batch = drained.subList(from, Math.min(drained.size(), from + properties.getBatchSize()));
+                try {
+                    int[] counts = jdbcTemplate.batchUpdate(UPDATE_BAG, batch, batch.size(),
+                            ScanIngestionService::bind)[0];
+                    int updated = 0;
+                    for (int count : counts) {
+                        updated += count != 0 ? 1 : 0; // SUCCESS_NO_INFO (-2) counts as written
+                    }
+                    written.increment(updated);
+                    skipped.increment(batch.size() - updated);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to write a batch of {} scans, writing them one by one", batch.size(), e);
+                    for (ScanEvent scan : batch) {
+                        settled &= writeOne(scan);
+                    }
+                }
+            }
+            return settled;
+        });
+    }
+    
+    // A row the database rejects would fail every retry, so it is dead-lettered; anything else is retried
+    private boolean writeOne(ScanEvent scan) {
+        try {
+            if (jdbcTemplate.update(UPDATE_BAG, statement -> bind(statement, scan)) != 0) {
+                written.increment();
+            } else {
+                skipped.increment();
+            }
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.error("Dead-lettered scan {}: {}", scan, e.getMostSpecificCause().getMessage());
+            deadLettered.increment();
+            return true;
+        } catch (RuntimeException e) {
+            // Newer scans merged in the meantime still win
+            log.warn("Failed to write scan of {}, retrying on next flush", scan.getBagId(), e);
+            pending.merge(scan.getBagId(), scan, ScanEvent::coalesce);
+            return false;
+        }
+    }
+    
+    private static void bind(PreparedStatement statement, ScanEvent scan) throws SQLException {
+        BagId id = scan.getBagId();
+        Timestamp scannedAt = Timestamp.valueOf(scan.getScannedAt());
+        statement.setObject(1, scan.getLoadedStatus());
+        statement.setObject(2, scan.getTimeBagLoaded() != null ? Timestamp.valueOf(scan.getTimeBagLoaded()) : null);
+        statement.setString(3, scan.getUnitPosition());
+        statement.setString(4, scan.getLastKnownLocation());
+        statement.setTimestamp(5, scannedAt);
+        statement.setInt(6, id.getBtSerialNr());
+        statement.setShort(7, id.getBtAirlineCodeNr());
+        statement.setShort(8, id.getOninterPrefix());
+        statement.setShort(9, id.getDuplicateNr());
+        statement.setShort(10, id.getFlightNr());
+        statement.setShort(11, id.getAirlineCodeNr());
+        statement.setString(12, String.valueOf(id.getSuffix()));
+        statement.setObject(13, id.getFlightDepDate());
+        statement.setShort(14, id.getLegNr());
+        statement.setTimestamp(15, scannedAt);
+    }
+}
@@ -0,0 +1,345 @@
+package com.baggage.journal;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.index.BagtagDecoder;
+import com.baggage.index.LongLongHashMap;
+import com.baggage.model.BagId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of loader scans, kept next to TBAG, which only holds
+ * the latest location of a bag. Scans are appended in arrival order to
+ * memory-mapped segment files, one run of segments per FLIGHT_DEP_DATE, so
+ * a day's segments are rolled off as a whole once the day is past the
+ * retention. Every record points back at the previous record of its bag tag,
+ * and an in-memory index holds the latest record per tag, so the trace of a
+ * bag is a walk down that chain rather than a scan.
+ *
+ * An append is a few absolute puts into the mapping plus an index update and
+ * allocates nothing (beyond the occasional new segment or index resize).
+ * It is in the page cache as soon as append returns; dirty segments are
+ * forced to disk every syncInterval. The index is rebuilt from the segment
+ * files on startup.
+ *
+ * Segment sequences are never reused, even once the highest segment has been
+ * rolled off: a record of a surviving segment may point into a rolled-off one
+ * that was created after it, and must not end up pointing at whatever record
+ * a new segment holds at that position. The next sequence is kept in a file
+ * next to the segments for that.
+ *
+ * The ingestion service reports which records are in TBAG with
+ * {@link #markFlushed}; that mark is kept in a file too, so the replay on
+ * startup only feeds the records after it.
+ *
+ * Publishes baggage.journal.appends, baggage.journal.segments and
+ * baggage.journal.bytes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "baggage.journal", name = "enabled", havingValue = "true")
+public class BagJournal {
+
+    private static final long NONE = -1;
+    private static final String NEXT_SEQUENCE_FILE = "next-sequence";
+    private static final String FLUSHED_FILE = "flushed";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalProperties properties;
+    private final Clock clock;
+
+    private final TreeMap<Integer, JournalSegment> segments = new TreeMap<>();
+    // The segment each FLIGHT_DEP_DATE appends to
+    private final Map<LocalDate, JournalSegment> current = new HashMap<>();
+    // Position of the latest record per BagtagDecoder key
+    private final LongLongHashMap latest = new LongLongHashMap(1 << 16);
+    private int nextSequence = 1;
+
+    private final Object flushedLock = new Object();
+    // Per segment sequence, the end of the records known to be in TBAG; guarded by flushedLock
+    private Map<Integer, Integer> flushed;
+    // Until the startup replay is done, the stored mark stays as it is; guarded by flushedLock
+    private boolean replayPending;
+
+    private final Counter appends;
+
+    public BagJournal(JournalProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.directory = Paths.get(properties.getDirectory());
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, properties.getSegmentSize().toBytes());
+        this.properties = properties;
+        this.clock = clock;
+        this.replayPending = properties.isReplayOnStartup();
+        open();
+        this.appends = Counter.builder("baggage.journal.appends").register(meterRegistry);
+        Gauge.builder("baggage.journal.segments", this, BagJournal::getSegmentCount).register(meterRegistry);
+        Gauge.builder("baggage.journal.bytes", this, BagJournal::getBytes).register(meterRegistry);
+    }
+
+    public synchronized void append(ScanEvent scan) {
+        BagId id = scan.getBagId();
+        long bagtag = BagtagDecoder.pack(id.getOninterPrefix(), id.getBtAirlineCodeNr(), id.getBtSerialNr());
+        long previous = latest.get(bagtag, NONE);
+        JournalSegment segment = current.get(id.getFlightDepDate());
+        int offset = segment != null ? segment.append(scan, bagtag, previous) : -1;
+        if (offset < 0) {
+            if (JournalSegment.recordLength(scan) > segmentSize) {
+                throw new IllegalArgumentException("Scan of " + id + " does not fit in a journal segment");
+            }
+            segment = newSegment(id.getFlightDepDate());
+            offset = segment.append(scan, bagtag, previous);
+        }
+        latest.put(bagtag, position(segment.getSequence(), offset), NONE);
+        appends.increment();
+    }
+
+    /**
+     * Every journaled scan of the bag tag (of all its legs and duplicates), by
+     * scan time. Scans in segments already rolled off are not included.
+     */
+    public synchronized List<ScanEvent> trace(String bagtag) {
+        long[] candidates = new long[BagtagDecoder.MAX_CANDIDATES];
+        int count = BagtagDecoder.decode(bagtag, candidates);
+        List<ScanEvent> scans = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long position = latest.get(candidates[i], NONE);
+            while (position != NONE) {
+                JournalSegment segment = segments.get(sequence(position));
+                if (segment == null) {
+                    break;
+                }
+                int offset = offset(position);
+                scans.add(segment.read(offset));
+                position = segment.previous(offset);
+            }
+        }
+        scans.sort(Comparator.comparing(ScanEvent::getScannedAt));
+        return scans;
+    }
+
+    /**
+     * Feeds every journaled scan to the action, in the order they were
+     * appended. Appends made while this runs may or may not be included.
+     */
+    public void forEach(Consumer<ScanEvent> action) {
+        forEach(Map.of(), action);
+    }
+
+    /**
+     * Like forEach, but skips the records covered by the mark stored with
+     * markFlushed.
+     */
+    public void forEachUnflushed(Consumer<ScanEvent> action) {
+        Map<Integer, Integer> from;
+        synchronized (flushedLock) {
+            from = flushed;
+        }
+        forEach(from, action);
+    }
+
+    /**
+     * The end of every segment: the records appended so far.
+     */
+    public synchronized Map<Integer, Integer> mark() {
+        Map<Integer, Integer> mark = new TreeMap<>();
+        segments.forEach((sequence, segment) -> mark.put(sequence, segment.getEnd()));
+        return mark;
+    }
+
+    /**
+     * Stores that every record below the mark is in TBAG, for the replay on
+     * the next start. Ignored until {@link #replayed}, so a restart during
+     * the replay starts it over.
+     */
+    public void markFlushed(Map<Integer, Integer> mark) {
+        synchronized (flushedLock) {
+            if (replayPending || mark.equals(flushed)) {
+                return;
+            }
+            writeFlushed(mark);
+            flushed = mark;
+        }
+    }
+
+    /**
+     * The startup replay is done (or did not run); markFlushed stores marks from now on.
+     */
+    public void replayed() {
+        synchronized (flushedLock) {
+            replayPending = false;
+        }
+    }
+
+    @Scheduled(cron = "${baggage.journal.roll-off-cron:0 45 0 * * *}", zone = "UTC")
+    public synchronized void rollOff() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(properties.getRetention().toDays());
+        List<JournalSegment> expired = segments.values().stream()
+                .filter(segment -> segment.getDay().isBefore(cutoff))
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+        for (JournalSegment segment : expired) {
+            segments.remove(segment.getSequence());
+            current.remove(segment.getDay(), segment);
+            segment.delete();
+        }
+        // Tags last scanned on a rolled-off day; chains of other tags just end where a segment is missing
+        latest.removeIf((bagtag, position) -> !segments.containsKey(sequence(position)));
+        log.info("Rolled off {} journal segments of days before {}", expired.size(), cutoff);
+    }
+
+    @Scheduled(fixedDelayString = "${baggage.journal.sync-interval:PT1S}")
+    @PreDestroy
+    public synchronized void sync() {
+        segments.values().forEach(JournalSegment::force);
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getBytes() {
+        return segments.values().stream().mapToLong(JournalSegment::getEnd).sum();
+    }
+
+    private void open() {
+        List<JournalSegment> found = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(JournalSegment::isSegment).forEach(path -> found.add(JournalSegment.open(path)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        found.sort(Comparator.comparingInt(JournalSegment::getSequence));
+        nextSequence = readNextSequence();
+        for (JournalSegment segment : found) {
+            segments.put(segment.getSequence(), segment);
+            current.put(segment.getDay(), segment);
+            nextSequence = Math.max(nextSequence, segment.getSequence() + 1);
+            for (int offset = 0; offset < segment.getEnd(); offset = segment.next(offset)) {
+                latest.put(segment.bagtag(offset), position(segment.getSequence(), offset), NONE);
+            }
+        }
+        flushed = readFlushed();
+        log.info("Opened bag journal in {}: {} segments, {} bag tags", directory.toAbsolutePath(), segments.size(),
+                latest.size());
+    }
+
+    private void forEach(Map<Integer, Integer> from, Consumer<ScanEvent> action) {
+        List<JournalSegment> snapshot;
+        int[] ends;
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments.values());
+            ends = snapshot.stream().mapToInt(JournalSegment::getEnd).toArray();
+        }
+        // Records below a segment's end are never written again, so they are read without the lock
+        for (int i = 0; i < snapshot.size(); i++) {
+            JournalSegment segment = snapshot.get(i);
+            for (int offset = from.getOrDefault(segment.getSequence(), 0); offset < ends[i];
+                    offset = segment.next(offset)) {
+                action.accept(segment.read(offset));
+            }
+        }
+    }
+
+    // Lines of "sequence end", for the segments that are still there
+    private Map<Integer, Integer> readFlushed() {
+        Path file = directory.resolve(FLUSHED_FILE);
+        Map<Integer, Integer> mark = new TreeMap<>();
+        try {
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file)) {
+                    String[] fields = line.trim().split(" ");
+                    JournalSegment segment = segments.get(Integer.parseInt(fields[0]));
+                    if (segment != null) {
+                        // A record dropped as torn on open is not flushed, whatever was stored
+                        mark.put(segment.getSequence(), Math.min(Integer.parseInt(fields[1]), segment.getEnd()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return mark;
+    }
+
+    private void writeFlushed(Map<Integer, Integer> mark) {
+        StringBuilder lines = new StringBuilder();
+        mark.forEach((sequence, end) -> lines.append(sequence).append(' ').append(end).append('\n'));
+        write(FLUSHED_FILE, lines.toString());
+    }
+
+    private JournalSegment newSegment(LocalDate day) {
+        int sequence = nextSequence++;
+        // Before the segment exists, so a crash in between skips a sequence rather than reusing one
+        writeNextSequence(nextSequence);
+        JournalSegment segment = JournalSegment.create(directory, day, sequence, segmentSize);
+        segments.put(segment.getSequence(), segment);
+        current.put(day, segment);
+        return segment;
+    }
+
+    // 1 for a new journal (or one written before the file was kept), else what was stored
+    private int readNextSequence() {
+        Path file = directory.resolve(NEXT_SEQUENCE_FILE);
+        try {
+            return Files.exists(file) ? Integer.parseInt(Files.readString(file).trim()) : 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNextSequence(int sequence) {
+        write(NEXT_SEQUENCE_FILE, Integer.toString(sequence));
+    }
+
+    // Through a temporary file, so a crash leaves either the old or the new content
+    private void write(String name, String content) {
+        Path written = directory.resolve(name + ".tmp");
+        try {
+            Files.writeString(written, content);
+            Files.move(written, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long position(int sequence, int offset) {
+        return (long) sequence << 32 | offset;
+    }
+
+    private static int sequence(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offset(long position) {
+        return (int) position;
+    }
+}
@@ -0,0 +1,32 @@
+package com.baggage.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.journal")
+public class JournalProperties {
+
+    // Off by default: the journal needs a directory that survives restarts
+    private boolean enabled = false;
+
+    private String directory = "journal";
+
+    // Size each segment file is mapped at; a FLIGHT_DEP_DATE whose scans outgrow it continues in a new segment
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // Segments of days (by FLIGHT_DEP_DATE) older than this are deleted; keep it at or above baggage.archive.retention
+    private Duration retention = Duration.ofDays(7);
+
+    // When segments are rolled off (UTC); "-" disables it
+    private String rollOffCron = "0 45 0 * * *";
+
+    // Appends survive a process crash at once; this bounds what an OS crash or power loss can lose
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    // Re-apply the journaled scans to TBAG when the application starts
+    private boolean replayOnStartup = true;
+}
@@ -0,0 +1,46 @@
+package com.baggage.journal;
+
+import com.baggage.ingest.ScanIngestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Brings TBAG up to date with the journal after a restart: every journaled
+ * scan after the last flushed mark goes through the ingestion buffer again,
+ * coalesced per bag and written with the same guarded UPDATE, so scans that
+ * were still pending when the process died are applied. Only the scans of
+ * the last flush or so before the stop are written a second time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "baggage.journal", name = "enabled", havingValue = "true")
+public class JournalReplayer {
+
+    private final BagJournal journal;
+    private final ScanIngestionService scanIngestionService;
+    private final JournalProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replay() {
+        if (!properties.isReplayOnStartup()) {
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicLong replayed = new AtomicLong();
+        journal.forEachUnflushed(scan -> {
+            scanIngestionService.restore(scan);
+            replayed.incrementAndGet();
+        });
+        // Every replayed scan is pending now, so the flush can mark the journal past them
+        journal.replayed();
+        scanIngestionService.flush();
+        log.info("Replayed {} journaled scans in {} ms", replayed.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,271 @@
+package com.baggage.journal;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.index.BagtagDecoder;
+import com.baggage.model.BagId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped journal file holding scans of bags departing on one
+ * FLIGHT_DEP_DATE, named &lt;date&gt;.&lt;sequence&gt;.journal. Records are
+ * appended back to back from offset 0:
+ *
+ *   int length | int crc32 of the payload | payload
+ *
+ * A zero length marks the end of the data (a new file is mapped zeroed), and
+ * the length is written after the payload and checksum, so a record cut off by
+ * a crash reads as the end. On open, records are checked up to the first zero
+ * length or bad checksum and everything from there on is discarded.
+ *
+ * The payload starts with the position of the previous record of the same bag
+ * tag (or -1), which chains the scans of a tag across segments. Appends only
+ * use absolute puts on the mapping and allocate nothing. Not thread-safe.
+ */
+class JournalSegment {
+
+    static final int HEADER = 8;
+
+    private static final String SUFFIX = ".journal";
+
+    // previous, bagtag, duplicateNr/flightNr/airlineCodeNr/suffix/legNr, flightDepDate,
+    // scannedAt, timeBagLoaded, loadedStatus, two string lengths
+    private static final int FIXED_PAYLOAD = 8 + 8 + 5 * 2 + 4 + 12 + 12 + 4 + 4 + 4;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final int NULL_STATUS = Integer.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+
+    private final Path path;
+    private final LocalDate day;
+    private final int sequence;
+    private final MappedByteBuffer buffer;
+    // Second view of the mapping for checksumming a range without moving buffer's position
+    private final ByteBuffer crcView;
+    private final CRC32 crc = new CRC32();
+    private int end;
+    private boolean dirty;
+
+    private JournalSegment(Path path, LocalDate day, int sequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.day = day;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.crcView = buffer.duplicate();
+    }
+
+    static JournalSegment create(Path directory, LocalDate day, int sequence, int capacity) {
+        Path path = directory.resolve(String.format("%s.%06d%s", day, sequence, SUFFIX));
+        return new JournalSegment(path, day, sequence, map(path, capacity));
+    }
+
+    /**
+     * Maps an existing segment file and finds the end of its valid records.
+     */
+    static JournalSegment open(Path path) {
+        String[] name = path.getFileName().toString().split("\\.");
+        if (name.length != 3 || !path.getFileName().toString().endsWith(SUFFIX)) {
+            throw new IllegalArgumentException("Not a journal segment: " + path);
+        }
+        try {
+            JournalSegment segment = new JournalSegment(path, LocalDate.parse(name[0]), Integer.parseInt(name[1]),
+                    map(path, (int) Files.size(path)));
+            segment.recover();
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        return path.getFileName().toString().endsWith(SUFFIX);
+    }
+
+    static int recordLength(ScanEvent scan) {
+        return HEADER + FIXED_PAYLOAD
+                + 2 * (length(scan.getUnitPosition()) + length(scan.getLastKnownLocation()));
+    }
+
+    LocalDate getDay() {
+        return day;
+    }
+
+    int getSequence() {
+        return sequence;
+    }
+
+    // Offset past the last record
+    int getEnd() {
+        return end;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Appends the scan.
+     *
+     * @return the offset of the record, or -1 if it does not fit
+     */
+    int append(ScanEvent scan, long bagtag, long previous) {
+        int length = recordLength(scan);
+        if (length > buffer.capacity() - end) {
+            return -1;
+        }
+        int offset = end;
+        BagId id = scan.getBagId();
+        int at = offset + HEADER;
+        buffer.putLong(at, previous);
+        buffer.putLong(at + 8, bagtag);
+        buffer.putShort(at + 16, id.getDuplicateNr());
+        buffer.putShort(at + 18, id.getFlightNr());
+        buffer.putShort(at + 20, id.getAirlineCodeNr());
+        buffer.putChar(at + 22, id.getSuffix());
+        buffer.putShort(at + 24, id.getLegNr());
+        buffer.putInt(at + 26, (int) id.getFlightDepDate().toEpochDay());
+        putTime(at + 30, scan.getScannedAt());
+        putTime(at + 42, scan.getTimeBagLoaded());
+        buffer.putInt(at + 54, scan.getLoadedStatus() != null ? scan.getLoadedStatus() : NULL_STATUS);
+        at = putString(at + 58, scan.getUnitPosition());
+        putString(at, scan.getLastKnownLocation());
+
+        buffer.putInt(offset + 4, checksum(offset + HEADER, length - HEADER));
+        // Last, so a record is only seen once the rest of it is in place
+        buffer.putInt(offset, length - HEADER);
+        end = offset + length;
+        dirty = true;
+        return offset;
+    }
+
+    long previous(int offset) {
+        return buffer.getLong(offset + HEADER);
+    }
+
+    long bagtag(int offset) {
+        return buffer.getLong(offset + HEADER + 8);
+    }
+
+    int next(int offset) {
+        return offset + HEADER + buffer.getInt(offset);
+    }
+
+    ScanEvent read(int offset) {
+        int at = offset + HEADER;
+        long bagtag = buffer.getLong(at + 8);
+        BagId id = new BagId(BagtagDecoder.btSerialNr(bagtag), BagtagDecoder.btAirlineCodeNr(bagtag),
+                BagtagDecoder.oninterPrefix(bagtag), buffer.getShort(at + 16), buffer.getShort(at + 18),
+                buffer.getShort(at + 20), buffer.getChar(at + 22), LocalDate.ofEpochDay(buffer.getInt(at + 26)),
+                buffer.getShort(at + 24));
+        int loadedStatus = buffer.getInt(at + 54);
+        String unitPosition = getString(at + 58);
+        String lastKnownLocation = getString(at + 62 + 2 * length(unitPosition));
+        return new ScanEvent(id, loadedStatus != NULL_STATUS ? loadedStatus : null, getTime(at + 42),
+                unitPosition, lastKnownLocation, getTime(at + 30));
+    }
+
+    /**
+     * Writes appended records through to the file, if there are any since the last call.
+     */
+    void force() {
+        if (dirty) {
+            dirty = false;
+            buffer.force();
+        }
+    }
+
+    // The mapping itself is released when the buffer is collected
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recover() {
+        int offset = 0;
+        while (offset <= buffer.capacity() - HEADER) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > buffer.capacity() - offset - HEADER
+                    || buffer.getInt(offset + 4) != checksum(offset + HEADER, length)) {
+                // A torn write; clear it so a later append cannot leave parts of it behind its own record
+                for (int i = offset; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                dirty = true;
+                break;
+            }
+            offset += HEADER + length;
+        }
+        end = offset;
+    }
+
+    private int checksum(int from, int length) {
+        crcView.limit(from + length).position(from);
+        crc.reset();
+        crc.update(crcView);
+        return (int) crc.getValue();
+    }
+
+    private void putTime(int at, LocalDateTime time) {
+        buffer.putLong(at, time != null ? time.toEpochSecond(ZoneOffset.UTC) : NULL_TIME);
+        buffer.putInt(at + 8, time != null ? time.getNano() : 0);
+    }
+
+    private LocalDateTime getTime(int at) {
+        long seconds = buffer.getLong(at);
+        return seconds != NULL_TIME ? LocalDateTime.ofEpochSecond(seconds, buffer.getInt(at + 8), ZoneOffset.UTC) : null;
+    }
+
+    private int putString(int at, String value) {
+        if (value == null) {
+            buffer.putInt(at, NULL_STRING);
+            return at + 4;
+        }
+        buffer.putInt(at, value.length());
+        at += 4;
+        for (int i = 0; i < value.length(); i++, at += 2) {
+            buffer.putChar(at, value.charAt(i));
+        }
+        return at;
+    }
+
+    private String getString(int at) {
+        int length = buffer.getInt(at);
+        if (length == NULL_STRING) {
+            return null;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar(at + 4 + 2 * i);
+        }
+        return new String(chars);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static MappedByteBuffer map(Path path, int capacity) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.baggage.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Meters for the special baggage read pipeline:
+ *
+ *   baggage.pipeline.stage      timer per stage (tags query, stage)
+ *   baggage.pipeline.rows       rows in / out per stage (tags query, stage, direction)
+ *   baggage.pipeline.allocated  bytes allocated by the stage on the calling thread,
+ *                               only where the JVM supports thread allocation accounting
+ *   baggage.api.requests        endpoint latency histogram (tags endpoint, format, window)
+ */
+@Component
+public class SpecialBaggageMetrics {
+    
+    public static final String DB_FETCH = "db-fetch";
+    public static final String FLIGHT_INDEX = "flight-index";
+    public static final String EXCEPTION_FILTER = "exception-filter";
+    public static final String MAPPING = "mapping";
+    
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean; // null when allocation accounting is unavailable
+    private final Map<String, StageMeters> stages = new ConcurrentHashMap<>();
+    
+    public SpecialBaggageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        this.threadMXBean = threads instanceof com.sun.management.ThreadMXBean sunThreads
+                && sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()
+                ? sunThreads : null;
+    }
+    
+    /**
+     * Runs one pipeline stage and records its duration, allocation and row
+     * counts. rowsIn is skipped when negative (e.g. for the database fetch).
+     */
+    public <T> T stage(String query, String stage, long rowsIn, Supplier<T> work, ToLongFunction<T> rowsOut) {
+        StageMeters meters = stages.computeIfAbsent(query + '/' + stage, key -> new StageMeters(query, stage));
+        long allocatedBefore = threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+        long start = System.nanoTime();
+        
+        T result = work.get();
+        
+        meters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (allocatedBefore >= 0) {
+            meters.allocated.record(threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        }
+        if (rowsIn >= 0) {
+            meters.rowsIn.record(rowsIn);
+        }
+        meters.rowsOut.record(rowsOut.applyAsLong(result));
+        return result;
+    }
+    
+    /**
+     * Endpoint timer; from/to may be null for unbounded queries.
+     */
+    public Timer requestTimer(String endpoint, String format, LocalDateTime from, LocalDateTime to) {
+        return Timer.builder("baggage.api.requests")
+                .tag("endpoint", endpoint)
+                .tag("format", format)
+                .tag("window", windowWidth(from, to))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    // Bucketed so the tag stays low-cardinality
+    static String windowWidth(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return "unbounded";
+        }
+        long hours = Duration.between(from, to).toHours();
+        if (hours <= 1) {
+            return "1h";
+        } else if (hours <= 6) {
+            return "6h";
+        } else if (hours <= 24) {
+            return "24h";
+        } else if (hours <= 72) {
+            return "72h";
+        }
+        return "longer";
+    }
+    
+    private class StageMeters {
+        final Timer timer;
+        final DistributionSummary rowsIn;
+        final DistributionSummary rowsOut;
+        final DistributionSummary allocated;
+        
+        StageMeters(String query, String stage) {
+            timer = Timer.builder("baggage.pipeline.stage")
+                    .tag("query", query).tag("stage", stage)
+                    .register(meterRegistry);
+            rowsIn = DistributionSummary.builder("baggage.pipeline.rows")
+                    .tag("query", query).tag("stage", stage).tag("direction", "in")
+                    .register(meterRegistry);
+            rowsOut = DistributionSummary.builder("baggage.pipeline.rows")
+                    .tag("query", query).tag("stage", stage).tag("direction", "out")
+                    .register(meterRegistry);
+            allocated = DistributionSummary.builder("baggage.pipeline.allocated")
+                    .baseUnit("bytes")
+                    .tag("query", query).tag("stage", stage)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -186,6 +186,14 @@ public class Bag {
     @Column(name = "COMMODITY_TYPE", length = 5)
     private String commodityType;
     
+    // When the row was last inserted or updated, stamped by the database
+    @Column(name = "LAST_MODIFIED", insertable = false, updatable = false)
+    private LocalDateTime lastModified;
+    
+    // Special codes of exceptionTypes as ExceptionCodes bits, computed by the database
+    @Column(name = "EXCEPTION_MASK", insertable = false, updatable = false)
+    private Integer exceptionMask;
+    
     // Helper method to get bagtag
     public String getBagtag() {
         if (id != null) {
@@ -0,0 +1,89 @@
+package com.baggage.model;
+
+/**
+ * Bitmask encoding of the special TBAG.EXCEPTION_TYPES codes, as stored in
+ * the generated TBAG.EXCEPTION_MASK column (see schema.sql). Bits are ordered
+ * by classification precedence, weapon lowest and pet highest, so the
+ * baggage type of a mask is a plain range check:
+ *
+ *   mask >= PET                   pet
+ *   WHEELCHAIR_MIN <= mask < PET  wheelchair
+ *   mask == WEAP                  weapon
+ *   mask == 0                     not special
+ */
+public final class ExceptionCodes {
+    
+    public static final int WEAP = 1;
+    public static final int WCBD = 1 << 1;
+    public static final int WCBW = 1 << 2;
+    public static final int WCHC = 1 << 3;
+    public static final int WCHR = 1 << 4;
+    public static final int WCHS = 1 << 5;
+    public static final int WCLB = 1 << 6;
+    public static final int PET = 1 << 7;
+    
+    public static final int WHEELCHAIR_MIN = WCBD;
+    
+    private static final String[] CODES = {"WEAP", "WCBD", "WCBW", "WCHC", "WCHR", "WCHS", "WCLB", "PET"};
+    
+    private ExceptionCodes() {
+    }
+    
+    public static boolean isSpecial(int mask) {
+        return mask != 0;
+    }
+    
+    /**
+     * "pet", "wheelchair", "weapon" or null, with pet > wheelchair > weapon precedence.
+     */
+    public static String baggageType(int mask) {
+        if (mask >= PET) {
+            return "pet";
+        } else if (mask >= WHEELCHAIR_MIN) {
+            return "wheelchair";
+        } else if (mask == WEAP) {
+            return "weapon";
+        }
+        return null;
+    }
+    
+    /**
+     * Decodes a comma-separated code list in one pass without allocating.
+     * Codes are trimmed, unknown codes contribute nothing. Must stay in sync
+     * with the EXCEPTION_MASK expression in schema.sql.
+     */
+    public static int parse(String exceptionTypes) {
+        if (exceptionTypes == null) {
+            return 0;
+        }
+        int mask = 0;
+        int length = exceptionTypes.length();
+        int start = 0;
+        while (start <= length) {
+            int end = exceptionTypes.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            mask |= codeBit(exceptionTypes, start, end);
+            start = end + 1;
+        }
+        return mask;
+    }
+    
+    private static int codeBit(String exceptionTypes, int start, int end) {
+        while (start < end && exceptionTypes.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && exceptionTypes.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        for (int bit = 0; bit < CODES.length; bit++) {
+            String code = CODES[bit];
+            if (code.length() == length && exceptionTypes.regionMatches(start, code, 0, length)) {
+                return 1 << bit;
+            }
+        }
+        return 0;
+    }
+}
@@ -5,18 +5,24 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "TFLIGHT")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Flight.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flight {
     
+    // Second-level cache region, kept current by FlightCacheEvictor
+    public static final String CACHE_REGION = "flights";
+    
     @EmbeddedId
     private FlightId id;
     
@@ -89,6 +95,10 @@ public class Flight {
     @Column(name = "BEST_DEPARTURE_TIME_UTC")
     private LocalDateTime bestDepartureTimeUtc;
     
+    // Database-computed equivalent of getBestDepartureTime(), indexed for range queries
+    @Column(name = "EFFECTIVE_DEPARTURE_TIME", insertable = false, updatable = false)
+    private LocalDateTime effectiveDepartureTime;
+    
     // Helper method to get the best available departure time
     public LocalDateTime getBestDepartureTime() {
         if (actualTime != null) {
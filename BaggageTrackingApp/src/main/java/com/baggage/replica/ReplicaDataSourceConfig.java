@@ -0,0 +1,55 @@
+package com.baggage.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with a ReplicaRoutingDataSource
+ * over the primary (spring.datasource.*) and the configured read replicas.
+ *
+ * Not combined with station sharding: an instance with baggage.shards
+ * enabled is a network view that reads the station databases directly.
+ */
+@Configuration
+@ConditionalOnExpression("${baggage.replica.enabled:false} and !${baggage.shards.enabled:false}")
+public class ReplicaDataSourceConfig {
+    
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                 Clock clock, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica properties : replicaProperties.getReplicas()) {
+            String name = properties.getName() != null ? properties.getName() : "replica-" + (replicas.size() + 1);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(properties.getUrl())
+                    .username(properties.getUsername())
+                    .password(properties.getPassword())
+                    .build();
+            dataSource.setPoolName(name);
+            replicas.add(new ReplicaSet.Replica(name, dataSource));
+        }
+        return new ReplicaSet(primary, replicas, replicaProperties.getMaxLag(), clock, meterRegistry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaSet, meterRegistry));
+    }
+}
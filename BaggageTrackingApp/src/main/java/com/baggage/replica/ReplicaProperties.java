@@ -0,0 +1,33 @@
+package com.baggage.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.replica")
+public class ReplicaProperties {
+    
+    // Off by default: every read goes to the primary (spring.datasource.*)
+    private boolean enabled = false;
+    
+    // Read replicas of the primary, used round-robin
+    private List<Replica> replicas = new ArrayList<>();
+    
+    // Read-only transactions use a replica only while it is at most this far behind the primary
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    // How often the heartbeat is written to the primary and read back from the replicas
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,62 @@
+package com.baggage.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends connections of read-only transactions to a replica within the
+ * staleness bound and everything else to the primary. When no replica is
+ * fresh enough, or the chosen one cannot hand out a connection, the read
+ * falls back to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the JPA transaction
+ * manager takes its connection before it marks the transaction read-only, and
+ * the proxy defers that until the first statement.
+ *
+ * Publishes baggage.replica.reads per target (replica or primary) for
+ * read-only transactions.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    
+    private final ReplicaSet replicaSet;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    
+    public ReplicaRoutingDataSource(ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        this.replicaSet = replicaSet;
+        this.replicaReads = Counter.builder("baggage.replica.reads").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("baggage.replica.reads").tag("target", "primary").register(meterRegistry);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaSet.getPrimary().getConnection();
+        }
+        ReplicaSet.Replica replica = replicaSet.pickReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica {} is unavailable, reading from the primary", replica.getName(), e);
+                replicaSet.markUnavailable(replica);
+            }
+        }
+        primaryReads.increment();
+        return replicaSet.getPrimary().getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per database");
+    }
+}
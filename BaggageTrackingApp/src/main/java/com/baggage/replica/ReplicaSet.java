@@ -0,0 +1,146 @@
+package com.baggage.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary database and its read replicas, with how far behind each
+ * replica is.
+ *
+ * Lag is measured through TREPLICA_HEARTBEAT: every lag check writes the
+ * current time to the primary and reads back each replica's copy. Whatever a
+ * replica has replicated, it has at least everything committed before its
+ * heartbeat, so now minus that heartbeat bounds its staleness. The bound keeps
+ * growing when checks stop or fail, so a replica that cannot be read, or a
+ * primary that cannot be written, sends reads back to the primary without
+ * any extra bookkeeping.
+ *
+ * Publishes baggage.replica.lag per replica (seconds, NaN before its first
+ * heartbeat).
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+    
+    private static final String WRITE_HEARTBEAT =
+            "MERGE INTO TREPLICA_HEARTBEAT (ID, BEAT) KEY (ID) VALUES (1, ?)";
+    private static final String READ_HEARTBEAT = "SELECT BEAT FROM TREPLICA_HEARTBEAT WHERE ID = 1";
+    
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Clock clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    /**
+     * One read replica; heartbeat is the primary time it has caught up to.
+     */
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile LocalDateTime heartbeat;
+        
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+    }
+    
+    public ReplicaSet(HikariDataSource primary, List<Replica> replicas, Duration maxLag, Clock clock,
+                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.clock = clock;
+        for (Replica replica : this.replicas) {
+            Gauge.builder("baggage.replica.lag", replica, this::lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+    
+    public DataSource getPrimary() {
+        return primary;
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    /**
+     * The next replica within the staleness bound, or null when none is and
+     * the read has to go to the primary.
+     */
+    public Replica pickReplica() {
+        LocalDateTime oldestAllowed = LocalDateTime.now(clock).minus(maxLag);
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            LocalDateTime heartbeat = replica.heartbeat;
+            if (heartbeat != null && !heartbeat.isBefore(oldestAllowed)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+    
+    // A replica whose connections fail is not used again until a lag check reads it
+    public void markUnavailable(Replica replica) {
+        replica.heartbeat = null;
+    }
+    
+    @Scheduled(fixedDelayString = "${baggage.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        try {
+            new JdbcTemplate(primary).update(WRITE_HEARTBEAT, LocalDateTime.now(clock));
+        } catch (DataAccessException e) {
+            // The replicas' heartbeats age until the primary can be written again
+            log.warn("Could not write the replication heartbeat to the primary", e);
+        }
+        for (Replica replica : replicas) {
+            try {
+                List<LocalDateTime> beats = new JdbcTemplate(replica.dataSource)
+                        .queryForList(READ_HEARTBEAT, LocalDateTime.class);
+                replica.heartbeat = beats.isEmpty() ? null : beats.get(0);
+            } catch (DataAccessException e) {
+                log.warn("Could not read the replication heartbeat of replica {}", replica.name, e);
+                replica.heartbeat = null;
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+    
+    private double lagSeconds(Replica replica) {
+        LocalDateTime heartbeat = replica.heartbeat;
+        if (heartbeat == null) {
+            return Double.NaN;
+        }
+        return Duration.between(heartbeat, LocalDateTime.now(clock)).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,332 @@
+package com.baggage.repository;
+
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.index.BagtagDecoder;
+import com.baggage.model.Bag;
+import com.baggage.model.BagId;
+import com.baggage.model.Flight;
+import com.baggage.model.FlightId;
+import com.baggage.repository.projection.BagWithFlight;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import com.baggage.repository.projection.SpecialBaggageVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * TBAG_ARCHIVE/TFLIGHT_ARCHIVE, the tier departed days are moved to. The
+ * archive tables have no entities, so these are plain SQL: the special bag
+ * reads span both tiers (one UNION ALL, each branch on its own indexes) and
+ * return the same rows, in the same order, as the BagRepository queries.
+ * Bag tag lookups read the archive tables only and are merged with the hot
+ * rows by the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    private static final String SPECIAL_BAG_COLUMNS = "SELECT b.BT_SERIAL_NR, b.BT_AIRLINE_CODE_NR, " +
+            "b.ONINTER_PREFIX, b.DUPLICATE_NR, b.FLIGHT_NR, b.AIRLINE_CODE_NR, b.SUFFIX, b.FLIGHT_DEP_DATE, " +
+            "b.LEG_NR, b.SEAT, b.PAX_STATUS, b.EXCEPTION_MASK, b.LOADED_STATUS, b.LAST_MODIFIED, " +
+            "f.EFFECTIVE_DEPARTURE_TIME ";
+
+    private static final String SPECIAL_BAGGAGE_AGGREGATES = "SELECT COUNT(*) AS BAG_COUNT, " +
+            "MAX(b.LAST_MODIFIED) AS BAGS_MODIFIED, MAX(f.FMM_RECV_TIMESTAMP) AS FLIGHTS_MODIFIED ";
+
+    private static final String FLIGHT_VIEW_COLUMNS = "SELECT FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, " +
+            "LEG_NR, EFFECTIVE_DEPARTURE_TIME, STAND, FMM_RECV_TIMESTAMP ";
+
+    // BagRepository.DEPARTURE_ORDER over the columns of the union
+    private static final String DEPARTURE_ORDER = "ORDER BY EFFECTIVE_DEPARTURE_TIME, " +
+            "FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, " +
+            "ONINTER_PREFIX, BT_AIRLINE_CODE_NR, BT_SERIAL_NR, DUPLICATE_NR";
+
+    private static final String SPECIAL_BAGS_DEPARTING_BETWEEN =
+            SPECIAL_BAG_COLUMNS + departingBetween("TBAG", "TFLIGHT") +
+            "UNION ALL " + SPECIAL_BAG_COLUMNS + departingBetween("TBAG_ARCHIVE", "TFLIGHT_ARCHIVE") +
+            DEPARTURE_ORDER;
+
+    private static final String SPECIAL_BAGGAGE_VERSION =
+            "SELECT SUM(BAG_COUNT), MAX(BAGS_MODIFIED), MAX(FLIGHTS_MODIFIED) FROM (" +
+            SPECIAL_BAGGAGE_AGGREGATES + departingBetween("TBAG", "TFLIGHT") +
+            "UNION ALL " + SPECIAL_BAGGAGE_AGGREGATES + departingBetween("TBAG_ARCHIVE", "TFLIGHT_ARCHIVE") + ")";
+
+    // BagRepositoryImpl.KEYSET_COLUMNS as SQL columns
+    private static final String[] KEYSET_COLUMNS = {
+            "f.EFFECTIVE_DEPARTURE_TIME",
+            "f.FLIGHT_NR", "f.AIRLINE_CODE_NR", "f.SUFFIX", "f.FLIGHT_DEP_DATE", "f.LEG_NR",
+            "b.ONINTER_PREFIX", "b.BT_AIRLINE_CODE_NR", "b.BT_SERIAL_NR", "b.DUPLICATE_NR"
+    };
+
+    private static final String FLIGHT_KEY = "(FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR)";
+
+    // Column names follow the entity fields; the embedded ids are set from the key columns
+    private static final BeanPropertyRowMapper<Bag> BAG_COLUMNS = BeanPropertyRowMapper.newInstance(Bag.class);
+    private static final BeanPropertyRowMapper<Flight> FLIGHT_COLUMNS = BeanPropertyRowMapper.newInstance(Flight.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static String bagJoinFlight(String bagTable, String flightTable) {
+        return "FROM " + bagTable + " b JOIN " + flightTable + " f ON " +
+                "b.FLIGHT_NR = f.FLIGHT_NR AND b.AIRLINE_CODE_NR = f.AIRLINE_CODE_NR AND b.SUFFIX = f.SUFFIX " +
+                "AND b.FLIGHT_DEP_DATE = f.FLIGHT_DEP_DATE AND b.LEG_NR = f.LEG_NR ";
+    }
+
+    private static String departingBetween(String bagTable, String flightTable) {
+        return bagJoinFlight(bagTable, flightTable) +
+                "WHERE f.EFFECTIVE_DEPARTURE_TIME BETWEEN ? AND ? AND b.EXCEPTION_MASK > 0 ";
+    }
+
+    // BagRepository.findSpecialBagsDepartingBetween over both tiers
+    public List<SpecialBagView> findSpecialBagsDepartingBetween(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return jdbcTemplate.query(SPECIAL_BAGS_DEPARTING_BETWEEN, ArchiveRepository::specialBagView,
+                fromDateTime, toDateTime, fromDateTime, toDateTime);
+    }
+
+    // Cursor-backed variant; must be consumed inside a transaction and closed
+    public Stream<SpecialBagView> streamSpecialBagsDepartingBetween(LocalDateTime fromDateTime,
+                                                                    LocalDateTime toDateTime) {
+        return jdbcTemplate.queryForStream(SPECIAL_BAGS_DEPARTING_BETWEEN, ArchiveRepository::specialBagView,
+                fromDateTime, toDateTime, fromDateTime, toDateTime);
+    }
+
+    // BagRepository.findSpecialBaggageVersion over both tiers
+    public SpecialBaggageVersion findSpecialBaggageVersion(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return jdbcTemplate.queryForObject(SPECIAL_BAGGAGE_VERSION,
+                (rs, row) -> new SpecialBaggageVersion(rs.getLong(1), rs.getObject(2, LocalDateTime.class),
+                        rs.getObject(3, LocalDateTime.class)),
+                fromDateTime, toDateTime, fromDateTime, toDateTime);
+    }
+
+    /**
+     * BagRepository.findSpecialBags over both tiers: the same filters, cursor
+     * and limit, applied to the union in the same order.
+     */
+    public List<SpecialBagView> findSpecialBags(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit) {
+        List<Object> arguments = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SPECIAL_BAG_COLUMNS);
+        appendSpecialBags(sql, arguments, "TBAG", "TFLIGHT", filter, after);
+        sql.append("UNION ALL ").append(SPECIAL_BAG_COLUMNS);
+        appendSpecialBags(sql, arguments, "TBAG_ARCHIVE", "TFLIGHT_ARCHIVE", filter, after);
+        sql.append(DEPARTURE_ORDER);
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            arguments.add(limit);
+        }
+        return jdbcTemplate.query(sql.toString(), ArchiveRepository::specialBagView, arguments.toArray());
+    }
+
+    // Archived flights only; the hot ones come from FlightRepository
+    public List<FlightView> findArchivedFlightsDepartingBetween(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return jdbcTemplate.query(FLIGHT_VIEW_COLUMNS + "FROM TFLIGHT_ARCHIVE " +
+                        "WHERE EFFECTIVE_DEPARTURE_TIME BETWEEN ? AND ?",
+                ArchiveRepository::flightView, fromDateTime, toDateTime);
+    }
+
+    // FlightRepository.findFlightsByIdIn for archived flights
+    public List<FlightView> findArchivedFlightsByIdIn(Collection<FlightId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> arguments = new ArrayList<>();
+        String sql = FLIGHT_VIEW_COLUMNS + "FROM TFLIGHT_ARCHIVE WHERE " + flightKeyIn(ids, arguments);
+        return jdbcTemplate.query(sql, ArchiveRepository::flightView, arguments.toArray());
+    }
+
+    /**
+     * BagRepository.findBagsWithFlightByTag for archived bags. A day is moved
+     * with its flights, so the flight of an archived bag is archived as well.
+     */
+    public List<BagWithFlight> findArchivedBagsWithFlightByTag(long[] candidates, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder();
+        List<Object> arguments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append("UNION ALL ");
+            }
+            sql.append("SELECT * FROM TBAG_ARCHIVE WHERE ONINTER_PREFIX = ? AND BT_AIRLINE_CODE_NR = ? " +
+                    "AND BT_SERIAL_NR = ? ");
+            arguments.add(BagtagDecoder.oninterPrefix(candidates[i]));
+            arguments.add(BagtagDecoder.btAirlineCodeNr(candidates[i]));
+            arguments.add(BagtagDecoder.btSerialNr(candidates[i]));
+        }
+        List<Bag> bags = jdbcTemplate.query(sql.toString(), ArchiveRepository::bag, arguments.toArray());
+        if (bags.isEmpty()) {
+            return List.of();
+        }
+        
+        Set<FlightId> flightIds = bags.stream().map(bag -> flightId(bag.getId())).collect(Collectors.toSet());
+        arguments.clear();
+        Map<FlightId, Flight> flights = jdbcTemplate.query(
+                        "SELECT * FROM TFLIGHT_ARCHIVE WHERE " + flightKeyIn(flightIds, arguments),
+                        ArchiveRepository::flight, arguments.toArray())
+                .stream().collect(Collectors.toMap(Flight::getId, flight -> flight));
+        return bags.stream()
+                .map(bag -> new BagWithFlight(bag, flights.get(flightId(bag.getId()))))
+                .collect(Collectors.toList());
+    }
+
+    public LocalDateTime findLatestArchivedDeparture() {
+        return jdbcTemplate.queryForObject("SELECT MAX(EFFECTIVE_DEPARTURE_TIME) FROM TFLIGHT_ARCHIVE",
+                LocalDateTime.class);
+    }
+
+    // FLIGHT_DEP_DATE days before the given one that still have rows in TBAG or TFLIGHT, oldest first
+    public List<LocalDate> findHotDaysBefore(LocalDate day) {
+        return jdbcTemplate.queryForList("SELECT FLIGHT_DEP_DATE FROM TFLIGHT WHERE FLIGHT_DEP_DATE < ? " +
+                "UNION SELECT FLIGHT_DEP_DATE FROM TBAG WHERE FLIGHT_DEP_DATE < ? ORDER BY 1",
+                LocalDate.class, day, day);
+    }
+
+    public LocalDateTime findLatestDepartureOfDay(LocalDate day) {
+        return jdbcTemplate.queryForObject("SELECT MAX(EFFECTIVE_DEPARTURE_TIME) FROM TFLIGHT " +
+                "WHERE FLIGHT_DEP_DATE = ?", LocalDateTime.class, day);
+    }
+
+    /**
+     * Moves every TFLIGHT and TBAG row of the day to the archive in one
+     * transaction, so readers see the day in exactly one tier. Returns the
+     * number of bags moved.
+     */
+    @Transactional
+    public int archiveDay(LocalDate day) {
+        jdbcTemplate.update("INSERT INTO TFLIGHT_ARCHIVE SELECT * FROM TFLIGHT WHERE FLIGHT_DEP_DATE = ?", day);
+        int bags = jdbcTemplate.update("INSERT INTO TBAG_ARCHIVE SELECT * FROM TBAG WHERE FLIGHT_DEP_DATE = ?", day);
+        jdbcTemplate.update("DELETE FROM TBAG WHERE FLIGHT_DEP_DATE = ?", day);
+        jdbcTemplate.update("DELETE FROM TFLIGHT WHERE FLIGHT_DEP_DATE = ?", day);
+        return bags;
+    }
+
+    // The BagRepositoryImpl JPQL predicates, on the SQL columns of one tier
+    private static void appendSpecialBags(StringBuilder sql, List<Object> arguments, String bagTable,
+                                          String flightTable, SpecialBaggageFilter filter, SpecialBaggageCursor after) {
+        sql.append(bagJoinFlight(bagTable, flightTable))
+                .append("WHERE f.EFFECTIVE_DEPARTURE_TIME IS NOT NULL AND b.EXCEPTION_MASK > 0 ");
+        if (filter.getFromDateTime() != null) {
+            sql.append("AND f.EFFECTIVE_DEPARTURE_TIME >= ? ");
+            arguments.add(filter.getFromDateTime());
+        }
+        if (filter.getToDateTime() != null) {
+            sql.append("AND f.EFFECTIVE_DEPARTURE_TIME <= ? ");
+            arguments.add(filter.getToDateTime());
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getFlightStatus())) {
+            sql.append("Boarded".equalsIgnoreCase(filter.getFlightStatus())
+                    ? "AND TRIM(b.PAX_STATUS) = 'B' "
+                    : "AND (b.PAX_STATUS IS NULL OR TRIM(b.PAX_STATUS) <> 'B') ");
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getPassengerType())) {
+            sql.append("AND ").append(BagRepositoryImpl.passengerTypePredicate("b.EXCEPTION_MASK",
+                    filter.getPassengerType()));
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getBaggageStatus())) {
+            sql.append("Loaded".equalsIgnoreCase(filter.getBaggageStatus())
+                    ? "AND b.LOADED_STATUS >= 8 "
+                    : "AND (b.LOADED_STATUS IS NULL OR b.LOADED_STATUS < 8) ");
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getStand())) {
+            sql.append("AND TRIM(f.STAND) = ? ");
+            arguments.add(filter.getStand().trim());
+        }
+        if (filter.getFlightNumber() != null) {
+            sql.append("AND f.FLIGHT_NR = ? ");
+            arguments.add(filter.getFlightNumber());
+        }
+        if (after != null) {
+            appendKeysetPredicate(sql, arguments, after.values());
+        }
+    }
+
+    // BagRepositoryImpl.appendKeysetPredicate with positional parameters
+    private static void appendKeysetPredicate(StringBuilder sql, List<Object> arguments, Object[] values) {
+        sql.append("AND ").append(KEYSET_COLUMNS[0]).append(" >= ? AND (");
+        arguments.add(values[0]);
+        for (int i = 0; i < KEYSET_COLUMNS.length; i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append('(');
+            for (int j = 0; j < i; j++) {
+                sql.append(KEYSET_COLUMNS[j]).append(" = ? AND ");
+                arguments.add(parameter(values[j]));
+            }
+            sql.append(KEYSET_COLUMNS[i]).append(" > ?)");
+            arguments.add(parameter(values[i]));
+        }
+        sql.append(") ");
+    }
+
+    private static String flightKeyIn(Collection<FlightId> ids, List<Object> arguments) {
+        StringBuilder sql = new StringBuilder(FLIGHT_KEY).append(" IN (");
+        String separator = "";
+        for (FlightId id : ids) {
+            sql.append(separator).append("(?, ?, ?, ?, ?)");
+            separator = ", ";
+            arguments.add(id.getFlightNr());
+            arguments.add(id.getAirlineCodeNr());
+            arguments.add(String.valueOf(id.getSuffix()));
+            arguments.add(id.getFlightDepDate());
+            arguments.add(id.getLegNr());
+        }
+        return sql.append(')').toString();
+    }
+
+    // The driver binds a Character as an object, not as the CHAR(1) it is compared with
+    private static Object parameter(Object value) {
+        return value instanceof Character ? value.toString() : value;
+    }
+
+    private static FlightId flightId(BagId id) {
+        return new FlightId(id.getFlightNr(), id.getAirlineCodeNr(), id.getSuffix(), id.getFlightDepDate(),
+                id.getLegNr());
+    }
+
+    private static Bag bag(ResultSet rs, int row) throws SQLException {
+        Bag bag = BAG_COLUMNS.mapRow(rs, row);
+        bag.setId(new BagId(rs.getInt("BT_SERIAL_NR"), rs.getShort("BT_AIRLINE_CODE_NR"),
+                rs.getShort("ONINTER_PREFIX"), rs.getShort("DUPLICATE_NR"), rs.getShort("FLIGHT_NR"),
+                rs.getShort("AIRLINE_CODE_NR"), rs.getString("SUFFIX").charAt(0),
+                rs.getObject("FLIGHT_DEP_DATE", LocalDate.class), rs.getShort("LEG_NR")));
+        return bag;
+    }
+
+    private static Flight flight(ResultSet rs, int row) throws SQLException {
+        Flight flight = FLIGHT_COLUMNS.mapRow(rs, row);
+        flight.setId(new FlightId(rs.getShort("FLIGHT_NR"), rs.getShort("AIRLINE_CODE_NR"),
+                rs.getString("SUFFIX").charAt(0), rs.getObject("FLIGHT_DEP_DATE", LocalDate.class),
+                rs.getShort("LEG_NR")));
+        return flight;
+    }
+
+    private static FlightView flightView(ResultSet rs, int row) throws SQLException {
+        return new FlightView(rs.getShort(1), rs.getShort(2), rs.getString(3).charAt(0),
+                rs.getObject(4, LocalDate.class), rs.getShort(5), rs.getObject(6, LocalDateTime.class),
+                rs.getString(7), rs.getObject(8, LocalDateTime.class));
+    }
+
+    private static SpecialBagView specialBagView(ResultSet rs, int row) throws SQLException {
+        return new SpecialBagView(rs.getInt(1), rs.getShort(2), rs.getShort(3), rs.getShort(4), rs.getShort(5),
+                rs.getShort(6), rs.getString(7).charAt(0), rs.getObject(8, LocalDate.class), rs.getShort(9),
+                rs.getString(10), rs.getString(11), rs.getInt(12), rs.getObject(13, Integer.class),
+                rs.getObject(14, LocalDateTime.class));
+    }
+}
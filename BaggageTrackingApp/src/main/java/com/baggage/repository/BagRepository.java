@@ -2,21 +2,102 @@ package com.baggage.repository;
 
 import com.baggage.model.Bag;
 import com.baggage.model.BagId;
+import com.baggage.repository.projection.LoadBagView;
+import com.baggage.repository.projection.SpecialBagView;
+import com.baggage.repository.projection.SpecialBaggageVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface BagRepository extends JpaRepository<Bag, BagId> {
+public interface BagRepository extends JpaRepository<Bag, BagId>, BagRepositoryCustom {
     
-    @Query("SELECT b FROM Bag b JOIN Flight f ON " +
+    // LAST_MODIFIED is stamped when the writing transaction starts, so a row can commit after rows with later
+    // stamps were already read; "modified since" polls look back this far behind their high-water mark
+    Duration LAST_MODIFIED_LOOKBACK = Duration.ofSeconds(5);
+    
+    String SELECT_SPECIAL_BAG_VIEW = "SELECT new com.baggage.repository.projection.SpecialBagView(" +
+           "b.id.btSerialNr, b.id.btAirlineCodeNr, b.id.oninterPrefix, b.id.duplicateNr, " +
+           "b.id.flightNr, b.id.airlineCodeNr, b.id.suffix, b.id.flightDepDate, b.id.legNr, " +
+           "b.seat, b.paxStatus, b.exceptionMask, b.loadedStatus, b.lastModified) ";
+    
+    String SELECT_LOAD_BAG_VIEW = "SELECT new com.baggage.repository.projection.LoadBagView(" +
+           "b.id.btSerialNr, b.id.btAirlineCodeNr, b.id.oninterPrefix, b.id.duplicateNr, " +
+           "b.id.flightNr, b.id.airlineCodeNr, b.id.suffix, b.id.flightDepDate, b.id.legNr, " +
+           "b.loadDevice, b.unitPosition, b.bagWeight, b.loadedStatus, b.lastModified) ";
+    
+    String FROM_BAG_JOIN_FLIGHT = "FROM Bag b JOIN Flight f ON " +
            "b.id.flightNr = f.id.flightNr AND " +
            "b.id.airlineCodeNr = f.id.airlineCodeNr AND " +
            "b.id.suffix = f.id.suffix AND " +
            "b.id.flightDepDate = f.id.flightDepDate AND " +
-           "b.id.legNr = f.id.legNr " +
-           "ORDER BY f.scheduleTime ASC, f.estimatedTime ASC, f.actualTime ASC")
-    List<Bag> findAllBagsWithFlightInfoOrderByDepartureTime();
-} 
\ No newline at end of file
+           "b.id.legNr = f.id.legNr ";
+    
+    // Exact match on the special codes through the generated EXCEPTION_MASK column
+    String SPECIAL_EXCEPTION_TYPES = "b.exceptionMask > 0 ";
+    
+    // Best departure time, then TFLIGHT key, then bag tag; mirrored by SpecialBaggageCache
+    String DEPARTURE_ORDER = "ORDER BY f.effectiveDepartureTime ASC, " +
+           "f.id.flightNr ASC, f.id.airlineCodeNr ASC, f.id.suffix ASC, f.id.flightDepDate ASC, f.id.legNr ASC, " +
+           "b.id.oninterPrefix ASC, b.id.btAirlineCodeNr ASC, b.id.btSerialNr ASC, b.id.duplicateNr ASC";
+    
+    @Query(SELECT_SPECIAL_BAG_VIEW + FROM_BAG_JOIN_FLIGHT +
+           "WHERE f.effectiveDepartureTime BETWEEN :fromDateTime AND :toDateTime " +
+           "AND " + SPECIAL_EXCEPTION_TYPES + DEPARTURE_ORDER)
+    List<SpecialBagView> findSpecialBagsDepartingBetween(@Param("fromDateTime") LocalDateTime fromDateTime,
+                                                         @Param("toDateTime") LocalDateTime toDateTime);
+    
+    // Cursor-backed variant for streaming responses; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_SPECIAL_BAG_VIEW + FROM_BAG_JOIN_FLIGHT +
+           "WHERE f.effectiveDepartureTime BETWEEN :fromDateTime AND :toDateTime " +
+           "AND " + SPECIAL_EXCEPTION_TYPES + DEPARTURE_ORDER)
+    Stream<SpecialBagView> streamSpecialBagsDepartingBetween(@Param("fromDateTime") LocalDateTime fromDateTime,
+                                                             @Param("toDateTime") LocalDateTime toDateTime);
+    
+    // Reads only the join and indexes, no rows are materialized
+    @Query("SELECT new com.baggage.repository.projection.SpecialBaggageVersion(" +
+           "COUNT(b), MAX(b.lastModified), MAX(f.fmmRecvTimestamp)) " + FROM_BAG_JOIN_FLIGHT +
+           "WHERE f.effectiveDepartureTime BETWEEN :fromDateTime AND :toDateTime " +
+           "AND " + SPECIAL_EXCEPTION_TYPES)
+    SpecialBaggageVersion findSpecialBaggageVersion(@Param("fromDateTime") LocalDateTime fromDateTime,
+                                                    @Param("toDateTime") LocalDateTime toDateTime);
+    
+    // Without the special codes predicate: a bag whose code was cleared must come back so it can be removed
+    @Query(SELECT_SPECIAL_BAG_VIEW + FROM_BAG_JOIN_FLIGHT +
+           "WHERE b.lastModified > :since " +
+           "AND f.effectiveDepartureTime BETWEEN :fromDateTime AND :toDateTime")
+    List<SpecialBagView> findBagsModifiedSince(@Param("since") LocalDateTime since,
+                                               @Param("fromDateTime") LocalDateTime fromDateTime,
+                                               @Param("toDateTime") LocalDateTime toDateTime);
+    
+    @Query(SELECT_SPECIAL_BAG_VIEW + "FROM Bag b " +
+           "WHERE b.id.flightNr = :flightNr AND b.id.airlineCodeNr = :airlineCodeNr " +
+           "AND b.id.suffix = :suffix AND b.id.flightDepDate = :flightDepDate AND b.id.legNr = :legNr " +
+           "AND " + SPECIAL_EXCEPTION_TYPES)
+    List<SpecialBagView> findSpecialBagsOfFlight(@Param("flightNr") Short flightNr,
+                                                 @Param("airlineCodeNr") Short airlineCodeNr,
+                                                 @Param("suffix") Character suffix,
+                                                 @Param("flightDepDate") LocalDate flightDepDate,
+                                                 @Param("legNr") Short legNr);
+    
+    // Every bag of one operating day, for the load progress snapshot; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_LOAD_BAG_VIEW + "FROM Bag b WHERE b.id.flightDepDate = :flightDepDate")
+    Stream<LoadBagView> streamLoadBagsOfDay(@Param("flightDepDate") LocalDate flightDepDate);
+    
+    @Query(SELECT_LOAD_BAG_VIEW + "FROM Bag b " +
+           "WHERE b.id.flightDepDate = :flightDepDate AND b.lastModified > :since")
+    List<LoadBagView> findLoadBagsOfDayModifiedSince(@Param("flightDepDate") LocalDate flightDepDate,
+                                                     @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,23 @@
+package com.baggage.repository;
+
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.repository.projection.BagWithFlight;
+import com.baggage.repository.projection.SpecialBagView;
+
+import java.util.List;
+
+public interface BagRepositoryCustom {
+    
+    /**
+     * Special bags matching the filter in BagRepository.DEPARTURE_ORDER,
+     * starting strictly after the cursor (if any), at most limit rows (0 for all).
+     */
+    List<SpecialBagView> findSpecialBags(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit);
+    
+    /**
+     * Bags whose (ONINTER_PREFIX, BT_AIRLINE_CODE_NR, BT_SERIAL_NR) is one of
+     * the first count BagtagDecoder candidates, each with its flight.
+     */
+    List<BagWithFlight> findBagsWithFlightByTag(long[] candidates, int count);
+}
@@ -0,0 +1,148 @@
+package com.baggage.repository;
+
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.index.BagtagDecoder;
+import com.baggage.model.ExceptionCodes;
+import com.baggage.repository.projection.BagWithFlight;
+import com.baggage.repository.projection.SpecialBagView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the filtered, keyset-paged special baggage query. Only the filters
+ * that are set end up in the JPQL, so the database sees a plain predicate
+ * list instead of "(:param IS NULL OR ...)" chains.
+ */
+public class BagRepositoryImpl implements BagRepositoryCustom {
+    
+    // Ordering columns, in the sequence of BagRepository.DEPARTURE_ORDER and SpecialBaggageCursor.values()
+    private static final String[] KEYSET_COLUMNS = {
+            "f.effectiveDepartureTime",
+            "f.id.flightNr", "f.id.airlineCodeNr", "f.id.suffix", "f.id.flightDepDate", "f.id.legNr",
+            "b.id.oninterPrefix", "b.id.btAirlineCodeNr", "b.id.btSerialNr", "b.id.duplicateNr"
+    };
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<SpecialBagView> findSpecialBags(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(BagRepository.SELECT_SPECIAL_BAG_VIEW)
+                .append(BagRepository.FROM_BAG_JOIN_FLIGHT)
+                .append("WHERE f.effectiveDepartureTime IS NOT NULL ")
+                .append("AND ").append(BagRepository.SPECIAL_EXCEPTION_TYPES);
+        Map<String, Object> parameters = new HashMap<>();
+        
+        if (filter.getFromDateTime() != null) {
+            jpql.append("AND f.effectiveDepartureTime >= :fromDateTime ");
+            parameters.put("fromDateTime", filter.getFromDateTime());
+        }
+        if (filter.getToDateTime() != null) {
+            jpql.append("AND f.effectiveDepartureTime <= :toDateTime ");
+            parameters.put("toDateTime", filter.getToDateTime());
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getFlightStatus())) {
+            jpql.append("Boarded".equalsIgnoreCase(filter.getFlightStatus())
+                    ? "AND TRIM(b.paxStatus) = 'B' "
+                    : "AND (b.paxStatus IS NULL OR TRIM(b.paxStatus) <> 'B') ");
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getPassengerType())) {
+            jpql.append("AND ").append(passengerTypePredicate("b.exceptionMask", filter.getPassengerType()));
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getBaggageStatus())) {
+            jpql.append("Loaded".equalsIgnoreCase(filter.getBaggageStatus())
+                    ? "AND b.loadedStatus >= 8 "
+                    : "AND (b.loadedStatus IS NULL OR b.loadedStatus < 8) ");
+        }
+        if (SpecialBaggageFilter.isApplied(filter.getStand())) {
+            jpql.append("AND TRIM(f.stand) = :stand ");
+            parameters.put("stand", filter.getStand().trim());
+        }
+        if (filter.getFlightNumber() != null) {
+            jpql.append("AND f.id.flightNr = :flightNr ");
+            parameters.put("flightNr", filter.getFlightNumber());
+        }
+        if (after != null) {
+            appendKeysetPredicate(jpql, parameters, after.values());
+        }
+        jpql.append(BagRepository.DEPARTURE_ORDER);
+        
+        TypedQuery<SpecialBagView> query = entityManager.createQuery(jpql.toString(), SpecialBagView.class);
+        parameters.forEach(query::setParameter);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+    
+    // One UNION ALL branch per candidate: each is a seek on IDX_TBAG_BAGTAG, where an OR of the tuples is a scan
+    @Override
+    public List<BagWithFlight> findBagsWithFlightByTag(long[] candidates, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        StringBuilder jpql = new StringBuilder();
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                jpql.append("UNION ALL ");
+            }
+            jpql.append("SELECT new com.baggage.repository.projection.BagWithFlight(b, f) ")
+                    .append("FROM Bag b LEFT JOIN Flight f ON ")
+                    .append("b.id.flightNr = f.id.flightNr AND b.id.airlineCodeNr = f.id.airlineCodeNr AND ")
+                    .append("b.id.suffix = f.id.suffix AND b.id.flightDepDate = f.id.flightDepDate AND ")
+                    .append("b.id.legNr = f.id.legNr ")
+                    .append("WHERE b.id.oninterPrefix = :p").append(i)
+                    .append(" AND b.id.btAirlineCodeNr = :a").append(i)
+                    .append(" AND b.id.btSerialNr = :s").append(i).append(' ');
+            parameters.put("p" + i, BagtagDecoder.oninterPrefix(candidates[i]));
+            parameters.put("a" + i, BagtagDecoder.btAirlineCodeNr(candidates[i]));
+            parameters.put("s" + i, BagtagDecoder.btSerialNr(candidates[i]));
+        }
+        TypedQuery<BagWithFlight> query = entityManager.createQuery(jpql.toString(), BagWithFlight.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+    
+    /**
+     * Appends "row > cursor" in lexicographic form. The leading "departure >= k0"
+     * lets the database seek on the departure index instead of scanning.
+     */
+    private static void appendKeysetPredicate(StringBuilder jpql, Map<String, Object> parameters, Object[] values) {
+        jpql.append("AND ").append(KEYSET_COLUMNS[0]).append(" >= :k0 AND (");
+        for (int i = 0; i < KEYSET_COLUMNS.length; i++) {
+            parameters.put("k" + i, values[i]);
+            if (i > 0) {
+                jpql.append(" OR ");
+            }
+            jpql.append('(');
+            for (int j = 0; j < i; j++) {
+                jpql.append(KEYSET_COLUMNS[j]).append(" = :k").append(j).append(" AND ");
+            }
+            jpql.append(KEYSET_COLUMNS[i]).append(" > :k").append(i).append(')');
+        }
+        jpql.append(") ");
+    }
+    
+    // EXCEPTION_MASK bits are ordered by precedence, so each passenger type is a value range; also used
+    // by ArchiveRepository, with the SQL column
+    static String passengerTypePredicate(String exceptionMask, String passengerType) {
+        switch (passengerType.toLowerCase()) {
+            case "pet":
+                return exceptionMask + " >= " + ExceptionCodes.PET + " ";
+            case "wheelchair":
+                return exceptionMask + " >= " + ExceptionCodes.WHEELCHAIR_MIN
+                        + " AND " + exceptionMask + " < " + ExceptionCodes.PET + " ";
+            case "weapon":
+                return exceptionMask + " = " + ExceptionCodes.WEAP + " ";
+            default:
+                throw new IllegalArgumentException("Unknown passenger type: " + passengerType);
+        }
+    }
+}
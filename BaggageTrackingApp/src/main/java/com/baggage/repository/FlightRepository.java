@@ -2,9 +2,55 @@ package com.baggage.repository;
 
 import com.baggage.model.Flight;
 import com.baggage.model.FlightId;
+import com.baggage.repository.projection.FlightView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, FlightId> {
-} 
\ No newline at end of file
+    
+    // Query cache region of the cached flight queries, cleared by FlightCacheEvictor
+    String QUERY_CACHE_REGION = "flight-queries";
+    
+    String SELECT_FLIGHT_VIEW = "SELECT new com.baggage.repository.projection.FlightView(" +
+           "f.id.flightNr, f.id.airlineCodeNr, f.id.suffix, f.id.flightDepDate, f.id.legNr, " +
+           "f.effectiveDepartureTime, f.stand, f.fmmRecvTimestamp) ";
+    
+    @Query(SELECT_FLIGHT_VIEW + "FROM Flight f " +
+           "WHERE f.effectiveDepartureTime BETWEEN :fromDateTime AND :toDateTime")
+    List<FlightView> findFlightsDepartingBetween(@Param("fromDateTime") LocalDateTime fromDateTime,
+                                                 @Param("toDateTime") LocalDateTime toDateTime);
+    
+    // Same as findFlightsDepartingBetween, served from the query cache; for request windows, which repeat
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query(SELECT_FLIGHT_VIEW + "FROM Flight f " +
+           "WHERE f.effectiveDepartureTime BETWEEN :fromDateTime AND :toDateTime")
+    List<FlightView> findCachedFlightsDepartingBetween(@Param("fromDateTime") LocalDateTime fromDateTime,
+                                                       @Param("toDateTime") LocalDateTime toDateTime);
+    
+    // Never cached: this is how FMM updates are detected
+    @Query(SELECT_FLIGHT_VIEW + "FROM Flight f WHERE f.fmmRecvTimestamp > :since")
+    List<FlightView> findFlightsModifiedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT MAX(f.fmmRecvTimestamp) FROM Flight f")
+    LocalDateTime findLatestFmmRecvTimestamp();
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query(SELECT_FLIGHT_VIEW + "FROM Flight f WHERE f.id IN :ids")
+    List<FlightView> findFlightsByIdIn(@Param("ids") Collection<FlightId> ids);
+}
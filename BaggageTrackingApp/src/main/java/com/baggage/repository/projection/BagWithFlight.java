@@ -0,0 +1,15 @@
+package com.baggage.repository.projection;
+
+import com.baggage.model.Bag;
+import com.baggage.model.Flight;
+import lombok.Value;
+
+/**
+ * A TBAG row with its TFLIGHT row, read by one query. The flight is null
+ * when the bag references a flight that is not in TFLIGHT.
+ */
+@Value
+public class BagWithFlight {
+    Bag bag;
+    Flight flight;
+}
@@ -0,0 +1,22 @@
+package com.baggage.repository.projection;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the TFLIGHT columns needed to build a LoadingRecord.
+ * The departure time is the database-computed best departure time.
+ */
+@Value
+public class FlightView {
+    Short flightNr;
+    Short airlineCodeNr;
+    Character suffix;
+    LocalDate flightDepDate;
+    Short legNr;
+    LocalDateTime bestDepartureTime;
+    String stand;
+    LocalDateTime fmmRecvTimestamp;
+}
@@ -0,0 +1,28 @@
+package com.baggage.repository.projection;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the TBAG columns needed for load progress (any bag,
+ * special or not). Instantiated directly by JPQL constructor expressions.
+ */
+@Value
+public class LoadBagView {
+    Integer btSerialNr;
+    Short btAirlineCodeNr;
+    Short oninterPrefix;
+    Short duplicateNr;
+    Short flightNr;
+    Short airlineCodeNr;
+    Character suffix;
+    LocalDate flightDepDate;
+    Short legNr;
+    String loadDevice;
+    String unitPosition;
+    Float bagWeight;
+    Integer loadedStatus;
+    LocalDateTime lastModified;
+}
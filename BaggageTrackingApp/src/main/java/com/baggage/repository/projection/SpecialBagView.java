@@ -0,0 +1,39 @@
+package com.baggage.repository.projection;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the TBAG columns needed to build a LoadingRecord.
+ * Instantiated directly by JPQL constructor expressions, so no Bag entity is
+ * hydrated or tracked by the persistence context.
+ */
+@Value
+public class SpecialBagView {
+    Integer btSerialNr;
+    Short btAirlineCodeNr;
+    Short oninterPrefix;
+    Short duplicateNr;
+    Short flightNr;
+    Short airlineCodeNr;
+    Character suffix;
+    LocalDate flightDepDate;
+    Short legNr;
+    String seat;
+    String paxStatus;
+    int exceptionMask; // ExceptionCodes bits of TBAG.EXCEPTION_TYPES
+    Integer loadedStatus;
+    LocalDateTime lastModified;
+    
+    // Same format as Bag.getBagtag()
+    public String getBagtag() {
+        return String.format("%d%d%d", oninterPrefix, btAirlineCodeNr, btSerialNr);
+    }
+    
+    // Same rule as Bag.hasBoarded()
+    public boolean hasBoarded() {
+        return paxStatus != null && "B".equals(paxStatus.trim());
+    }
+}
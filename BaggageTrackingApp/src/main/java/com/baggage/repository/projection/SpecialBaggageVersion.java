@@ -0,0 +1,17 @@
+package com.baggage.repository.projection;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate over the special bags of a window: changes whenever a bag is
+ * added, removed or updated (LAST_MODIFIED, stamped on every write) or one
+ * of their flights receives a new FMM.
+ */
+@Value
+public class SpecialBaggageVersion {
+    Long bagCount;
+    LocalDateTime bagsModified;
+    LocalDateTime flightsModified;
+}
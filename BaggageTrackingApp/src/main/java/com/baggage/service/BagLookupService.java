@@ -0,0 +1,52 @@
+package com.baggage.service;
+
+import com.baggage.archive.ArchiveTier;
+import com.baggage.dto.BagDetails;
+import com.baggage.index.BagtagDecoder;
+import com.baggage.repository.ArchiveRepository;
+import com.baggage.repository.BagRepository;
+import com.baggage.repository.projection.BagWithFlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BagLookupService {
+    
+    private static final Comparator<BagWithFlight> BY_DEPARTURE = Comparator.comparing(
+            (BagWithFlight row) -> row.getFlight() != null ? row.getFlight().getBestDepartureTime() : null,
+            Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()));
+    
+    private final BagRepository bagRepository;
+    private final ArchiveRepository archiveRepository;
+    private final ArchiveTier archiveTier;
+    private final LoadingRecordMapper loadingRecordMapper;
+    
+    /**
+     * Every TBAG row carrying the scanned tag (one per leg and duplicate),
+     * with its flight, by departure. Tags are not bound to a window, so the
+     * archive tier is read as well once it holds anything. Empty for an
+     * unknown or malformed tag.
+     */
+    @Transactional(readOnly = true)
+    public List<BagDetails> findByBagtag(String bagtag) {
+        long[] candidates = new long[BagtagDecoder.MAX_CANDIDATES];
+        int count = BagtagDecoder.decode(bagtag, candidates);
+        List<BagWithFlight> rows = bagRepository.findBagsWithFlightByTag(candidates, count);
+        if (archiveTier.reaches(null)) {
+            rows = new ArrayList<>(rows);
+            rows.addAll(archiveRepository.findArchivedBagsWithFlightByTag(candidates, count));
+        }
+        return rows.stream()
+                .sorted(BY_DEPARTURE)
+                .map(row -> loadingRecordMapper.mapToBagDetails(row.getBag(), row.getFlight()))
+                .collect(Collectors.toList());
+    }
+}
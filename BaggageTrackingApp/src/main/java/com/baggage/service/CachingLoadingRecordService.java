@@ -0,0 +1,67 @@
+package com.baggage.service;
+
+import com.baggage.cache.SpecialBaggageCache;
+import com.baggage.dto.FlightBaggage;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.dto.SpecialBaggagePage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Answers windows inside the cached horizon from SpecialBaggageCache and
+ * falls back to the database read path for everything else, through
+ * CoalescingLoadingRecordService so that concurrent misses share reads.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "baggage.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachingLoadingRecordService implements LoadingRecordService {
+    
+    private final SpecialBaggageCache specialBaggageCache;
+    private final CoalescingLoadingRecordService coalescingLoadingRecordService;
+    
+    @Override
+    public List<LoadingRecord> getSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return specialBaggageCache.find(fromDateTime, toDateTime)
+                .orElseGet(() -> coalescingLoadingRecordService.getSpecialBaggageByDateRange(fromDateTime, toDateTime));
+    }
+    
+    @Override
+    public List<FlightBaggage> getSpecialBaggageByFlight(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return specialBaggageCache.findByFlight(fromDateTime, toDateTime)
+                .orElseGet(() -> coalescingLoadingRecordService.getSpecialBaggageByFlight(fromDateTime, toDateTime));
+    }
+    
+    @Override
+    public void streamSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                                                Consumer<LoadingRecord> consumer) {
+        Optional<List<LoadingRecord>> cached = specialBaggageCache.find(fromDateTime, toDateTime);
+        if (cached.isPresent()) {
+            cached.get().forEach(consumer);
+        } else {
+            coalescingLoadingRecordService.streamSpecialBaggageByDateRange(fromDateTime, toDateTime, consumer);
+        }
+    }
+    
+    @Override
+    public String getSpecialBaggageVersion(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return specialBaggageCache.version(fromDateTime, toDateTime)
+                .orElseGet(() -> coalescingLoadingRecordService.getSpecialBaggageVersion(fromDateTime, toDateTime));
+    }
+    
+    // Filtered and paged reads go straight to the database, where the filters are indexed
+    @Override
+    public SpecialBaggagePage findSpecialBaggage(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit) {
+        return coalescingLoadingRecordService.findSpecialBaggage(filter, after, limit);
+    }
+}
@@ -0,0 +1,156 @@
+package com.baggage.service;
+
+import com.baggage.dto.FlightBaggage;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.dto.SpecialBaggagePage;
+import com.baggage.model.FlightId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Priority;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Shares database reads between concurrent callers asking for the same
+ * window. Dashboards poll the same sliding window at the same moments, and
+ * without this every poll runs its own TBAG range scan.
+ *
+ * Windows are widened to aligned buckets (baggage.coalescing.bucket) before
+ * they are read, so windows that differ by seconds share one read; each
+ * caller then gets only the records of its own window, cut from the shared
+ * result by departure. Version checks are shared per exact window, since the
+ * window is part of the version. Streams and pages are passed through.
+ *
+ * Sits behind CachingLoadingRecordService, so only cache misses get here.
+ * Without the cache it is the service the controllers get: the @Priority
+ * makes it win over LoadingRecordServiceImpl, while a @Primary cache still
+ * wins over both.
+ *
+ * Publishes baggage.coalescing.requests and baggage.coalescing.loads per
+ * query (records or version); requests minus loads is the work saved.
+ */
+@Service
+@Priority(0)
+public class CoalescingLoadingRecordService implements LoadingRecordService {
+
+    private static final String RECORDS_QUERY = "records";
+    private static final String VERSION_QUERY = "version";
+
+    private final LoadingRecordServiceImpl loadingRecordServiceImpl;
+    private final LoadingRecordMapper loadingRecordMapper;
+    private final long bucketSeconds;
+    private final SingleFlight<Window, List<DepartingRecord>> sharedRecords = new SingleFlight<>();
+    private final SingleFlight<Window, String> sharedVersions = new SingleFlight<>();
+    private final Counter recordRequests;
+    private final Counter recordLoads;
+    private final Counter versionRequests;
+    private final Counter versionLoads;
+
+    private record Window(LocalDateTime from, LocalDateTime to) {
+    }
+
+    public CoalescingLoadingRecordService(LoadingRecordServiceImpl loadingRecordServiceImpl,
+                                          LoadingRecordMapper loadingRecordMapper,
+                                          CoalescingProperties properties,
+                                          MeterRegistry meterRegistry) {
+        this.loadingRecordServiceImpl = loadingRecordServiceImpl;
+        this.loadingRecordMapper = loadingRecordMapper;
+        this.bucketSeconds = properties.getBucket().toSeconds();
+        this.recordRequests = Counter.builder("baggage.coalescing.requests").tag("query", RECORDS_QUERY)
+                .register(meterRegistry);
+        this.recordLoads = Counter.builder("baggage.coalescing.loads").tag("query", RECORDS_QUERY)
+                .register(meterRegistry);
+        this.versionRequests = Counter.builder("baggage.coalescing.requests").tag("query", VERSION_QUERY)
+                .register(meterRegistry);
+        this.versionLoads = Counter.builder("baggage.coalescing.loads").tag("query", VERSION_QUERY)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<LoadingRecord> getSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        List<LoadingRecord> records = new ArrayList<>();
+        for (DepartingRecord departing : departingRecords(fromDateTime, toDateTime)) {
+            if (departsWithin(departing, fromDateTime, toDateTime)) {
+                records.add(departing.getRecord());
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public List<FlightBaggage> getSpecialBaggageByFlight(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        // Records of one flight leg are adjacent and share their FlightId, so a group ends where it changes
+        List<FlightBaggage> flights = new ArrayList<>();
+        FlightBaggage current = null;
+        FlightId currentFlight = null;
+        for (DepartingRecord departing : departingRecords(fromDateTime, toDateTime)) {
+            if (!departsWithin(departing, fromDateTime, toDateTime)) {
+                continue;
+            }
+            if (current == null || !departing.getFlight().equals(currentFlight)) {
+                current = loadingRecordMapper.toFlightBaggage(departing.getRecord());
+                currentFlight = departing.getFlight();
+                flights.add(current);
+            }
+            current.getBags().add(loadingRecordMapper.toBaggageEntry(departing.getRecord()));
+        }
+        return flights;
+    }
+
+    @Override
+    public void streamSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                                                Consumer<LoadingRecord> consumer) {
+        loadingRecordServiceImpl.streamSpecialBaggageByDateRange(fromDateTime, toDateTime, consumer);
+    }
+
+    @Override
+    public String getSpecialBaggageVersion(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        versionRequests.increment();
+        return sharedVersions.get(new Window(fromDateTime, toDateTime), () -> {
+            versionLoads.increment();
+            return loadingRecordServiceImpl.getSpecialBaggageVersion(fromDateTime, toDateTime);
+        });
+    }
+
+    @Override
+    public SpecialBaggagePage findSpecialBaggage(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit) {
+        return loadingRecordServiceImpl.findSpecialBaggage(filter, after, limit);
+    }
+
+    // The records of the bucket-aligned window around [from, to]; shared, so never modified
+    private List<DepartingRecord> departingRecords(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        Window bucket = new Window(floor(fromDateTime), ceil(toDateTime));
+        recordRequests.increment();
+        return sharedRecords.get(bucket, () -> {
+            recordLoads.increment();
+            return loadingRecordServiceImpl.getDepartingSpecialBaggage(bucket.from(), bucket.to());
+        });
+    }
+
+    // Inclusive on both ends, like the BETWEEN of the range query
+    private static boolean departsWithin(DepartingRecord departing, LocalDateTime fromDateTime,
+                                         LocalDateTime toDateTime) {
+        LocalDateTime departure = departing.getDeparture();
+        return departure != null && !departure.isBefore(fromDateTime) && !departure.isAfter(toDateTime);
+    }
+
+    private LocalDateTime floor(LocalDateTime dateTime) {
+        if (bucketSeconds <= 0) {
+            return dateTime;
+        }
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(seconds - Math.floorMod(seconds, bucketSeconds), 0, ZoneOffset.UTC);
+    }
+
+    private LocalDateTime ceil(LocalDateTime dateTime) {
+        LocalDateTime floor = floor(dateTime);
+        return floor.equals(dateTime) ? floor : floor.plusSeconds(bucketSeconds);
+    }
+}
@@ -0,0 +1,14 @@
+package com.baggage.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.coalescing")
+public class CoalescingProperties {
+    
+    // Windows are widened to multiples of this before they are read, so nearby windows share one read
+    private Duration bucket = Duration.ofMinutes(5);
+}
@@ -0,0 +1,19 @@
+package com.baggage.service;
+
+import com.baggage.dto.LoadingRecord;
+import com.baggage.model.FlightId;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A loading record with the best departure time and key of its flight leg,
+ * which the formatted record no longer carries. Records of one flight leg
+ * share the FlightId instance.
+ */
+@Value
+public class DepartingRecord {
+    LocalDateTime departure;
+    FlightId flight;
+    LoadingRecord record;
+}
@@ -0,0 +1,168 @@
+package com.baggage.service;
+
+import com.baggage.dto.BagDetails;
+import com.baggage.dto.BaggageEntry;
+import com.baggage.dto.FlightBaggage;
+import com.baggage.dto.FlightDetails;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.model.Bag;
+import com.baggage.model.ExceptionCodes;
+import com.baggage.model.Flight;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Turns bag/flight projections into LoadingRecords. Shared by the database
+ * read path and the in-memory special-baggage cache so both produce
+ * identical records.
+ */
+@Component
+public class LoadingRecordMapper {
+    
+    private static final DateTimeFormatter DEPARTURE_DATE_FORMATTER = 
+            DateTimeFormatter.ofPattern("dd/MMM HH:mm");
+    
+    // Exception codes arrive pre-decoded as an ExceptionCodes mask from TBAG.EXCEPTION_MASK
+    public boolean hasRelevantExceptionType(SpecialBagView bag) {
+        return ExceptionCodes.isSpecial(bag.getExceptionMask());
+    }
+    
+    public LoadingRecord mapToLoadingRecord(SpecialBagView bag, FlightView flight) {
+        return LoadingRecord.builder()
+                .flightNumber(String.valueOf(bag.getFlightNr()))
+                .seat(bag.getSeat())
+                .baggageType(determineBaggageType(bag.getExceptionMask()))
+                .status(loadedStatus(bag))
+                .hasBoarded(bag.hasBoarded())
+                .departureDateTime(formatDepartureDateTime(bag.getFlightDepDate(), flight))
+                .flightStand(flight != null ? flight.getStand() : null)
+                .bagtag(bag.getBagtag())
+                .build();
+    }
+    
+    // Flight fields only, formatted once per flight; any bag of the flight supplies the departure date
+    public FlightBaggage mapToFlightBaggage(SpecialBagView bag, FlightView flight) {
+        return FlightBaggage.builder()
+                .flightNumber(String.valueOf(bag.getFlightNr()))
+                .departureDateTime(formatDepartureDateTime(bag.getFlightDepDate(), flight))
+                .flightStand(flight != null ? flight.getStand() : null)
+                .build();
+    }
+    
+    public BaggageEntry mapToBaggageEntry(SpecialBagView bag) {
+        return BaggageEntry.builder()
+                .seat(bag.getSeat())
+                .baggageType(determineBaggageType(bag.getExceptionMask()))
+                .status(loadedStatus(bag))
+                .hasBoarded(bag.hasBoarded())
+                .bagtag(bag.getBagtag())
+                .build();
+    }
+    
+    // Splits an already mapped record, for callers that hold LoadingRecords rather than projections
+    public FlightBaggage toFlightBaggage(LoadingRecord record) {
+        return FlightBaggage.builder()
+                .flightNumber(record.getFlightNumber())
+                .departureDateTime(record.getDepartureDateTime())
+                .flightStand(record.getFlightStand())
+                .build();
+    }
+    
+    public BaggageEntry toBaggageEntry(LoadingRecord record) {
+        return BaggageEntry.builder()
+                .seat(record.getSeat())
+                .baggageType(record.getBaggageType())
+                .status(record.getStatus())
+                .hasBoarded(record.isHasBoarded())
+                .bagtag(record.getBagtag())
+                .build();
+    }
+    
+    // Any bag, special or not; flight may be null
+    public BagDetails mapToBagDetails(Bag bag, Flight flight) {
+        FlightDetails flightDetails = null;
+        if (flight != null) {
+            flightDetails = FlightDetails.builder()
+                    .flightNumber(String.valueOf(flight.getId().getFlightNr()))
+                    .airlineCodeNr(flight.getId().getAirlineCodeNr())
+                    .suffix(flight.getId().getSuffix())
+                    .flightDepDate(flight.getId().getFlightDepDate())
+                    .legNr(flight.getId().getLegNr())
+                    .legOrigin(flight.getLegOrigin())
+                    .legDestination(flight.getLegDestination())
+                    .departureDateTime(formatDepartureDateTime(bag.getId().getFlightDepDate(),
+                            flight.getBestDepartureTime()))
+                    .flightStand(flight.getStand())
+                    .gate(flight.getGate())
+                    .build();
+        }
+        return BagDetails.builder()
+                .bagtag(bag.getBagtag())
+                .duplicateNr(bag.getId().getDuplicateNr())
+                .seat(bag.getSeat())
+                .destination(bag.getDestination())
+                .exceptionTypes(bag.getExceptionTypes())
+                .baggageType(bag.getExceptionMask() != null ? determineBaggageType(bag.getExceptionMask()) : null)
+                .status(loadedStatus(bag.getLoadedStatus()))
+                .hasBoarded(bag.hasBoarded())
+                .timeBagLoaded(bag.getTimeBagLoaded())
+                .unitPosition(bag.getUnitPosition())
+                .lastKnownLocation(bag.getLastKnownLocation())
+                .lastKnownTimestampUtc(bag.getLastKnownTimestampUtc())
+                .flight(flightDetails)
+                .build();
+    }
+    
+    private static String loadedStatus(SpecialBagView bag) {
+        return loadedStatus(bag.getLoadedStatus());
+    }
+    
+    private static String loadedStatus(Integer loadedStatus) {
+        return isLoaded(loadedStatus) ? "loaded" : "not_loaded";
+    }
+    
+    // LOADED_STATUS 8 and up; shared with the load progress snapshot
+    public static boolean isLoaded(Integer loadedStatus) {
+        return loadedStatus != null && loadedStatus >= 8;
+    }
+    
+    private String determineBaggageType(int exceptionMask) {
+        return ExceptionCodes.baggageType(exceptionMask);
+    }
+    
+    private String formatDepartureDateTime(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        return dateTime.format(DEPARTURE_DATE_FORMATTER);
+    }
+    
+    // The "dd/MMM HH:mm" departure of a record: the bag's departure date at the flight's best departure time
+    public String formatDepartureDateTime(java.time.LocalDate date, FlightView flight) {
+        if (date == null || flight == null) {
+            return null;
+        }
+        return formatDepartureDateTime(date, flight.getBestDepartureTime());
+    }
+    
+    private String formatDepartureDateTime(java.time.LocalDate date, LocalDateTime bestTime) {
+        if (date == null || bestTime == null) {
+            return null;
+        }
+        
+        // Combine date from bag with time from flight
+        LocalDateTime combinedDateTime = LocalDateTime.of(
+                date.getYear(),
+                date.getMonth(),
+                date.getDayOfMonth(),
+                bestTime.getHour(),
+                bestTime.getMinute()
+        );
+        
+        return combinedDateTime.format(DEPARTURE_DATE_FORMATTER);
+    }
+}
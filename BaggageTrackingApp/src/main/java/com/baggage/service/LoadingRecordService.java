@@ -1,10 +1,28 @@
 package com.baggage.service;
 
+import com.baggage.dto.FlightBaggage;
 import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.dto.SpecialBaggagePage;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
  
 public interface LoadingRecordService {
     List<LoadingRecord> getSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime);
+    
+    // Same records grouped per flight leg, in the same order, with the flight fields stated once
+    List<FlightBaggage> getSpecialBaggageByFlight(LocalDateTime fromDateTime, LocalDateTime toDateTime);
+    
+    // Hands records to the consumer as they are read, without materializing the whole window
+    void streamSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                                         Consumer<LoadingRecord> consumer);
+    
+    // Opaque token that changes whenever the records of the window change; cheaper than reading them
+    String getSpecialBaggageVersion(LocalDateTime fromDateTime, LocalDateTime toDateTime);
+    
+    // Filters are evaluated in the query; pages continue strictly after the cursor (null for the first page)
+    SpecialBaggagePage findSpecialBaggage(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit);
 } 
\ No newline at end of file
@@ -1,199 +1,261 @@
 package com.baggage.service;
 
+import com.baggage.archive.ArchiveTier;
+import com.baggage.dto.FlightBaggage;
 import com.baggage.dto.LoadingRecord;
-import com.baggage.model.Bag;
-import com.baggage.model.Flight;
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.dto.SpecialBaggagePage;
+import com.baggage.index.FlightIndex;
+import com.baggage.index.FlightKeys;
+import com.baggage.metrics.SpecialBaggageMetrics;
+import com.baggage.model.FlightId;
+import com.baggage.repository.ArchiveRepository;
 import com.baggage.repository.BagRepository;
 import com.baggage.repository.FlightRepository;
+import com.baggage.repository.projection.FlightView;
+import com.baggage.repository.projection.SpecialBagView;
+import com.baggage.repository.projection.SpecialBaggageVersion;
+import com.baggage.shard.ShardContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.baggage.metrics.SpecialBaggageMetrics.*;
 
 @Service
 @RequiredArgsConstructor
 public class LoadingRecordServiceImpl implements LoadingRecordService {
 
+    // Query tags of the pipeline metrics
+    private static final String RANGE_QUERY = "range";
+    private static final String STREAM_QUERY = "stream";
+    private static final String PAGE_QUERY = "page";
+    private static final String GROUPED_QUERY = "grouped";
+
     private final BagRepository bagRepository;
     private final FlightRepository flightRepository;
-    
-    private static final DateTimeFormatter DEPARTURE_DATE_FORMATTER = 
-            DateTimeFormatter.ofPattern("dd/MMM HH:mm");
-    
-    private static final Set<String> WHEELCHAIR_CODES = Set.of(
-            "WCBD", "WCBW", "WCHC", "WCHR", "WCHS", "WCLB"
-    );
-    
-    private static final Set<String> VALID_EXCEPTION_TYPES = new HashSet<String>() {{
-        add("PET");
-        add("WEAP");
-        addAll(WHEELCHAIR_CODES);
-    }};
+    private final ArchiveRepository archiveRepository;
+    private final ArchiveTier archiveTier;
+    private final LoadingRecordMapper loadingRecordMapper;
+    private final SpecialBaggageMetrics metrics;
    
     @Override
+    @Transactional(readOnly = true)
     public List<LoadingRecord> getSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
-        List<Bag> bags = bagRepository.findAllBagsWithFlightInfoOrderByDepartureTime();
+        // Date range and exception-type filtering happen in the database
+        List<SpecialBagView> bags = metrics.stage(RANGE_QUERY, DB_FETCH, -1,
+                () -> specialBagsDepartingBetween(fromDateTime, toDateTime), List::size);
         
-        // Create a map to store flights by composite key for quick lookup
-        Map<String, Flight> flightMap = createFlightMap();
+        // Index flights by packed composite key for quick lookup
+        FlightIndex flightIndex = metrics.stage(RANGE_QUERY, FLIGHT_INDEX, -1,
+                () -> flightsDepartingBetween(fromDateTime, toDateTime),
+                FlightIndex::size);
         
-        return bags.stream()
-                .filter(this::hasRelevantExceptionType)  // Filter for special baggage types
-                .filter(bag -> isWithinDateRange(bag, flightMap, fromDateTime, toDateTime))  // Filter by date range
-                .map(bag -> mapToLoadingRecord(bag, flightMap))
-                .collect(Collectors.toList());
+        return toLoadingRecords(RANGE_QUERY, bags, flightIndex);
     }
     
-    private Map<String, Flight> createFlightMap() {
-        return flightRepository.findAll().stream()
-                .collect(Collectors.toMap(
-                        this::createFlightKey,
-                        flight -> flight
-                ));
+    /**
+     * The records of getSpecialBaggageByDateRange, in the same order, each with
+     * the departure and key of its flight leg so that callers can cut the list
+     * down to a narrower window or group it per flight without reading again.
+     */
+    @Transactional(readOnly = true)
+    public List<DepartingRecord> getDepartingSpecialBaggage(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        List<SpecialBagView> bags = metrics.stage(RANGE_QUERY, DB_FETCH, -1,
+                () -> specialBagsDepartingBetween(fromDateTime, toDateTime), List::size);
+        
+        FlightIndex flightIndex = metrics.stage(RANGE_QUERY, FLIGHT_INDEX, -1,
+                () -> flightsDepartingBetween(fromDateTime, toDateTime),
+                FlightIndex::size);
+        
+        List<SpecialBagView> specialBags = specialBags(RANGE_QUERY, bags);
+        
+        return metrics.stage(RANGE_QUERY, MAPPING, specialBags.size(), () -> {
+            List<DepartingRecord> records = new ArrayList<>(specialBags.size());
+            // DEPARTURE_ORDER keeps the bags of a flight leg adjacent, so they share one FlightId
+            FlightId flightId = null;
+            long currentKey = FlightKeys.NONE;
+            for (SpecialBagView bag : specialBags) {
+                long flightKey = flightIndex.keyOf(bag);
+                if (flightId == null || flightKey != currentKey) {
+                    flightId = new FlightId(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(),
+                            bag.getFlightDepDate(), bag.getLegNr());
+                    currentKey = flightKey;
+                }
+                FlightView flight = flightIndex.get(flightKey);
+                records.add(new DepartingRecord(flight != null ? flight.getBestDepartureTime() : null, flightId,
+                        loadingRecordMapper.mapToLoadingRecord(bag, flight)));
+            }
+            return records;
+        }, List::size);
     }
     
-    private String createFlightKey(Flight flight) {
-        return String.format("%d-%d-%s-%s-%d",
-                flight.getId().getFlightNr(),
-                flight.getId().getAirlineCodeNr(),
-                flight.getId().getSuffix(),
-                flight.getId().getFlightDepDate(),
-                flight.getId().getLegNr());
+    @Override
+    @Transactional(readOnly = true)
+    public List<FlightBaggage> getSpecialBaggageByFlight(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        List<SpecialBagView> bags = metrics.stage(GROUPED_QUERY, DB_FETCH, -1,
+                () -> specialBagsDepartingBetween(fromDateTime, toDateTime), List::size);
+        
+        FlightIndex flightIndex = metrics.stage(GROUPED_QUERY, FLIGHT_INDEX, -1,
+                () -> flightsDepartingBetween(fromDateTime, toDateTime),
+                FlightIndex::size);
+        
+        List<SpecialBagView> specialBags = specialBags(GROUPED_QUERY, bags);
+        
+        // DEPARTURE_ORDER keeps the bags of a flight leg adjacent, so a group ends where the flight key changes
+        return metrics.stage(GROUPED_QUERY, MAPPING, specialBags.size(), () -> {
+            List<FlightBaggage> flights = new ArrayList<>();
+            FlightBaggage current = null;
+            long currentKey = 0;
+            for (SpecialBagView bag : specialBags) {
+                long flightKey = flightIndex.keyOf(bag);
+                if (current == null || flightKey != currentKey) {
+                    current = loadingRecordMapper.mapToFlightBaggage(bag, flightIndex.get(flightKey));
+                    currentKey = flightKey;
+                    flights.add(current);
+                }
+                current.getBags().add(loadingRecordMapper.mapToBaggageEntry(bag));
+            }
+            return flights;
+        }, List::size);
     }
     
-    private String createBagFlightKey(Bag bag) {
-        return String.format("%d-%d-%s-%s-%d",
-                bag.getId().getFlightNr(),
-                bag.getId().getAirlineCodeNr(),
-                bag.getId().getSuffix(),
-                bag.getId().getFlightDepDate(),
-                bag.getId().getLegNr());
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                                                Consumer<LoadingRecord> consumer) {
+        FlightIndex flightIndex = metrics.stage(STREAM_QUERY, FLIGHT_INDEX, -1,
+                () -> flightsDepartingBetween(fromDateTime, toDateTime),
+                FlightIndex::size);
+        
+        // Fetch, filter and mapping interleave row by row here, so they are measured as one stage
+        metrics.stage(STREAM_QUERY, DB_FETCH, -1, () -> {
+            long[] written = {0};
+            try (Stream<SpecialBagView> bags = archiveTier.reaches(fromDateTime)
+                    ? archiveRepository.streamSpecialBagsDepartingBetween(fromDateTime, toDateTime)
+                    : bagRepository.streamSpecialBagsDepartingBetween(fromDateTime, toDateTime)) {
+                bags.filter(loadingRecordMapper::hasRelevantExceptionType)
+                        .map(bag -> loadingRecordMapper.mapToLoadingRecord(bag, flightIndex.get(bag)))
+                        .forEach(record -> {
+                            consumer.accept(record);
+                            written[0]++;
+                        });
+            }
+            return written[0];
+        }, Long::longValue);
     }
     
-    private LoadingRecord mapToLoadingRecord(Bag bag, Map<String, Flight> flightMap) {
-        String flightKey = createBagFlightKey(bag);
-        Flight flight = flightMap.get(flightKey);
-        
-        return LoadingRecord.builder()
-                .flightNumber(String.valueOf(bag.getId().getFlightNr()))
-                .seat(bag.getSeat())
-                .baggageType(determineBaggageType(bag.getExceptionTypes()))
-                .status(bag.getLoadedStatus() != null && bag.getLoadedStatus() >= 8 ? "loaded" : "not_loaded")
-                .hasBoarded(bag.hasBoarded())
-                .departureDateTime(formatDepartureDateTime(bag.getId().getFlightDepDate(), flight))
-                .flightStand(flight != null ? flight.getStand() : null)
-                .bagtag(bag.getBagtag())
-                .build();
+    @Override
+    @Transactional(readOnly = true)
+    public String getSpecialBaggageVersion(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        SpecialBaggageVersion version = archiveTier.reaches(fromDateTime)
+                ? archiveRepository.findSpecialBaggageVersion(fromDateTime, toDateTime)
+                : bagRepository.findSpecialBaggageVersion(fromDateTime, toDateTime);
+        // The window is part of the version: a sliding window can keep count and maxima while swapping rows
+        return String.join("-", "d", hex(fromDateTime), hex(toDateTime), Long.toHexString(version.getBagCount()),
+                hex(version.getBagsModified()), hex(version.getFlightsModified()));
     }
     
-    private String determineBaggageType(String exceptionTypes) {
-        if (exceptionTypes == null) {
-            return null;
-        }
-        
-        List<String> codes = Arrays.asList(exceptionTypes.split(","));
-        
-        if (codes.contains("PET")) {
-            return "pet";
-        } else if (codes.stream().anyMatch(WHEELCHAIR_CODES::contains)) {
-            return "wheelchair";
-        } else if (codes.contains("WEAP")) {
-            return "weapon";
-        }
-        
-        return null;
+    // Windows reaching the archive tier read both tiers; all others only TBAG/TFLIGHT
+    private List<SpecialBagView> specialBagsDepartingBetween(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return archiveTier.reaches(fromDateTime)
+                ? archiveRepository.findSpecialBagsDepartingBetween(fromDateTime, toDateTime)
+                : bagRepository.findSpecialBagsDepartingBetween(fromDateTime, toDateTime);
     }
     
-    private String formatDepartureDateTime(LocalDateTime dateTime) {
-        if (dateTime == null) {
-            return null;
+    private FlightIndex flightsDepartingBetween(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        // The query cache is not keyed by database, so reads routed to a station bypass it
+        List<FlightView> flights = ShardContext.current() == null
+                ? flightRepository.findCachedFlightsDepartingBetween(fromDateTime, toDateTime)
+                : flightRepository.findFlightsDepartingBetween(fromDateTime, toDateTime);
+        if (archiveTier.reaches(fromDateTime)) {
+            flights = new ArrayList<>(flights);
+            flights.addAll(archiveRepository.findArchivedFlightsDepartingBetween(fromDateTime, toDateTime));
         }
-        return dateTime.format(DEPARTURE_DATE_FORMATTER);
+        return FlightIndex.of(flights);
     }
     
-    private String formatDepartureDateTime(java.time.LocalDate date, Flight flight) {
-        if (date == null || flight == null) {
-            return null;
-        }
-        
-        LocalDateTime bestTime = flight.getBestDepartureTime();
-        if (bestTime == null) {
-            return null;
-        }
-        
-        // Combine date from bag with time from flight
-        LocalDateTime combinedDateTime = LocalDateTime.of(
-                date.getYear(),
-                date.getMonth(),
-                date.getDayOfMonth(),
-                bestTime.getHour(),
-                bestTime.getMinute()
-        );
-        
-        return combinedDateTime.format(DEPARTURE_DATE_FORMATTER);
+    private static String hex(LocalDateTime dateTime) {
+        return dateTime == null ? "0" : Long.toHexString(dateTime.toEpochSecond(ZoneOffset.UTC));
     }
     
-    private boolean filterRecord(LoadingRecord record, String flightStatus, String passengerType, String baggageStatus) {
-        // Apply flight status filter if not "All"
-        if (!"All".equalsIgnoreCase(flightStatus)) {
-            boolean shouldBeBoarded = "Boarded".equalsIgnoreCase(flightStatus);
-            if (record.isHasBoarded() != shouldBeBoarded) {
-                return false;
-            }
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public SpecialBaggagePage findSpecialBaggage(SpecialBaggageFilter filter, SpecialBaggageCursor after, int limit) {
+        // Same routing as the date range reads; a window without start reaches the archive once anything is in it
+        boolean archived = archiveTier.reaches(filter.getFromDateTime());
+        List<SpecialBagView> read = metrics.stage(PAGE_QUERY, DB_FETCH, -1,
+                () -> archived
+                        ? archiveRepository.findSpecialBags(filter, after, limit)
+                        : bagRepository.findSpecialBags(filter, after, limit),
+                List::size);
         
-        // Apply passenger type filter if not "All"
-        if (!"All".equalsIgnoreCase(passengerType)) {
-            String normalizedPassengerType = passengerType.toLowerCase();
-            if (record.getBaggageType() == null || !record.getBaggageType().equalsIgnoreCase(normalizedPassengerType)) {
-                return false;
+        // Only the flights of this page, at most one per row
+        FlightIndex flightIndex = metrics.stage(PAGE_QUERY, FLIGHT_INDEX, read.size(), () -> {
+            Set<FlightId> flightIds = read.stream()
+                    .map(bag -> new FlightId(bag.getFlightNr(), bag.getAirlineCodeNr(), bag.getSuffix(),
+                            bag.getFlightDepDate(), bag.getLegNr()))
+                    .collect(Collectors.toSet());
+            if (flightIds.isEmpty()) {
+                return FlightIndex.of(List.of());
             }
-        } else {
-            // Even if passengerType is "All", we still require a valid baggage type
-            if (record.getBaggageType() == null) {
-                return false;
+            List<FlightView> flights = new ArrayList<>(flightRepository.findFlightsByIdIn(flightIds));
+            if (archived) {
+                flights.addAll(archiveRepository.findArchivedFlightsByIdIn(flightIds));
             }
-        }
+            return FlightIndex.of(flights);
+        }, FlightIndex::size);
         
-        // Apply baggage status filter if not "All"
-        if (!"All".equalsIgnoreCase(baggageStatus)) {
-            String normalizedBaggageStatus = baggageStatus.equalsIgnoreCase("Loaded") ? "loaded" : "not_loaded";
-            if (!record.getStatus().equals(normalizedBaggageStatus)) {
-                return false;
+        // A flight moved to the archive between the two reads leaves its rows without a departure to continue
+        // from; the page then ends at the last row whose flight was found and the next one reads the rest again
+        List<SpecialBagView> bags = read;
+        if (limit > 0 && read.size() == limit) {
+            int end = read.size();
+            while (end > 0 && flightIndex.get(read.get(end - 1)) == null) {
+                end--;
             }
+            if (end == 0) {
+                throw new IllegalStateException("No flight of the page was found; it was archived while being read");
+            }
+            bags = read.subList(0, end);
         }
         
-        return true;
+        List<LoadingRecord> records = toLoadingRecords(PAGE_QUERY, bags, flightIndex);
+        
+        // The cursor follows the last row read, not the last one kept, so the Java-side code check never skips rows
+        String nextCursor = null;
+        if (limit > 0 && read.size() == limit) {
+            SpecialBagView last = bags.get(bags.size() - 1);
+            nextCursor = SpecialBaggageCursor.after(last, flightIndex.get(last).getBestDepartureTime())
+                    .encode();
+        }
+        return new SpecialBaggagePage(records, nextCursor);
     }
     
-    private boolean hasRelevantExceptionType(Bag bag) {
-        if (bag.getExceptionTypes() == null) {
-            return false;
-        }
-        
-        List<String> exceptionCodes = Arrays.asList(bag.getExceptionTypes().split(","));
+    private List<LoadingRecord> toLoadingRecords(String query, List<SpecialBagView> bags, FlightIndex flightIndex) {
+        List<SpecialBagView> specialBags = specialBags(query, bags);
         
-        return exceptionCodes.stream()
-                .anyMatch(code -> VALID_EXCEPTION_TYPES.contains(code.trim()));
+        return metrics.stage(query, MAPPING, specialBags.size(),
+                () -> specialBags.stream()
+                        .map(bag -> loadingRecordMapper.mapToLoadingRecord(bag, flightIndex.get(bag)))
+                        .collect(Collectors.toList()),
+                List::size);
     }
     
-    private boolean isWithinDateRange(Bag bag, Map<String, Flight> flightMap, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
-        String flightKey = createBagFlightKey(bag);
-        Flight flight = flightMap.get(flightKey);
-        
-        if (flight == null) {
-            return false;
-        }
-        
-        LocalDateTime flightDateTime = flight.getBestDepartureTime();
-        if (flightDateTime == null) {
-            return false;
-        }
-        
-        return (flightDateTime.isEqual(fromDateTime) || flightDateTime.isAfter(fromDateTime)) && 
-               (flightDateTime.isEqual(toDateTime) || flightDateTime.isBefore(toDateTime));
+    // Exact match on the special baggage codes
+    private List<SpecialBagView> specialBags(String query, List<SpecialBagView> bags) {
+        return metrics.stage(query, EXCEPTION_FILTER, bags.size(),
+                () -> bags.stream().filter(loadingRecordMapper::hasRelevantExceptionType).collect(Collectors.toList()),
+                List::size);
     }
-} 
\ No newline at end of file
+}
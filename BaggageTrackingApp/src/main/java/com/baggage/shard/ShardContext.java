@@ -0,0 +1,42 @@
+package com.baggage.shard;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * The station whose database the current thread reads, by LEG_ORIGIN.
+ * ShardRoutingDataSource hands out connections to that station's database;
+ * without a station they go to the local one. Connections are taken when a
+ * transaction starts, so the station must be set before that.
+ */
+public final class ShardContext {
+    
+    private static final ThreadLocal<String> STATION = new ThreadLocal<>();
+    
+    private ShardContext() {
+    }
+    
+    // Null when reading the local database
+    public static String current() {
+        return STATION.get();
+    }
+    
+    public static <T> T call(String station, Supplier<T> action) {
+        String previous = STATION.get();
+        STATION.set(stationOf(station));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                STATION.remove();
+            } else {
+                STATION.set(previous);
+            }
+        }
+    }
+    
+    // LEG_ORIGIN is a blank-padded CHAR(5)
+    public static String stationOf(String legOrigin) {
+        return legOrigin == null ? null : legOrigin.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.baggage.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a ShardRoutingDataSource over
+ * the local database (spring.datasource.*) and one pool per configured
+ * station. Everything that does not set a station keeps reading the local
+ * database, so single-hub behaviour is unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "baggage.shards", name = "enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+    
+    // Hikari's lower bound for the connection timeout
+    private static final long MIN_CONNECTION_TIMEOUT_MILLIS = 250;
+    
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                             ShardProperties shardProperties) {
+        Map<Object, Object> stations = new HashMap<>();
+        shardProperties.getStations().forEach((station, properties) -> {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(properties.getUrl())
+                    .username(properties.getUsername())
+                    .password(properties.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + ShardContext.stationOf(station));
+            // An unreachable station fails within the scatter-gather timeout rather than Hikari's 30 seconds
+            dataSource.setConnectionTimeout(Math.max(MIN_CONNECTION_TIMEOUT_MILLIS,
+                    shardProperties.getTimeout().toMillis()));
+            stations.put(ShardContext.stationOf(station), dataSource);
+        });
+        
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setDefaultTargetDataSource(dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build());
+        dataSource.setTargetDataSources(stations);
+        return dataSource;
+    }
+}
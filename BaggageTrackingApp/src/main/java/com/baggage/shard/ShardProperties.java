@@ -0,0 +1,29 @@
+package com.baggage.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "baggage.shards")
+public class ShardProperties {
+    
+    // Off by default: one instance per hub reads only its own database
+    private boolean enabled = false;
+    
+    // The per-station databases, keyed by the LEG_ORIGIN whose flights and bags they hold
+    private Map<String, Station> stations = new LinkedHashMap<>();
+    
+    // A station that has not answered by then is left out of the merged view
+    private Duration timeout = Duration.ofSeconds(2);
+    
+    @Data
+    public static class Station {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,35 @@
+package com.baggage.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes each connection to the database of the station in ShardContext, or
+ * to the local database when none is set. An unknown station fails instead
+ * of silently reading the local database.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    public ShardRoutingDataSource() {
+        setLenientFallback(false);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+    
+    @Override
+    public void close() throws Exception {
+        List<DataSource> dataSources = new ArrayList<>(getResolvedDataSources().values());
+        dataSources.add(getResolvedDefaultDataSource());
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
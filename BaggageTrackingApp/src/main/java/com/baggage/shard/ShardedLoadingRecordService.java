@@ -0,0 +1,175 @@
+package com.baggage.shard;
+
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.NetworkSpecialBaggage;
+import com.baggage.model.FlightId;
+import com.baggage.service.DepartingRecord;
+import com.baggage.service.LoadingRecordServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Network-wide getSpecialBaggageByDateRange: the same read runs against every
+ * station database in parallel and the per-station results, each already in
+ * departure order, are merged into one list in departure order.
+ *
+ * All stations share one deadline (baggage.shards.timeout); a station that
+ * has not answered or has failed by then is left out and reported, so one
+ * slow station cannot hold up the merged view.
+ *
+ * Station reads go through LoadingRecordServiceImpl and are routed to the
+ * archive tier by the local archive boundary, so stations are expected to
+ * archive on the same retention as this instance.
+ *
+ * Publishes baggage.shards.query (per station) and baggage.shards.requests
+ * per station and outcome (answered, timeout, failed).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "baggage.shards", name = "enabled", havingValue = "true")
+public class ShardedLoadingRecordService {
+    
+    // TFLIGHT primary key order, as in BagRepository.DEPARTURE_ORDER
+    private static final Comparator<FlightId> FLIGHT_ORDER = Comparator
+            .comparing(FlightId::getFlightNr)
+            .thenComparing(FlightId::getAirlineCodeNr)
+            .thenComparing(FlightId::getSuffix)
+            .thenComparing(FlightId::getFlightDepDate)
+            .thenComparing(FlightId::getLegNr);
+    
+    private static final Comparator<DepartingRecord> DEPARTURE_ORDER = Comparator
+            .comparing(DepartingRecord::getDeparture, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(DepartingRecord::getFlight, FLIGHT_ORDER);
+    
+    private final LoadingRecordServiceImpl loadingRecordServiceImpl;
+    private final Duration timeout;
+    private final Map<String, StationMeters> stations = new LinkedHashMap<>();
+    // Unbounded: a station stuck past its timeout must not keep the others from starting
+    private final ExecutorService scatter = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "shard-scatter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private record StationMeters(Timer query, Counter answered, Counter timedOut, Counter failed) {
+    }
+    
+    // One station's result, consumed from the front during the merge
+    private static final class Cursor {
+        private final List<DepartingRecord> records;
+        private int position;
+        
+        private Cursor(List<DepartingRecord> records) {
+            this.records = records;
+        }
+        
+        private DepartingRecord head() {
+            return records.get(position);
+        }
+    }
+    
+    public ShardedLoadingRecordService(LoadingRecordServiceImpl loadingRecordServiceImpl,
+                                       ShardProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.loadingRecordServiceImpl = loadingRecordServiceImpl;
+        this.timeout = properties.getTimeout();
+        for (String name : properties.getStations().keySet()) {
+            String station = ShardContext.stationOf(name);
+            stations.put(station, new StationMeters(
+                    Timer.builder("baggage.shards.query").tag("station", station).register(meterRegistry),
+                    requests(meterRegistry, station, "answered"),
+                    requests(meterRegistry, station, "timeout"),
+                    requests(meterRegistry, station, "failed")));
+        }
+    }
+    
+    public NetworkSpecialBaggage getSpecialBaggageByDateRange(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, Future<List<DepartingRecord>>> pending = new LinkedHashMap<>();
+        stations.forEach((station, meters) -> pending.put(station, scatter.submit(() ->
+                meters.query().record(() -> ShardContext.call(station,
+                        () -> loadingRecordServiceImpl.getDepartingSpecialBaggage(fromDateTime, toDateTime))))));
+        
+        List<List<DepartingRecord>> answered = new ArrayList<>();
+        List<String> unavailable = new ArrayList<>();
+        try {
+            for (Map.Entry<String, Future<List<DepartingRecord>>> entry : pending.entrySet()) {
+                StationMeters meters = stations.get(entry.getKey());
+                try {
+                    answered.add(entry.getValue().get(Math.max(0, deadline - System.nanoTime()),
+                            TimeUnit.NANOSECONDS));
+                    meters.answered().increment();
+                } catch (TimeoutException e) {
+                    log.warn("Station {} did not answer within {}", entry.getKey(), timeout);
+                    meters.timedOut().increment();
+                    unavailable.add(entry.getKey());
+                } catch (ExecutionException e) {
+                    log.warn("Station {} failed", entry.getKey(), e.getCause());
+                    meters.failed().increment();
+                    unavailable.add(entry.getKey());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while gathering station results", e);
+        } finally {
+            // Late stations are interrupted rather than left to finish for nobody
+            pending.values().forEach(future -> future.cancel(true));
+        }
+        return new NetworkSpecialBaggage(merge(answered), unavailable);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scatter.shutdownNow();
+    }
+    
+    // k-way merge; a flight leg lives in one station, so ties in DEPARTURE_ORDER never span stations
+    static List<LoadingRecord> merge(List<List<DepartingRecord>> stationResults) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, stationResults.size()),
+                Comparator.comparing(Cursor::head, DEPARTURE_ORDER));
+        int size = 0;
+        for (List<DepartingRecord> records : stationResults) {
+            if (!records.isEmpty()) {
+                heads.add(new Cursor(records));
+                size += records.size();
+            }
+        }
+        List<LoadingRecord> merged = new ArrayList<>(size);
+        while (!heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.head().getRecord());
+            if (++cursor.position < cursor.records.size()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+    
+    private static Counter requests(MeterRegistry meterRegistry, String station, String outcome) {
+        return Counter.builder("baggage.shards.requests")
+                .tag("station", station)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,118 @@
+package com.baggage.stream;
+
+import com.baggage.cache.SpecialBaggageCache;
+import com.baggage.cache.SpecialBaggageChangedEvent;
+import com.baggage.dto.LoadingRecordChange;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes special-baggage changes to Server-Sent Events subscribers.
+ *
+ * Each subscriber first receives a "snapshot" event with every record in its
+ * window, then "delta" events carrying only the records that changed in a
+ * cache refresh. Records whose departure moves out of the window are sent as
+ * removals.
+ *
+ * Fan-out runs on its own thread and only queues events: every subscriber
+ * has its own bounded queue drained by its own sender (see
+ * {@link SseSubscriber}), so a slow or stalled client delays nobody but
+ * itself. A subscriber whose queue overflows is closed; its EventSource
+ * reconnects and starts over from a fresh snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "baggage.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SpecialBaggageStreamService {
+    
+    private final SpecialBaggageCache specialBaggageCache;
+    private final SseSubscribers sseSubscribers;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService fanOut = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "special-baggage-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public SseEmitter subscribe(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        Subscription subscription = new Subscription(fromDateTime, toDateTime);
+        
+        // Register before taking the snapshot so no refresh can fall between the two
+        subscriptions.add(subscription);
+        
+        Optional<List<LoadingRecordChange>> snapshot = specialBaggageCache.snapshot(fromDateTime, toDateTime);
+        if (snapshot.isEmpty()) {
+            subscriptions.remove(subscription);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Window is outside the streamed horizon of the special baggage cache");
+        }
+        subscription.subscriber.start("snapshot", snapshot.get());
+        return subscription.subscriber.getEmitter();
+    }
+    
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+    
+    @EventListener
+    public void onSpecialBaggageChanged(SpecialBaggageChangedEvent event) {
+        fanOut.execute(() -> {
+            for (Subscription subscription : subscriptions) {
+                subscription.deliver(event.getChanges());
+            }
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.subscriber.getEmitter().complete());
+        subscriptions.clear();
+    }
+    
+    private class Subscription {
+        
+        private final SseSubscriber subscriber;
+        private final LocalDateTime fromDateTime;
+        private final LocalDateTime toDateTime;
+        
+        Subscription(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+            this.subscriber = sseSubscribers.open(closed -> subscriptions.remove(this));
+            this.fromDateTime = fromDateTime;
+            this.toDateTime = toDateTime;
+        }
+        
+        void deliver(List<LoadingRecordChange> changes) {
+            List<LoadingRecordChange> visible = new ArrayList<>();
+            for (LoadingRecordChange change : changes) {
+                if (isWithinWindow(change.getDeparture())) {
+                    visible.add(change);
+                } else if (isWithinWindow(change.getPreviousDeparture())) {
+                    visible.add(LoadingRecordChange.remove(change.getId(), change.getPreviousDeparture()));
+                }
+            }
+            if (!visible.isEmpty()) {
+                subscriber.send("delta", visible);
+            }
+        }
+        
+        private boolean isWithinWindow(LocalDateTime departure) {
+            return departure != null && !departure.isBefore(fromDateTime) && !departure.isAfter(toDateTime);
+        }
+    }
+}
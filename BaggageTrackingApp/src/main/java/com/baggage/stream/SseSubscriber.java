@@ -0,0 +1,126 @@
+package com.baggage.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * One Server-Sent Events subscriber with its own queue of events not yet
+ * sent, drained by at most one sender thread at a time.
+ *
+ * Events sent before {@link #start} are held back and follow its initial
+ * event, so a subscriber can be registered before its snapshot is taken.
+ * Queueing never touches the emitter and never blocks; a subscriber whose
+ * queue is full is closed, as is one whose connection fails. onClose runs
+ * whenever the subscriber is closed, possibly more than once.
+ */
+@Slf4j
+public class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final Executor senders;
+    private final int maxQueuedEvents;
+    private final Consumer<SseSubscriber> onClose;
+    // Events sent before start, queued after its initial event; guarded by this like the rest
+    private List<SseEmitter.SseEventBuilder> buffered = new ArrayList<>();
+    private final Queue<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+
+    SseSubscriber(SseEmitter emitter, Executor senders, int maxQueuedEvents, Consumer<SseSubscriber> onClose) {
+        this.emitter = emitter;
+        this.senders = senders;
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.onClose = onClose;
+        emitter.onCompletion(() -> onClose.accept(this));
+        emitter.onTimeout(() -> onClose.accept(this));
+        emitter.onError(error -> onClose.accept(this));
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public synchronized void start(String eventName, Object data) {
+        enqueue(event(eventName, data));
+        for (SseEmitter.SseEventBuilder event : buffered) {
+            enqueue(event);
+        }
+        buffered = null;
+    }
+
+    public synchronized void send(String eventName, Object data) {
+        if (buffered != null) {
+            buffered.add(event(eventName, data));
+        } else {
+            enqueue(event(eventName, data));
+        }
+    }
+
+    private void enqueue(SseEmitter.SseEventBuilder event) {
+        if (closed) {
+            return;
+        }
+        if (queue.size() >= maxQueuedEvents) {
+            log.debug("Closing stream subscriber that fell {} events behind", queue.size());
+            queue.clear();
+            closed = true;
+            onClose.accept(this);
+        } else {
+            queue.add(event);
+        }
+        drainLater();
+    }
+
+    private void drainLater() {
+        if (!draining) {
+            draining = true;
+            senders.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            boolean complete = false;
+            synchronized (this) {
+                event = queue.poll();
+                if (event == null) {
+                    draining = false;
+                    complete = closed;
+                }
+            }
+            if (event == null) {
+                if (complete) {
+                    emitter.complete();
+                }
+                return;
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping stream subscriber", e);
+                synchronized (this) {
+                    queue.clear();
+                    closed = true;
+                    draining = false;
+                }
+                onClose.accept(this);
+                emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(String eventName, Object data) {
+        return SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,47 @@
+package com.baggage.stream;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Opens {@link SseSubscriber}s for the Server-Sent Events streams and owns
+ * the sender threads they share, so a slow or stalled client delays nobody
+ * but itself.
+ */
+@Component
+public class SseSubscribers {
+
+    private final Duration emitterTimeout;
+    private final int maxQueuedEvents;
+    // Unbounded, so a subscriber stuck in a blocking write holds only its own thread
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sse-send");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SseSubscribers(@Value("${baggage.stream.timeout:PT30M}") Duration emitterTimeout,
+                          @Value("${baggage.stream.max-queued-events:100}") int maxQueuedEvents) {
+        this.emitterTimeout = emitterTimeout;
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    /**
+     * @param onClose run when the subscriber completes, times out, fails or falls too far behind
+     */
+    public SseSubscriber open(Consumer<SseSubscriber> onClose) {
+        return new SseSubscriber(new SseEmitter(emitterTimeout.toMillis()), senders, maxQueuedEvents, onClose);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+}
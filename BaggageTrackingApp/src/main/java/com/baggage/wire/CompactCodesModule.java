@@ -0,0 +1,70 @@
+package com.baggage.wire;
+
+import com.baggage.dto.BaggageEntry;
+import com.baggage.dto.LoadingRecord;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the enum-like strings of LoadingRecord and BaggageEntry as their
+ * index in a fixed dictionary. Only registered on the binary mappers; JSON
+ * keeps the strings. Values outside the dictionary are written unchanged.
+ */
+public class CompactCodesModule extends SimpleModule {
+    
+    // Wire codes are the list positions: append only
+    public static final List<String> BAGGAGE_TYPES = List.of("pet", "wheelchair", "weapon");
+    public static final List<String> STATUSES = List.of("not_loaded", "loaded");
+    
+    public CompactCodesModule() {
+        super("CompactCodesModule");
+        setMixInAnnotation(LoadingRecord.class, CodedFields.class);
+        setMixInAnnotation(BaggageEntry.class, CodedFields.class);
+    }
+    
+    abstract static class CodedFields {
+        @JsonSerialize(using = BaggageTypeSerializer.class)
+        abstract String getBaggageType();
+        
+        @JsonSerialize(using = StatusSerializer.class)
+        abstract String getStatus();
+    }
+    
+    static class BaggageTypeSerializer extends DictionarySerializer {
+        BaggageTypeSerializer() {
+            super(BAGGAGE_TYPES);
+        }
+    }
+    
+    static class StatusSerializer extends DictionarySerializer {
+        StatusSerializer() {
+            super(STATUSES);
+        }
+    }
+    
+    private abstract static class DictionarySerializer extends StdSerializer<String> {
+        
+        private final List<String> dictionary;
+        
+        DictionarySerializer(List<String> dictionary) {
+            super(String.class);
+            this.dictionary = dictionary;
+        }
+        
+        @Override
+        public void serialize(String value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            int code = dictionary.indexOf(value);
+            if (code >= 0) {
+                generator.writeNumber(code);
+            } else {
+                generator.writeString(value);
+            }
+        }
+    }
+}
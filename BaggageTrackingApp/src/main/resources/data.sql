@@ -1,473 +1,12 @@
--- Sample data for TFLIGHT table
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(101, 1, 'A', '2023-06-15', 1, '2023-06-15', 1, 'NYC', 'LAX', 'NYC', 'LAX', 'STD', 
- '2023-06-15 08:00:00', '2023-06-15 08:15:00', '2023-06-15 08:20:00', 'A12');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(202, 2, 'B', '2023-06-15', 1, '2023-06-15', 1, 'LAX', 'CHI', 'LAX', 'CHI', 'STD', 
- '2023-06-15 10:30:00', '2023-06-15 10:45:00', NULL, 'B05');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(303, 3, 'C', '2023-06-15', 1, '2023-06-15', 1, 'CHI', 'MIA', 'CHI', 'MIA', 'STD', 
- '2023-06-15 12:15:00', NULL, NULL, 'C08');
-
--- Additional flights for 2025-05-10
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(401, 4, 'A', '2025-05-10', 1, '2025-05-10', 1, 'JFK', 'SFO', 'JFK', 'SFO', 'STD', 
- '2025-05-10 06:00:00', '2025-05-10 06:15:00', '2025-05-10 06:20:00', 'D01');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(502, 5, 'B', '2025-05-10', 1, '2025-05-10', 1, 'SFO', 'DEN', 'SFO', 'DEN', 'STD', 
- '2025-05-10 08:30:00', '2025-05-10 08:45:00', '2025-05-10 09:00:00', 'E02');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(603, 6, 'C', '2025-05-10', 1, '2025-05-10', 1, 'DEN', 'ATL', 'DEN', 'ATL', 'STD', 
- '2025-05-10 11:15:00', '2025-05-10 11:20:00', '2025-05-10 11:30:00', 'F03');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(704, 7, 'D', '2025-05-10', 1, '2025-05-10', 1, 'ATL', 'MIA', 'ATL', 'MIA', 'STD', 
- '2025-05-10 14:00:00', '2025-05-10 14:10:00', '2025-05-10 14:15:00', 'G04');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(805, 8, 'E', '2025-05-10', 1, '2025-05-10', 1, 'MIA', 'BOS', 'MIA', 'BOS', 'STD', 
- '2025-05-10 16:45:00', '2025-05-10 17:00:00', '2025-05-10 17:05:00', 'H05');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(906, 9, 'F', '2025-05-10', 1, '2025-05-10', 1, 'BOS', 'ORD', 'BOS', 'ORD', 'STD', 
- '2025-05-10 19:30:00', '2025-05-10 19:35:00', '2025-05-10 19:40:00', 'I06');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(107, 10, 'G', '2025-05-10', 1, '2025-05-10', 1, 'ORD', 'SEA', 'ORD', 'SEA', 'STD', 
- '2025-05-10 21:15:00', '2025-05-10 21:20:00', '2025-05-10 21:25:00', 'J07');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(208, 11, 'H', '2025-05-10', 1, '2025-05-10', 1, 'SEA', 'LAX', 'SEA', 'LAX', 'STD', 
- '2025-05-10 23:00:00', '2025-05-10 23:10:00', '2025-05-10 23:15:00', 'K08');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(309, 12, 'I', '2025-05-10', 1, '2025-05-10', 1, 'LAX', 'PHX', 'LAX', 'PHX', 'STD', 
- '2025-05-10 23:55:00', '2025-05-11 00:00:00', '2025-05-11 00:05:00', 'L09');
-
--- Additional flights for 2025-05-11
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(410, 13, 'A', '2025-05-11', 1, '2025-05-11', 1, 'PHX', 'DFW', 'PHX', 'DFW', 'STD', 
- '2025-05-11 05:30:00', '2025-05-11 05:40:00', '2025-05-11 05:45:00', 'A10');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(511, 14, 'B', '2025-05-11', 1, '2025-05-11', 1, 'DFW', 'IAH', 'DFW', 'IAH', 'STD', 
- '2025-05-11 08:00:00', '2025-05-11 08:10:00', '2025-05-11 08:15:00', 'B11');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(612, 15, 'C', '2025-05-11', 1, '2025-05-11', 1, 'IAH', 'MSY', 'IAH', 'MSY', 'STD', 
- '2025-05-11 10:30:00', '2025-05-11 10:35:00', '2025-05-11 10:40:00', 'C12');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(713, 16, 'D', '2025-05-11', 1, '2025-05-11', 1, 'MSY', 'CLT', 'MSY', 'CLT', 'STD', 
- '2025-05-11 13:00:00', '2025-05-11 13:10:00', '2025-05-11 13:15:00', 'D13');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(814, 17, 'E', '2025-05-11', 1, '2025-05-11', 1, 'CLT', 'DTW', 'CLT', 'DTW', 'STD', 
- '2025-05-11 15:30:00', '2025-05-11 15:40:00', '2025-05-11 15:45:00', 'E14');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(915, 18, 'F', '2025-05-11', 1, '2025-05-11', 1, 'DTW', 'MSP', 'DTW', 'MSP', 'STD', 
- '2025-05-11 18:00:00', '2025-05-11 18:10:00', '2025-05-11 18:15:00', 'F15');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(116, 19, 'G', '2025-05-11', 1, '2025-05-11', 1, 'MSP', 'DEN', 'MSP', 'DEN', 'STD', 
- '2025-05-11 20:30:00', '2025-05-11 20:40:00', '2025-05-11 20:45:00', 'G16');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(217, 20, 'H', '2025-05-11', 1, '2025-05-11', 1, 'DEN', 'SLC', 'DEN', 'SLC', 'STD', 
- '2025-05-11 22:00:00', '2025-05-11 22:10:00', '2025-05-11 22:15:00', 'H17');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(318, 21, 'I', '2025-05-11', 1, '2025-05-11', 1, 'SLC', 'PDX', 'SLC', 'PDX', 'STD', 
- '2025-05-11 23:30:00', '2025-05-11 23:40:00', '2025-05-11 23:45:00', 'I18');
-
--- Additional flights for 2025-05-12
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(419, 22, 'A', '2025-05-12', 1, '2025-05-12', 1, 'PDX', 'SEA', 'PDX', 'SEA', 'STD', 
- '2025-05-12 06:00:00', '2025-05-12 06:10:00', '2025-05-12 06:15:00', 'J19');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(520, 23, 'B', '2025-05-12', 1, '2025-05-12', 1, 'SEA', 'SFO', 'SEA', 'SFO', 'STD', 
- '2025-05-12 08:30:00', '2025-05-12 08:40:00', '2025-05-12 08:45:00', 'K20');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(621, 24, 'C', '2025-05-12', 1, '2025-05-12', 1, 'SFO', 'LAX', 'SFO', 'LAX', 'STD', 
- '2025-05-12 11:00:00', '2025-05-12 11:10:00', '2025-05-12 11:15:00', 'L21');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(722, 25, 'D', '2025-05-12', 1, '2025-05-12', 1, 'LAX', 'LAS', 'LAX', 'LAS', 'STD', 
- '2025-05-12 13:30:00', '2025-05-12 13:40:00', '2025-05-12 13:45:00', 'M22');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(823, 26, 'E', '2025-05-12', 1, '2025-05-12', 1, 'LAS', 'PHX', 'LAS', 'PHX', 'STD', 
- '2025-05-12 16:00:00', '2025-05-12 16:10:00', '2025-05-12 16:15:00', 'N23');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(924, 27, 'F', '2025-05-12', 1, '2025-05-12', 1, 'PHX', 'DFW', 'PHX', 'DFW', 'STD', 
- '2025-05-12 18:30:00', '2025-05-12 18:40:00', '2025-05-12 18:45:00', 'O24');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(125, 28, 'G', '2025-05-12', 1, '2025-05-12', 1, 'DFW', 'IAH', 'DFW', 'IAH', 'STD', 
- '2025-05-12 20:00:00', '2025-05-12 20:10:00', '2025-05-12 20:15:00', 'P25');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(226, 29, 'H', '2025-05-12', 1, '2025-05-12', 1, 'IAH', 'ATL', 'IAH', 'ATL', 'STD', 
- '2025-05-12 21:30:00', '2025-05-12 21:40:00', '2025-05-12 21:45:00', 'Q26');
-
-INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS, 
-                    FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
-                    SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
-VALUES 
-(327, 30, 'I', '2025-05-12', 1, '2025-05-12', 1, 'ATL', 'MIA', 'ATL', 'MIA', 'STD', 
- '2025-05-12 23:00:00', '2025-05-12 23:10:00', '2025-05-12 23:15:00', 'R27');
-
--- Sample data for TBAG table with various baggage types
--- Pet baggage
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(1001, 1, 111, 1, 101, 1, 'A', '2023-06-15', 1, '2023-06-15', 'NYC', 1, 'CONTAINER01', 
- 1, 'A12', 'B', 'PET', 2);
-
--- Wheelchair baggage
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(2002, 2, 222, 1, 101, 1, 'A', '2023-06-15', 1, '2023-06-15', 'NYC', 2, 'CONTAINER01', 
- 1, 'B05', 'B', 'WCHR', 12);
-
--- Weapon baggage
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(3003, 3, 333, 1, 101, 1, 'A', '2023-06-15', 1, '2023-06-15', 'NYC', 3, 'CONTAINER01', 
- 1, 'C08', 'N', 'WEAP', 5);
-
--- Regular baggage
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(4004, 4, 444, 1, 202, 2, 'B', '2023-06-15', 1, '2023-06-15', 'LAX', 1, 'CONTAINER02', 
- 1, 'D15', 'B', NULL, 8);
-
--- Multiple exception types
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(5005, 5, 555, 1, 303, 3, 'C', '2023-06-15', 1, '2023-06-15', 'CHI', 1, 'CONTAINER03', 
- 1, 'E20', 'N', 'WCBD,FRAG', 3);
-
--- Additional TBAG records for 2025-05-10
--- Pet baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(6001, 6, 666, 1, 401, 4, 'A', '2025-05-10', 1, '2025-05-10', 'JFK', 1, 'CONTAINER04', 
- 1, 'A01', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(7002, 7, 777, 1, 502, 5, 'B', '2025-05-10', 1, '2025-05-10', 'SFO', 1, 'CONTAINER05', 
- 1, 'B02', 'B', 'WCHS', 12);
-
--- Weapon baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(8003, 8, 888, 1, 603, 6, 'C', '2025-05-10', 1, '2025-05-10', 'DEN', 1, 'CONTAINER06', 
- 1, 'C03', 'N', 'WEAP', 5);
-
--- Multiple exceptions for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(9004, 9, 999, 1, 704, 7, 'D', '2025-05-10', 1, '2025-05-10', 'ATL', 1, 'CONTAINER07', 
- 1, 'D04', 'B', 'PET,WEAP', 8);
-
--- Pet baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(10005, 10, 100, 1, 805, 8, 'E', '2025-05-10', 1, '2025-05-10', 'MIA', 1, 'CONTAINER08', 
- 1, 'E05', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(11006, 11, 110, 1, 906, 9, 'F', '2025-05-10', 1, '2025-05-10', 'BOS', 1, 'CONTAINER09', 
- 1, 'F06', 'N', 'WCHC', 7);
-
--- Weapon baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(12007, 12, 120, 1, 107, 10, 'G', '2025-05-10', 1, '2025-05-10', 'ORD', 1, 'CONTAINER10', 
- 1, 'G07', 'B', 'WEAP', 9);
-
--- Pet baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(13008, 13, 130, 1, 208, 11, 'H', '2025-05-10', 1, '2025-05-10', 'SEA', 1, 'CONTAINER11', 
- 1, 'H08', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-10
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(14009, 14, 140, 1, 309, 12, 'I', '2025-05-10', 1, '2025-05-10', 'LAX', 1, 'CONTAINER12', 
- 1, 'I09', 'N', 'WCBD', 4);
-
--- Additional TBAG records for 2025-05-11
--- Pet baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(15010, 15, 150, 1, 410, 13, 'A', '2025-05-11', 1, '2025-05-11', 'PHX', 1, 'CONTAINER13', 
- 1, 'A10', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(16011, 16, 160, 1, 511, 14, 'B', '2025-05-11', 1, '2025-05-11', 'DFW', 1, 'CONTAINER14', 
- 1, 'B11', 'B', 'WCHR', 12);
-
--- Weapon baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(17012, 17, 170, 1, 612, 15, 'C', '2025-05-11', 1, '2025-05-11', 'IAH', 1, 'CONTAINER15', 
- 1, 'C12', 'N', 'WEAP', 5);
-
--- Multiple exceptions for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(18013, 18, 180, 1, 713, 16, 'D', '2025-05-11', 1, '2025-05-11', 'MSY', 1, 'CONTAINER16', 
- 1, 'D13', 'B', 'WCHS,WEAP', 11);
-
--- Pet baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(19014, 19, 190, 1, 814, 17, 'E', '2025-05-11', 1, '2025-05-11', 'CLT', 1, 'CONTAINER17', 
- 1, 'E14', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(20015, 20, 200, 1, 915, 18, 'F', '2025-05-11', 1, '2025-05-11', 'DTW', 1, 'CONTAINER18', 
- 1, 'F15', 'N', 'WCLB', 6);
-
--- Weapon baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(21016, 21, 210, 1, 116, 19, 'G', '2025-05-11', 1, '2025-05-11', 'MSP', 1, 'CONTAINER19', 
- 1, 'G16', 'B', 'WEAP', 9);
-
--- Pet baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(22017, 22, 220, 1, 217, 20, 'H', '2025-05-11', 1, '2025-05-11', 'DEN', 1, 'CONTAINER20', 
- 1, 'H17', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-11
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(23018, 23, 230, 1, 318, 21, 'I', '2025-05-11', 1, '2025-05-11', 'SLC', 1, 'CONTAINER21', 
- 1, 'I18', 'N', 'WCBW', 4);
-
--- Additional TBAG records for 2025-05-12
--- Pet baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(24019, 24, 240, 1, 419, 22, 'A', '2025-05-12', 1, '2025-05-12', 'PDX', 1, 'CONTAINER22', 
- 1, 'A19', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(25020, 25, 250, 1, 520, 23, 'B', '2025-05-12', 1, '2025-05-12', 'SEA', 1, 'CONTAINER23', 
- 1, 'B20', 'B', 'WCHR', 12);
-
--- Weapon baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(26021, 26, 260, 1, 621, 24, 'C', '2025-05-12', 1, '2025-05-12', 'SFO', 1, 'CONTAINER24', 
- 1, 'C21', 'N', 'WEAP', 5);
-
--- Multiple exceptions for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(27022, 27, 270, 1, 722, 25, 'D', '2025-05-12', 1, '2025-05-12', 'LAX', 1, 'CONTAINER25', 
- 1, 'D22', 'B', 'PET,WCHR', 3);
-
--- Pet baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(28023, 28, 280, 1, 823, 26, 'E', '2025-05-12', 1, '2025-05-12', 'LAS', 1, 'CONTAINER26', 
- 1, 'E23', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(29024, 29, 290, 1, 924, 27, 'F', '2025-05-12', 1, '2025-05-12', 'PHX', 1, 'CONTAINER27', 
- 1, 'F24', 'N', 'WCHS', 6);
-
--- Weapon baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(30025, 30, 300, 1, 125, 28, 'G', '2025-05-12', 1, '2025-05-12', 'DFW', 1, 'CONTAINER28', 
- 1, 'G25', 'B', 'WEAP', 9);
-
--- Pet baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(31026, 31, 310, 1, 226, 29, 'H', '2025-05-12', 1, '2025-05-12', 'IAH', 1, 'CONTAINER29', 
- 1, 'H26', 'B', 'PET', 10);
-
--- Wheelchair baggage for 2025-05-12
-INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
-                 SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE,
-                 BAG_STATUS, SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
-VALUES 
-(32027, 32, 320, 1, 327, 30, 'I', '2025-05-12', 1, '2025-05-12', 'ATL', 1, 'CONTAINER30', 
- 1, 'I27', 'N', 'WCHC', 4); 
\ No newline at end of file
+-- Sample data, bulk-loaded from data/*.csv with one INSERT ... SELECT per table (empty fields are NULL).
+-- Edit the CSV files to change it; the header row names the columns.
+
+INSERT INTO TFLIGHT (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, NR_LEGS,
+                     FLIGHT_ORIGIN, FLIGHT_DESTINATION, LEG_ORIGIN, LEG_DESTINATION, LOAD_STRATEGY,
+                     SCHEDULE_TIME, ESTIMATED_TIME, ACTUAL_TIME, STAND)
+SELECT * FROM CSVREAD('classpath:data/tflight.csv', NULL, 'charset=UTF-8');
+
+INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX,
+                  FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, BAG_LEG_SEQ_NR, LOAD_DEVICE, BAG_STATUS,
+                  SEAT, PAX_STATUS, EXCEPTION_TYPES, LOADED_STATUS)
+SELECT * FROM CSVREAD('classpath:data/tbag.csv', NULL, 'charset=UTF-8');
@@ -65,6 +65,18 @@ CREATE TABLE TBAG
     UNIT_POSITION          CHAR(5),
     LOADED_STATUS          INTEGER,
     COMMODITY_TYPE         VARCHAR(5) DEFAULT '*',
+    -- Special exception codes as bits, see com.baggage.model.ExceptionCodes
+    EXCEPTION_MASK         INTEGER GENERATED ALWAYS AS (
+                               CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WEAP\s*(,|$)') THEN 1 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WCBD\s*(,|$)') THEN 2 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WCBW\s*(,|$)') THEN 4 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WCHC\s*(,|$)') THEN 8 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WCHR\s*(,|$)') THEN 16 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WCHS\s*(,|$)') THEN 32 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*WCLB\s*(,|$)') THEN 64 ELSE 0 END
+                               + CASE WHEN REGEXP_LIKE(EXCEPTION_TYPES, '(^|,)\s*PET\s*(,|$)') THEN 128 ELSE 0 END),
+    -- Stamped by the database on every insert and update of the row, whichever column changed
+    LAST_MODIFIED          TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP NOT NULL,
     PRIMARY KEY (
         BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX,
         DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
@@ -103,8 +115,65 @@ CREATE TABLE TFLIGHT
     FIDS_AIRCRAFT_TYPE     VARCHAR(5),
     AIRCRAFT_REGISTRATION  CHAR(12),
     BEST_DEPARTURE_TIME_UTC TIMESTAMP,
+    EFFECTIVE_DEPARTURE_TIME TIMESTAMP GENERATED ALWAYS AS (COALESCE(ACTUAL_TIME, ESTIMATED_TIME, SCHEDULE_TIME)),
     PRIMARY KEY (
         FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX,
         FLIGHT_DEP_DATE, LEG_NR
     )
-); 
\ No newline at end of file
+);
+
+-- Range scans on the best available departure time (actual, then estimated, then scheduled)
+CREATE INDEX IDX_TFLIGHT_EFFECTIVE_DEP ON TFLIGHT (EFFECTIVE_DEPARTURE_TIME);
+
+-- Join from a flight to its bags without scanning TBAG
+CREATE INDEX IDX_TBAG_FLIGHT ON TBAG (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR);
+
+-- High-water-mark scans for incremental cache refresh
+CREATE INDEX IDX_TBAG_LAST_MODIFIED ON TBAG (LAST_MODIFIED);
+CREATE INDEX IDX_TFLIGHT_FMM_RECV ON TFLIGHT (FMM_RECV_TIMESTAMP);
+
+-- Bag tag lookups (see BagtagDecoder)
+CREATE INDEX IDX_TBAG_BAGTAG ON TBAG (ONINTER_PREFIX, BT_AIRLINE_CODE_NR, BT_SERIAL_NR);
+
+-- Archive tier: days whose flights have departed, moved out of TBAG/TFLIGHT by BaggageArchiver.
+-- Same columns in the same order, the generated ones holding plain copies, so a day moves with INSERT ... SELECT *
+CREATE TABLE TBAG_ARCHIVE AS SELECT * FROM TBAG WITH NO DATA;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN BT_SERIAL_NR SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN BT_AIRLINE_CODE_NR SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN ONINTER_PREFIX SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN DUPLICATE_NR SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN FLIGHT_NR SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN AIRLINE_CODE_NR SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN SUFFIX SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN FLIGHT_DEP_DATE SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ALTER COLUMN LEG_NR SET NOT NULL;
+ALTER TABLE TBAG_ARCHIVE ADD PRIMARY KEY (
+    BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX,
+    DUPLICATE_NR, FLIGHT_NR, AIRLINE_CODE_NR,
+    SUFFIX, FLIGHT_DEP_DATE, LEG_NR
+);
+
+CREATE TABLE TFLIGHT_ARCHIVE AS SELECT * FROM TFLIGHT WITH NO DATA;
+ALTER TABLE TFLIGHT_ARCHIVE ALTER COLUMN FLIGHT_NR SET NOT NULL;
+ALTER TABLE TFLIGHT_ARCHIVE ALTER COLUMN AIRLINE_CODE_NR SET NOT NULL;
+ALTER TABLE TFLIGHT_ARCHIVE ALTER COLUMN SUFFIX SET NOT NULL;
+ALTER TABLE TFLIGHT_ARCHIVE ALTER COLUMN FLIGHT_DEP_DATE SET NOT NULL;
+ALTER TABLE TFLIGHT_ARCHIVE ALTER COLUMN LEG_NR SET NOT NULL;
+ALTER TABLE TFLIGHT_ARCHIVE ADD PRIMARY KEY (
+    FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX,
+    FLIGHT_DEP_DATE, LEG_NR
+);
+
+CREATE INDEX IDX_TFLIGHT_ARCHIVE_EFFECTIVE_DEP ON TFLIGHT_ARCHIVE (EFFECTIVE_DEPARTURE_TIME);
+CREATE INDEX IDX_TBAG_ARCHIVE_FLIGHT ON TBAG_ARCHIVE (FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR);
+
+-- Moving a day selects it by FLIGHT_DEP_DATE
+CREATE INDEX IDX_TBAG_FLIGHT_DEP_DATE ON TBAG (FLIGHT_DEP_DATE);
+CREATE INDEX IDX_TFLIGHT_FLIGHT_DEP_DATE ON TFLIGHT (FLIGHT_DEP_DATE);
+
+-- Replication heartbeat: written to the primary by ReplicaSet and read back from each read replica,
+-- whose copy of BEAT bounds how stale that replica is
+CREATE TABLE TREPLICA_HEARTBEAT (
+    ID    INT        NOT NULL PRIMARY KEY,
+    BEAT  TIMESTAMP  NOT NULL
+);
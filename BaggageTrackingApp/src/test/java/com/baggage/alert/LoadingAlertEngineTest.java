@@ -0,0 +1,141 @@
+package com.baggage.alert;
+
+import com.baggage.cache.SpecialBaggageChangedEvent;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.LoadingRecordChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadingAlertEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 5, 10, 10, 0);
+
+    private final MutableClock clock = new MutableClock();
+    private final List<BaggageAlertEvent> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoadingAlertEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        AlertProperties properties = new AlertProperties();
+        properties.setLeadTimes(List.of(Duration.ofMinutes(20), Duration.ofMinutes(10)));
+        engine = new LoadingAlertEngine(properties, clock, event -> events.add((BaggageAlertEvent) event),
+                meterRegistry);
+    }
+
+    @Test
+    public void testAlertsFollowLoadStatusAndDepartureChanges() {
+        LocalDateTime departure = START.plusMinutes(30);
+        engine.onSpecialBaggageChanged(new SpecialBaggageChangedEvent(List.of(
+                upsert("a", "not_loaded", departure),
+                upsert("b", "loaded", departure),
+                upsert("c", "not_loaded", START.plusMinutes(15)))));
+        // a: both lead times and the departure; c: its 10 minute lead time, the departure and the crossed 20
+        assertEquals(6, engine.getPendingDeadlines());
+        
+        advanceTo(START.plusSeconds(1));
+        assertEquals(List.of("c:20"), raised());
+        
+        // c is past its 10 minute deadline next, before a reaches its first one
+        advanceTo(START.plusMinutes(5));
+        assertEquals(List.of("c:20", "c:10"), raised());
+        advanceTo(START.plusMinutes(10).minusSeconds(1));
+        assertEquals(List.of("c:20", "c:10"), raised());
+        advanceTo(START.plusMinutes(10));
+        assertEquals(List.of("c:20", "c:10", "a:20"), raised());
+        
+        // Loaded: cleared, nothing left to fire for it
+        engine.onSpecialBaggageChanged(new SpecialBaggageChangedEvent(List.of(upsert("a", "loaded", departure))));
+        assertEquals("a", lastEvent().getAlert().getId());
+        assertTrue(lastEvent().isCleared());
+        
+        // Delayed well past both lead times: cleared, then raised again against the new departure
+        engine.onSpecialBaggageChanged(new SpecialBaggageChangedEvent(List.of(
+                upsert("c", "not_loaded", START.plusMinutes(60)))));
+        assertTrue(lastEvent().isCleared());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+        advanceTo(START.plusMinutes(40));
+        assertEquals(List.of("c:20", "c:10", "a:20", "c:20"), raised());
+        
+        // Departed unloaded: the alert ends with the flight
+        advanceTo(START.plusMinutes(60));
+        assertEquals(List.of("c:20", "c:10", "a:20", "c:20", "c:10"), raised());
+        assertTrue(lastEvent().isCleared());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+        assertEquals(0, engine.getPendingDeadlines());
+        assertEquals(5, meterRegistry.counter("baggage.alerts.raised").count());
+    }
+
+    @Test
+    public void testRemovedBagIsNoLongerTracked() {
+        engine.onSpecialBaggageChanged(new SpecialBaggageChangedEvent(List.of(
+                upsert("a", "not_loaded", START.plusMinutes(5)))));
+        advanceTo(START.plusSeconds(1));
+        assertEquals(1, engine.getActiveAlerts().size());
+        
+        engine.onSpecialBaggageChanged(new SpecialBaggageChangedEvent(List.of(
+                LoadingRecordChange.remove("a", START.plusMinutes(5)))));
+        
+        assertTrue(lastEvent().isCleared());
+        assertTrue(engine.getActiveAlerts().isEmpty());
+        assertEquals(0, engine.getPendingDeadlines());
+    }
+
+    private void advanceTo(LocalDateTime dateTime) {
+        clock.instant = dateTime.toInstant(ZoneOffset.UTC);
+        engine.tick();
+    }
+
+    private List<String> raised() {
+        return events.stream()
+                .filter(event -> !event.isCleared())
+                .map(event -> event.getAlert().getId() + ":" + event.getAlert().getMinutesBeforeDeparture())
+                .toList();
+    }
+
+    private BaggageAlertEvent lastEvent() {
+        return events.get(events.size() - 1);
+    }
+
+    private static LoadingRecordChange upsert(String id, String status, LocalDateTime departure) {
+        LoadingRecord record = LoadingRecord.builder()
+                .flightNumber("KL1234")
+                .baggageType("pet")
+                .status(status)
+                .bagtag(id)
+                .build();
+        return LoadingRecordChange.upsert(id, record, departure, null);
+    }
+
+    private class MutableClock extends Clock {
+
+        private Instant instant = START.toInstant(ZoneOffset.UTC);
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
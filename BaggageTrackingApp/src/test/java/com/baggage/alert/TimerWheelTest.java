@@ -0,0 +1,83 @@
+package com.baggage.alert;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    @Test
+    public void testEveryTimeoutFiresExactlyAtItsDeadline() {
+        long start = 1_000_003;
+        TimerWheel<Integer> wheel = new TimerWheel<>(start);
+        Random random = new Random(11);
+        List<TimerWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        
+        // Spread over every level, including deadlines past the top level's range
+        for (int i = 0; i < 50_000; i++) {
+            long delay = 1 + (long) (random.nextDouble() * random.nextDouble() * (1L << 25));
+            timeouts.add(wheel.schedule(start + delay, i));
+        }
+        List<TimerWheel.Timeout<Integer>> cancelled = new ArrayList<>();
+        for (int i = 0; i < timeouts.size(); i += 3) {
+            assertTrue(wheel.cancel(timeouts.get(i)));
+            assertFalse(wheel.cancel(timeouts.get(i)));
+            cancelled.add(timeouts.get(i));
+        }
+        assertEquals(timeouts.size() - cancelled.size(), wheel.size());
+        
+        Map<Integer, Long> firedAt = new HashMap<>();
+        while (wheel.size() > 0) {
+            long target = wheel.getCurrentTick() + 1 + random.nextInt(5_000);
+            wheel.advanceTo(target, timeout -> {
+                assertNull(firedAt.put(timeout.getPayload(), wheel.getCurrentTick()));
+                assertFalse(timeout.isPending());
+            });
+            assertEquals(target, wheel.getCurrentTick());
+        }
+        
+        assertEquals(timeouts.size() - cancelled.size(), firedAt.size());
+        for (TimerWheel.Timeout<Integer> timeout : timeouts) {
+            if (cancelled.contains(timeout)) {
+                assertFalse(firedAt.containsKey(timeout.getPayload()));
+            } else {
+                assertEquals(timeout.getDeadline(), firedAt.get(timeout.getPayload()));
+            }
+        }
+    }
+
+    @Test
+    public void testPastDeadlinesFireOnTheNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(100);
+        wheel.schedule(40, "late");
+        wheel.schedule(100, "now");
+        List<String> fired = new ArrayList<>();
+        
+        wheel.advanceTo(101, timeout -> fired.add(timeout.getPayload()));
+        
+        assertEquals(2, fired.size());
+        assertTrue(fired.containsAll(List.of("late", "now")));
+    }
+
+    @Test
+    public void testConsumerMayCancelTimeoutsOfTheSameTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(0);
+        TimerWheel.Timeout<String> first = wheel.schedule(5, "first");
+        TimerWheel.Timeout<String> second = wheel.schedule(5, "second");
+        List<String> fired = new ArrayList<>();
+        
+        wheel.advanceTo(10, timeout -> {
+            fired.add(timeout.getPayload());
+            wheel.cancel(timeout == first ? second : first);
+        });
+        
+        assertEquals(1, fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
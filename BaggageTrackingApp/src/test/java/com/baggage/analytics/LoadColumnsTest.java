@@ -0,0 +1,75 @@
+package com.baggage.analytics;
+
+import com.baggage.dto.LoadProgress;
+import com.baggage.repository.projection.LoadBagView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadColumnsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 11);
+
+    @Test
+    public void testSlicedAggregationMatchesSinglePass() {
+        // Threshold 1 slices every scan over the common pool (when it has more than one worker)
+        LoadColumns sequential = new LoadColumns(Integer.MAX_VALUE);
+        LoadColumns sliced = new LoadColumns(1);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            short flightNr = (short) (100 + random.nextInt(50));
+            LoadBagView bag = new LoadBagView(i, (short) 15, (short) 0, (short) 1, flightNr, (short) 13, 'A', DAY,
+                    (short) 1, "AKE" + random.nextInt(4), random.nextBoolean() ? "11L" : null,
+                    random.nextInt(4) == 0 ? null : (float) random.nextInt(40), random.nextInt(12), null);
+            sequential.upsert(bag);
+            sliced.upsert(bag);
+        }
+        for (LoadGrouping grouping : LoadGrouping.values()) {
+            assertEquals(sequential.aggregate(grouping, null), sliced.aggregate(grouping, null));
+            assertEquals(sequential.aggregate(grouping, (short) 120), sliced.aggregate(grouping, (short) 120));
+        }
+        assertEquals(50, sequential.aggregate(LoadGrouping.FLIGHT, null).size());
+        assertEquals(20_000, sequential.aggregate(LoadGrouping.FLIGHT, null).stream()
+                .mapToInt(LoadProgress::getBags).sum());
+    }
+
+    @Test
+    public void testUpsertUpdatesTheBagsRowInPlace() {
+        LoadColumns columns = new LoadColumns(Integer.MAX_VALUE);
+        columns.upsert(bag(1, "AKE1", 2, 10f));
+        columns.upsert(bag(2, "AKE1", 2, 12f));
+        // Bag 1 moves to another ULD and is loaded
+        columns.upsert(bag(1, "AKE2 ", 9, 10f));
+
+        assertEquals(2, columns.size());
+        List<LoadProgress> devices = columns.aggregate(LoadGrouping.LOAD_DEVICE, null);
+        assertEquals(2, devices.size());
+        assertEquals("AKE1", devices.get(0).getLoadDevice());
+        assertEquals(0, devices.get(0).getLoadedBags());
+        assertEquals("AKE2", devices.get(1).getLoadDevice());
+        assertEquals(100.0, devices.get(1).getPercentLoaded());
+        assertEquals(10.0, devices.get(1).getLoadedWeight());
+    }
+
+    @Test
+    public void testLegsOutsideThePackedKeyLayoutKeepTheFlightKeyOrder() {
+        LoadColumns columns = new LoadColumns(Integer.MAX_VALUE);
+        for (short legNr : new short[] {300, 2, 256, 1}) {
+            columns.upsert(new LoadBagView((int) legNr, (short) 15, (short) 0, (short) 1, (short) 410, (short) 13, 'A', DAY,
+                    legNr, "AKE1", null, 10f, 9, null));
+        }
+
+        assertEquals(List.of((short) 1, (short) 2, (short) 256, (short) 300),
+                columns.aggregate(LoadGrouping.FLIGHT, (short) 410).stream().map(LoadProgress::getLegNr).toList());
+        assertTrue(columns.aggregate(LoadGrouping.FLIGHT, (short) 411).isEmpty());
+    }
+
+    private static LoadBagView bag(int serialNr, String loadDevice, int loadedStatus, float weight) {
+        return new LoadBagView(serialNr, (short) 15, (short) 0, (short) 1, (short) 410, (short) 13, 'A', DAY,
+                (short) 1, loadDevice, null, weight, loadedStatus, null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.baggage.analytics;
+
+import com.baggage.dto.LoadProgress;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "baggage.load-snapshot.refresh-interval=PT1H")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class LoadProgressServiceTest {
+
+    private static final short FLIGHT = 410;
+
+    @TestConfiguration
+    static class FixedClockConfig {
+        @Bean
+        @Primary
+        public Clock fixedClock() {
+            return Clock.fixed(Instant.parse("2025-05-11T12:00:00Z"), ZoneOffset.UTC);
+        }
+    }
+
+    @Autowired
+    private LoadProgressService loadProgressService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testAggregatesTodayAndFollowsBagChanges() {
+        loadProgressService.refresh();
+        List<LoadProgress> flights = loadProgressService.getLoadProgress(LoadGrouping.FLIGHT, null).orElseThrow();
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT FLIGHT_NR) FROM TBAG " +
+                "WHERE FLIGHT_DEP_DATE = '2025-05-11'", Integer.class), flights.size());
+        assertTrue(flights.stream().allMatch(flight -> flight.getFlightDepDate().equals(LocalDate.of(2025, 5, 11))));
+
+        // Flight 410 has one loaded bag in CONTAINER13; add three and weigh them all, picked up incrementally
+        jdbcTemplate.update("UPDATE TBAG SET BAG_WEIGHT = 15, UNIT_POSITION = '11L', " +
+                "TIME_BSM_RECEIVED = '2025-05-11 11:00:00' WHERE BT_SERIAL_NR = 15010");
+        insertBag(15011, "CONTAINER13", "11L", 20.5f, 3);
+        insertBag(15012, "AKE12345AA", "12R", 18f, 9);
+        insertBag(15013, "AKE12345AA", "12R", 25f, 2);
+        loadProgressService.refresh();
+
+        LoadProgress flight = loadProgressService.getLoadProgress(LoadGrouping.FLIGHT, FLIGHT).orElseThrow().get(0);
+        assertEquals(4, flight.getBags());
+        assertEquals(2, flight.getLoadedBags());
+        assertEquals(78.5, flight.getWeight());
+        assertEquals(33.0, flight.getLoadedWeight());
+        assertEquals(50.0, flight.getPercentLoaded());
+
+        List<LoadProgress> devices = loadProgressService.getLoadProgress(LoadGrouping.LOAD_DEVICE, FLIGHT).orElseThrow();
+        assertEquals(List.of("AKE12345AA", "CONTAINER13"), devices.stream().map(LoadProgress::getLoadDevice).toList());
+        assertEquals(43.0, devices.get(0).getWeight());
+        assertEquals(35.5, devices.get(1).getWeight());
+
+        // Bag 15013 loaded: its ULD completes
+        jdbcTemplate.update("UPDATE TBAG SET LOADED_STATUS = 8, TIME_BAG_LOADED = '2025-05-11 11:30:00' " +
+                "WHERE BT_SERIAL_NR = 15013");
+        loadProgressService.refresh();
+        List<LoadProgress> positions = loadProgressService.getLoadProgress(LoadGrouping.UNIT_POSITION, FLIGHT)
+                .orElseThrow();
+        assertEquals(List.of("11L", "12R"), positions.stream().map(LoadProgress::getUnitPosition).toList());
+        assertEquals(50.0, positions.get(0).getPercentLoaded());
+        assertEquals(100.0, positions.get(1).getPercentLoaded());
+        assertEquals(2, positions.get(1).getLoadedBags());
+    }
+
+    private void insertBag(int serialNr, String loadDevice, String unitPosition, float weight, int loadedStatus) {
+        jdbcTemplate.update("INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, " +
+                "FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, " +
+                "BAG_LEG_SEQ_NR, LOAD_DEVICE, BAG_STATUS, UNIT_POSITION, BAG_WEIGHT, LOADED_STATUS, " +
+                "TIME_BSM_RECEIVED) VALUES (?, 15, 150, 1, 410, 13, 'A', '2025-05-11', 1, '2025-05-11', 'PHX', " +
+                "1, ?, 1, ?, ?, ?, '2025-05-11 11:00:00')", serialNr, loadDevice, unitPosition, weight, loadedStatus);
+    }
+}
@@ -0,0 +1,137 @@
+package com.baggage.archive;
+
+import com.baggage.dto.BagDetails;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.SpecialBaggageCursor;
+import com.baggage.dto.SpecialBaggageFilter;
+import com.baggage.dto.SpecialBaggagePage;
+import com.baggage.service.BagLookupService;
+import com.baggage.service.LoadingRecordServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BaggageArchiverTest {
+
+    // The 2023 sample days are past the retention, the 2025 ones are not
+    private static final LocalDateTime ARCHIVED_FROM = LocalDateTime.of(2023, 6, 15, 0, 0);
+    private static final LocalDateTime ARCHIVED_TO = LocalDateTime.of(2023, 6, 16, 0, 0);
+    private static final LocalDateTime HOT_FROM = LocalDateTime.of(2025, 5, 10, 0, 0);
+    private static final LocalDateTime HOT_TO = LocalDateTime.of(2025, 5, 13, 0, 0);
+
+    @TestConfiguration
+    static class FixedClockConfig {
+        @Bean
+        @Primary
+        public Clock fixedClock() {
+            return Clock.fixed(Instant.parse("2025-05-11T00:00:00Z"), ZoneOffset.UTC);
+        }
+    }
+
+    @Autowired
+    private BaggageArchiver baggageArchiver;
+
+    @Autowired
+    private ArchiveTier archiveTier;
+
+    @Autowired
+    private LoadingRecordServiceImpl loadingRecordServiceImpl;
+
+    @Autowired
+    private BagLookupService bagLookupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testPagedFilteredAndTagReadsCoverTheArchive() {
+        SpecialBaggageFilter archivedFlight = SpecialBaggageFilter.builder()
+                .fromDateTime(ARCHIVED_FROM).toDateTime(ARCHIVED_TO).flightNumber((short) 101).build();
+        SpecialBaggageFilter everything = SpecialBaggageFilter.builder().build();
+        List<LoadingRecord> filtered = loadingRecordServiceImpl.findSpecialBaggage(archivedFlight, null, 0).getRecords();
+        List<LoadingRecord> paged = readAllPages(everything);
+        String bagtag = filtered.get(0).getBagtag();
+        List<String> bags = describe(bagLookupService.findByBagtag(bagtag));
+        assertFalse(filtered.isEmpty());
+        assertFalse(bags.isEmpty());
+
+        baggageArchiver.archiveDepartedDays();
+
+        assertTrue(archiveTier.reaches(null));
+        assertEquals(filtered, loadingRecordServiceImpl.findSpecialBaggage(archivedFlight, null, 0).getRecords());
+        assertEquals(paged, readAllPages(everything));
+        assertEquals(bags, describe(bagLookupService.findByBagtag(bagtag)));
+    }
+
+    @Test
+    public void testMovesDepartedDaysAndStillServesThem() {
+        List<LoadingRecord> archivedWindow = loadingRecordServiceImpl.getSpecialBaggageByDateRange(ARCHIVED_FROM, ARCHIVED_TO);
+        String archivedVersion = loadingRecordServiceImpl.getSpecialBaggageVersion(ARCHIVED_FROM, ARCHIVED_TO);
+        List<LoadingRecord> hotWindow = loadingRecordServiceImpl.getSpecialBaggageByDateRange(HOT_FROM, HOT_TO);
+        assertFalse(archivedWindow.isEmpty());
+        assertFalse(archiveTier.reaches(ARCHIVED_FROM));
+
+        baggageArchiver.archiveDepartedDays();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM TBAG WHERE FLIGHT_DEP_DATE < DATE '2025-05-04'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM TFLIGHT WHERE FLIGHT_DEP_DATE < DATE '2025-05-04'"));
+        assertTrue(count("SELECT COUNT(*) FROM TBAG_ARCHIVE") > 0);
+        assertTrue(count("SELECT COUNT(*) FROM TBAG") > 0);
+
+        // Windows reaching the archive read both tiers, later ones only the hot tables
+        assertTrue(archiveTier.reaches(ARCHIVED_FROM));
+        assertFalse(archiveTier.reaches(HOT_FROM));
+        assertEquals(archivedWindow, loadingRecordServiceImpl.getSpecialBaggageByDateRange(ARCHIVED_FROM, ARCHIVED_TO));
+        assertEquals(archivedVersion, loadingRecordServiceImpl.getSpecialBaggageVersion(ARCHIVED_FROM, ARCHIVED_TO));
+        List<LoadingRecord> streamed = new ArrayList<>();
+        loadingRecordServiceImpl.streamSpecialBaggageByDateRange(ARCHIVED_FROM, ARCHIVED_TO, streamed::add);
+        assertEquals(archivedWindow, streamed);
+        assertEquals(hotWindow, loadingRecordServiceImpl.getSpecialBaggageByDateRange(HOT_FROM, HOT_TO));
+
+        // Nothing left to move
+        baggageArchiver.archiveDepartedDays();
+        assertEquals(archivedWindow, loadingRecordServiceImpl.getSpecialBaggageByDateRange(ARCHIVED_FROM, ARCHIVED_TO));
+    }
+
+    private List<LoadingRecord> readAllPages(SpecialBaggageFilter filter) {
+        List<LoadingRecord> records = new ArrayList<>();
+        SpecialBaggageCursor cursor = null;
+        do {
+            SpecialBaggagePage page = loadingRecordServiceImpl.findSpecialBaggage(filter, cursor, 2);
+            records.addAll(page.getRecords());
+            cursor = page.getNextCursor() != null ? SpecialBaggageCursor.decode(page.getNextCursor()) : null;
+        } while (cursor != null);
+        return records;
+    }
+
+    // CHAR columns come back padded or not depending on the query shape, so they are compared trimmed
+    private static List<String> describe(List<BagDetails> bags) {
+        return bags.stream()
+                .map(bag -> String.join("|", bag.getBagtag(), bag.getSeat().trim(), bag.getStatus(),
+                        bag.getFlight().getFlightNumber(), bag.getFlight().getDepartureDateTime(),
+                        bag.getFlight().getLegOrigin().trim(), bag.getFlight().getFlightStand().trim()))
+                .toList();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
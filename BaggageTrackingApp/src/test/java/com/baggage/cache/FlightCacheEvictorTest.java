@@ -0,0 +1,72 @@
+package com.baggage.cache;
+
+import com.baggage.dto.LoadingRecord;
+import com.baggage.service.LoadingRecordServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "baggage.flight-cache.eviction-interval=PT1H")
+@AutoConfigureTestDatabase
+@DirtiesContext
+public class FlightCacheEvictorTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 6, 15, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 6, 16, 0, 0);
+
+    @Autowired
+    private FlightCacheEvictor flightCacheEvictor;
+
+    @Autowired
+    private LoadingRecordServiceImpl loadingRecordServiceImpl;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+
+    @Test
+    public void testServesFlightsFromCacheUntilFmmUpdateArrives() {
+        flightCacheEvictor.evictUpdatedFlights();
+        loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO);
+        double hits = requests("hit");
+        assertEquals("A12", stand(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO)));
+        assertEquals(hits + 1, requests("hit"));
+
+        // Written behind Hibernate's back, as FMM does: the cached flights stay as they were
+        jdbcTemplate.update("UPDATE TFLIGHT SET STAND = 'Z99', FMM_RECV_TIMESTAMP = '2030-01-01 00:00:00' " +
+                "WHERE FLIGHT_NR = 101");
+        assertEquals("A12", stand(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO)));
+
+        flightCacheEvictor.evictUpdatedFlights();
+        assertEquals("Z99", stand(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO)));
+        assertEquals(1.0, meterRegistry.get("baggage.flight-cache.evictions").tag("reason", "fmm-update")
+                .counter().count());
+        assertTrue(meterRegistry.get("baggage.flight-cache.hit-ratio").tag("region", "flight-queries")
+                .gauge().value() > 0);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("baggage.flight-cache.requests")
+                .tags("region", "flight-queries", "result", result)
+                .functionCounter().count();
+    }
+
+    private static String stand(List<LoadingRecord> records) {
+        return records.stream()
+                .filter(record -> record.getFlightNumber().equals("101"))
+                .findFirst().orElseThrow()
+                .getFlightStand().trim();
+    }
+}
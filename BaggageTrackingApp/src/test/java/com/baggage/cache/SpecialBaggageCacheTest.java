@@ -0,0 +1,150 @@
+package com.baggage.cache;
+
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.LoadingRecordChange;
+import com.baggage.service.LoadingRecordServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "baggage.cache.refresh-interval=PT1H")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SpecialBaggageCacheTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 5, 10, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 5, 12, 0, 0);
+
+    @TestConfiguration
+    static class FixedClockConfig {
+        @Bean
+        @Primary
+        public Clock fixedClock() {
+            return Clock.fixed(Instant.parse("2025-05-11T00:00:00Z"), ZoneOffset.UTC);
+        }
+
+        // From any thread: the startup refresh runs on the scheduler and may be the one that sees a change
+        @Bean
+        public List<LoadingRecordChange> publishedChanges() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @EventListener
+        public void onChanged(SpecialBaggageChangedEvent event) {
+            publishedChanges().addAll(event.getChanges());
+        }
+    }
+
+    @Autowired
+    private SpecialBaggageCache specialBaggageCache;
+
+    @Autowired
+    private LoadingRecordServiceImpl loadingRecordServiceImpl;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private List<LoadingRecordChange> publishedChanges;
+
+    @Test
+    public void testMatchesDatabaseInsideHorizonAndMissesOutside() {
+        specialBaggageCache.refresh();
+
+        List<LoadingRecord> cached = specialBaggageCache.find(FROM, TO).orElseThrow();
+        assertFalse(cached.isEmpty());
+        assertEquals(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO), cached);
+        assertTrue(specialBaggageCache.find(FROM.minusDays(2), TO).isEmpty());
+        assertEquals(loadingRecordServiceImpl.getSpecialBaggageByFlight(FROM, TO),
+                specialBaggageCache.findByFlight(FROM, TO).orElseThrow());
+    }
+
+    @Test
+    public void testDashboardWindowIsServedFromTheCache() {
+        specialBaggageCache.refresh();
+
+        // The dashboard's default window, truncated to the minute, from a client clock two minutes behind ours
+        LocalDateTime clientNow = LocalDateTime.of(2025, 5, 10, 23, 58, 59);
+        LocalDateTime from = clientNow.minusHours(24).truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime to = clientNow.plusHours(24).truncatedTo(ChronoUnit.MINUTES);
+
+        assertTrue(specialBaggageCache.find(from, to).isPresent());
+        assertTrue(specialBaggageCache.snapshot(from, to).isPresent());
+    }
+
+    @Test
+    public void testAppliesBagAndFlightChangesIncrementally() {
+        specialBaggageCache.refresh();
+        String cachedVersion = specialBaggageCache.version(FROM, TO.plusDays(1)).orElseThrow();
+        String databaseVersion = loadingRecordServiceImpl.getSpecialBaggageVersion(FROM, TO.plusDays(1));
+        // The two versions are different schemes; each must stay put while nothing changes
+        specialBaggageCache.refresh();
+        assertEquals(cachedVersion, specialBaggageCache.version(FROM, TO.plusDays(1)).orElseThrow());
+        assertEquals(databaseVersion, loadingRecordServiceImpl.getSpecialBaggageVersion(FROM, TO.plusDays(1)));
+
+        jdbcTemplate.update("UPDATE TBAG SET LOADED_STATUS = 9, TIME_BAG_LOADED = '2025-05-10 23:00:00' " +
+                "WHERE BT_SERIAL_NR = 32027");
+        jdbcTemplate.update("UPDATE TFLIGHT SET ACTUAL_TIME = NULL, ESTIMATED_TIME = '2025-05-12 23:45:00', " +
+                "STAND = 'Z99', FMM_RECV_TIMESTAMP = '2025-05-10 23:30:00' WHERE FLIGHT_NR = 327");
+        specialBaggageCache.refresh();
+
+        LocalDateTime wideTo = TO.plusDays(1);
+        List<LoadingRecord> cached = specialBaggageCache.find(FROM, wideTo).orElseThrow();
+        LoadingRecord changed = cached.stream()
+                .filter(record -> record.getFlightNumber().equals("327"))
+                .findFirst().orElseThrow();
+        assertEquals("loaded", changed.getStatus());
+        assertEquals("Z99", changed.getFlightStand().trim());
+        assertEquals("12/May 23:45", changed.getDepartureDateTime());
+        assertEquals(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, wideTo), cached);
+        assertNotEquals(cachedVersion, specialBaggageCache.version(FROM, wideTo).orElseThrow());
+        assertNotEquals(databaseVersion, loadingRecordServiceImpl.getSpecialBaggageVersion(FROM, wideTo));
+    }
+
+    @Test
+    public void testBoardingWithoutTimestampChangeIsPublishedAsDelta() {
+        specialBaggageCache.refresh();
+
+        // Only PAX_STATUS changes, no timestamp column is touched
+        jdbcTemplate.update("UPDATE TBAG SET PAX_STATUS = 'B' WHERE BT_SERIAL_NR = 32027");
+        specialBaggageCache.refresh();
+
+        assertTrue(publishedChanges.stream().anyMatch(change -> change.getRecord() != null
+                && change.getRecord().getBagtag().equals("3203232027") && change.getRecord().isHasBoarded()));
+    }
+
+    @Test
+    public void testClearedExceptionCodeIsPublishedAsRemoval() {
+        specialBaggageCache.refresh();
+        String id = publishedChanges.stream()
+                .filter(change -> change.getRecord() != null && change.getRecord().getBagtag().equals("3203232027"))
+                .map(LoadingRecordChange::getId)
+                .findFirst().orElseThrow();
+
+        jdbcTemplate.update("UPDATE TBAG SET EXCEPTION_TYPES = NULL WHERE BT_SERIAL_NR = 32027");
+        specialBaggageCache.refresh();
+
+        assertTrue(publishedChanges.stream().anyMatch(change -> change.getId().equals(id)
+                && change.getChange().equals(LoadingRecordChange.REMOVE)));
+        List<LoadingRecord> cached = specialBaggageCache.find(FROM, TO).orElseThrow();
+        assertTrue(cached.stream().noneMatch(record -> record.getBagtag().equals("3203232027")));
+        assertEquals(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO), cached);
+    }
+}
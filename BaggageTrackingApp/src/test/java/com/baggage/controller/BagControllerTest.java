@@ -0,0 +1,40 @@
+package com.baggage.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+public class BagControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testLooksUpBagWithItsFlight() throws Exception {
+        mockMvc.perform(get("/api/bags/11111001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].bagtag", is("11111001")))
+                .andExpect(jsonPath("$[0].baggageType", is("pet")))
+                .andExpect(jsonPath("$[0].flight.flightNumber", is("101")))
+                .andExpect(jsonPath("$[0].flight.departureDateTime", is("15/Jun 08:20")));
+    }
+
+    @Test
+    public void testUnknownOrMalformedTagIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/bags/99999999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/bags/BAG1234"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,26 +1,48 @@
 package com.baggage.controller;
 
+import com.baggage.dto.BaggageEntry;
+import com.baggage.dto.FlightBaggage;
+import com.baggage.dto.LoadingRecord;
+import com.baggage.wire.CompactCodesModule;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.hamcrest.Matchers;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @SpringBootTest
+@AutoConfigureTestDatabase
 @AutoConfigureMockMvc
 public class LoadingRecordControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Test
     public void testGetAllLoadingRecords() throws Exception {
@@ -100,6 +122,184 @@ public class LoadingRecordControllerTest {
                 .andExpect(jsonPath("$[*].baggageType", everyItem(isOneOf("pet", "wheelchair", "weapon"))));
     }
     
+    @Test
+    public void testConditionalGetAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        // Another window is another version
+        mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-15T10:00:00Z")
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    public void testFlightGroupedResponseHoldsTheSameRecords() throws Exception {
+        String json = mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z"))
+                .andReturn().getResponse().getContentAsString();
+        List<LoadingRecord> records = objectMapper.readValue(json, new TypeReference<List<LoadingRecord>>() {});
+        
+        String grouped = mockMvc.perform(get("/api/v2/special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bags", hasSize(greaterThan(0))))
+                .andExpect(jsonPath("$[0].bags[0].flightNumber").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        List<FlightBaggage> flights = objectMapper.readValue(grouped, new TypeReference<List<FlightBaggage>>() {});
+        
+        // Flattening the flights gives back the v1 records in the same order
+        List<LoadingRecord> flattened = new ArrayList<>();
+        for (FlightBaggage flight : flights) {
+            for (BaggageEntry bag : flight.getBags()) {
+                flattened.add(new LoadingRecord(flight.getFlightNumber(), bag.getSeat(), bag.getBaggageType(),
+                        bag.getStatus(), bag.isHasBoarded(), flight.getDepartureDateTime(), flight.getFlightStand(),
+                        bag.getBagtag()));
+            }
+        }
+        assertFalse(records.isEmpty());
+        assertEquals(records, flattened);
+        assertTrue(flights.size() < records.size());
+    }
+    
+    @Test
+    public void testNegotiatesCborWithDictionaryCodes() throws Exception {
+        String json = mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z"))
+                .andReturn().getResponse().getContentAsString();
+        List<LoadingRecord> records = objectMapper.readValue(json, new TypeReference<List<LoadingRecord>>() {});
+        
+        byte[] cbor = mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", endsWith("-cbor\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode decoded = new CBORMapper().readTree(cbor);
+        
+        assertTrue(cbor.length < json.length());
+        assertEquals(records.size(), decoded.size());
+        for (int i = 0; i < records.size(); i++) {
+            LoadingRecord record = records.get(i);
+            JsonNode node = decoded.get(i);
+            assertEquals(CompactCodesModule.BAGGAGE_TYPES.indexOf(record.getBaggageType()), node.get("baggageType").asInt());
+            assertEquals(CompactCodesModule.STATUSES.indexOf(record.getStatus()), node.get("status").asInt());
+            assertEquals(record.getBagtag(), node.get("bagtag").asText());
+            assertEquals(record.getFlightStand(), node.get("flightStand").asText());
+        }
+    }
+    
+    @Test
+    public void testEtagFollowsTheNegotiatedMediaType() throws Exception {
+        // Accept mentions CBOR, but prefers JSON
+        mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z")
+                .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", not(endsWith("-cbor\""))));
+        
+        mockMvc.perform(get("/api/v2/special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z")
+                .header(HttpHeaders.ACCEPT, "application/cbor, */*;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", endsWith("-cbor\"")));
+    }
+    
+    @Test
+    public void testStreamSpecialBaggageAsNdjson() throws Exception {
+        String json = mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z"))
+                .andReturn().getResponse().getContentAsString();
+        
+        MvcResult streaming = mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z")
+                .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(streaming))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        
+        // Same records, one JSON object per line
+        String[] lines = ndjson.split("\n");
+        assertEquals(json, "[" + String.join(",", lines) + "]");
+    }
+    
+    @Test
+    public void testKeysetPagesMatchUnpagedResult() throws Exception {
+        String all = mockMvc.perform(get("/api/loading-records"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        
+        List<String> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/loading-records").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult page = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(2))))
+                    .andReturn();
+            String body = page.getResponse().getContentAsString();
+            if (body.length() > 2) {
+                pages.add(body.substring(1, body.length() - 1));
+            }
+            cursor = page.getResponse().getHeader("X-Next-Cursor");
+        } while (cursor != null);
+        
+        assertEquals(all, "[" + String.join(",", pages) + "]");
+    }
+    
+    @Test
+    public void testFilterByFlightNumberAndStand() throws Exception {
+        mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2025-05-10T00:00:00Z")
+                .param("to", "2025-05-13T00:00:00Z")
+                .param("flightNumber", "327"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThan(0))))
+                .andExpect(jsonPath("$[*].flightNumber", everyItem(endsWith("327"))));
+        
+        mockMvc.perform(get("/api/loading-records")
+                .param("stand", "NO-SUCH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+    
+    @Test
+    public void testRejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/loading-records")
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+    
     private org.hamcrest.Matcher<String> isOneOf(String... values) {
         return anyOf(
             Arrays.stream(values)
@@ -0,0 +1,52 @@
+package com.baggage.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BagtagDecoderTest {
+    
+    @Test
+    public void testEverySplitThatPrintsBackToTheTag() {
+        long[] candidates = new long[BagtagDecoder.MAX_CANDIDATES];
+        int count = BagtagDecoder.decode("11111001", candidates);
+        
+        Set<String> splits = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            long key = candidates[i];
+            String split = BagtagDecoder.oninterPrefix(key) + "-" + BagtagDecoder.btAirlineCodeNr(key)
+                    + "-" + BagtagDecoder.btSerialNr(key);
+            assertEquals("11111001", split.replace("-", ""));
+            splits.add(split);
+        }
+        assertTrue(splits.contains("111-1-1001"));
+        assertTrue(splits.contains("1-1-111001"));
+        // "1001" split as 1-001 or 10-01 would not print back, %d drops leading zeros
+        assertFalse(splits.contains("1111-10-01"));
+        assertFalse(splits.contains("11111-0-01"));
+        assertEquals(count, splits.size());
+    }
+    
+    @Test
+    public void testRejectsWhatNoBagCanCarry() {
+        long[] candidates = new long[BagtagDecoder.MAX_CANDIDATES];
+        assertEquals(0, BagtagDecoder.decode("", candidates));
+        assertEquals(0, BagtagDecoder.decode("12", candidates));
+        assertEquals(0, BagtagDecoder.decode("111A1001", candidates));
+        assertEquals(0, BagtagDecoder.decode("123456789012345678901", candidates));
+        // Every split overflows a SMALLINT part
+        assertEquals(0, BagtagDecoder.decode("99999999999999999999", candidates));
+    }
+    
+    @Test
+    public void testLongestTagsFitTheCandidateArray() {
+        long[] candidates = new long[BagtagDecoder.MAX_CANDIDATES];
+        int count = BagtagDecoder.decode("1111111111111", candidates);
+        assertTrue(count > 0 && count <= BagtagDecoder.MAX_CANDIDATES);
+        assertEquals(BagtagDecoder.pack((short) 32767, (short) 32767, Integer.MAX_VALUE),
+                candidates[BagtagDecoder.decode("32767327672147483647", candidates) - 1]);
+    }
+}
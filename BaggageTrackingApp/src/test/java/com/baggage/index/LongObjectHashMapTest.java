@@ -0,0 +1,99 @@
+package com.baggage.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testMatchesHashMapUnderRandomPutsAndRemoves() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000) - 1_000L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+        
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+
+    @Test
+    public void testLongLongMapMatchesHashMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000) - 1_000L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                assertEquals(expected.getOrDefault(key, -1L), map.put(key, i, -1));
+                expected.put(key, (long) i);
+            }
+        }
+        map.removeIf((key, value) -> value % 2 == 0);
+        expected.values().removeIf(value -> value % 2 == 0);
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key, -1)));
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+
+    @Test
+    public void testFlightKeyRoundTrip() {
+        LocalDate date = LocalDate.of(2025, 5, 10);
+        long key = FlightKey.pack((short) 30001, (short) 125, 'Z', date, (short) 3);
+        
+        assertEquals(30001, FlightKey.flightNr(key));
+        assertEquals(125, FlightKey.airlineCodeNr(key));
+        assertEquals('Z', FlightKey.suffix(key));
+        assertEquals(3, FlightKey.legNr(key));
+        assertEquals(date, FlightKey.flightDepDate(key));
+        assertNotEquals(key, FlightKey.pack((short) 30001, (short) 125, 'Z', date.plusDays(1), (short) 3));
+    }
+
+    @Test
+    public void testFlightKeyOutsidePackedRangeIsInternedPerTable() {
+        LocalDate day = LocalDate.of(2025, 5, 10);
+        LocalDate farFuture = LocalDate.of(2300, 1, 1);
+        FlightKeys keys = new FlightKeys();
+        long packed = keys.of((short) 410, (short) 13, 'A', day, (short) 44);
+        long leg300 = keys.of((short) 410, (short) 13, 'A', day, (short) 300);
+        long future = keys.of((short) 410, (short) 13, 'A', farFuture, (short) 1);
+        long unicodeSuffix = keys.of((short) 410, (short) 13, '\u0100', farFuture, (short) 1);
+
+        assertEquals(FlightKey.pack((short) 410, (short) 13, 'A', day, (short) 44), packed);
+        assertEquals(leg300, keys.of((short) 410, (short) 13, 'A', day, (short) 300));
+        assertEquals(leg300, keys.find((short) 410, (short) 13, 'A', day, (short) 300));
+        assertEquals(3, Set.of(leg300, future, unicodeSuffix).size());
+        assertFalse(Set.of(leg300, future, unicodeSuffix).contains(packed));
+        assertEquals(3, keys.internedCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> FlightKey.pack((short) 410, (short) 13, 'A', day, (short) 300));
+
+        // Another table knows nothing of them, and a released key is forgotten
+        assertEquals(FlightKeys.NONE, new FlightKeys().find((short) 410, (short) 13, 'A', day, (short) 300));
+        keys.release(leg300);
+        assertEquals(FlightKeys.NONE, keys.find((short) 410, (short) 13, 'A', day, (short) 300));
+        keys.release(packed);
+        assertEquals(2, keys.internedCount());
+        keys.clear();
+        assertEquals(0, keys.internedCount());
+    }
+}
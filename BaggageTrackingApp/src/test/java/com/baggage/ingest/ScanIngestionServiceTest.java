@@ -0,0 +1,138 @@
+package com.baggage.ingest;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.model.BagId;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"baggage.scans.flush-interval=PT1H", "baggage.scans.batch-size=3",
+        "baggage.cache.enabled=false"})
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@DirtiesContext
+public class ScanIngestionServiceTest {
+
+    private static final String BAG_32027 = "{\"btSerialNr\":32027,\"btAirlineCodeNr\":32,\"oninterPrefix\":320," +
+            "\"duplicateNr\":1,\"flightNr\":327,\"airlineCodeNr\":30,\"suffix\":\"I\"," +
+            "\"flightDepDate\":\"2025-05-12\",\"legNr\":1}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ScanIngestionService scanIngestionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testScansOfOneBagAreCoalescedIntoOneUpdate() throws Exception {
+        // Out of order within the request: the 10:05 scan wins, the 10:00 one fills in the location
+        mockMvc.perform(post("/api/scans").contentType(MediaType.APPLICATION_JSON).content("[" +
+                "{\"bagId\":" + BAG_32027 + ",\"loadedStatus\":9,\"unitPosition\":\"AKE1\"," +
+                "\"timeBagLoaded\":\"2025-05-11T10:05:00\",\"scannedAt\":\"2025-05-11T10:05:00\"}," +
+                "{\"bagId\":" + BAG_32027 + ",\"loadedStatus\":2,\"unitPosition\":\"BELT\"," +
+                "\"lastKnownLocation\":\"SORTER 3\",\"scannedAt\":\"2025-05-11T10:00:00\"}]"))
+                .andExpect(status().isAccepted());
+        assertEquals(1, scanIngestionService.getPendingCount());
+
+        scanIngestionService.flush();
+
+        assertEquals(0, scanIngestionService.getPendingCount());
+        Map<String, Object> row = bag32027();
+        assertEquals(9, row.get("LOADED_STATUS"));
+        assertEquals("AKE1", ((String) row.get("UNIT_POSITION")).trim());
+        assertEquals("SORTER 3", row.get("LAST_KNOWN_LOCATION"));
+
+        // A scan older than the stored one must not roll the bag back
+        mockMvc.perform(post("/api/scans").contentType(MediaType.APPLICATION_JSON).content("[" +
+                "{\"bagId\":" + BAG_32027 + ",\"loadedStatus\":1,\"scannedAt\":\"2025-05-11T09:00:00\"}]"))
+                .andExpect(status().isAccepted());
+        scanIngestionService.flush();
+        assertEquals(9, bag32027().get("LOADED_STATUS"));
+    }
+
+    @Test
+    public void testRejectsScanWithoutFullBagId() throws Exception {
+        mockMvc.perform(post("/api/scans").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"bagId\":{\"btSerialNr\":32027},\"scannedAt\":\"2025-05-11T10:00:00\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testRejectsScanLongerThanItsColumns() throws Exception {
+        mockMvc.perform(post("/api/scans").contentType(MediaType.APPLICATION_JSON).content("[" +
+                "{\"bagId\":" + BAG_32027 + ",\"unitPosition\":\"AKE12345\",\"scannedAt\":\"2025-05-11T10:00:00\"}]"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, scanIngestionService.getPendingCount());
+    }
+
+    @Test
+    public void testRowRejectedByTheDatabaseIsDeadLetteredNotRetried() {
+        // Replayed scans skip the request validation, so an over-long value can still reach a flush
+        LocalDateTime scannedAt = LocalDateTime.of(2025, 5, 11, 10, 0);
+        scanIngestionService.restore(new ScanEvent(bag(1001, 1, 111, 101, 1, 'A'), 9, null, "AKE12345", null, scannedAt));
+        scanIngestionService.restore(new ScanEvent(bag(2002, 2, 222, 101, 1, 'A'), 9, null, "AKE2", null, scannedAt));
+        double deadLettered = meterRegistry.counter("baggage.scans.dead-lettered").count();
+
+        scanIngestionService.flush();
+
+        // The rest of the failed batch is written, the rejected scan is not put back
+        assertEquals(0, scanIngestionService.getPendingCount());
+        assertEquals(deadLettered + 1, meterRegistry.counter("baggage.scans.dead-lettered").count());
+        assertEquals(9, jdbcTemplate.queryForObject(
+                "SELECT LOADED_STATUS FROM TBAG WHERE BT_SERIAL_NR = 2002", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT LOADED_STATUS FROM TBAG WHERE BT_SERIAL_NR = 1001", Integer.class));
+    }
+
+    @Test
+    public void testFullBufferIsFlushedOffTheIngestingThread() throws InterruptedException {
+        LocalDateTime scannedAt = LocalDateTime.of(2025, 5, 11, 11, 0);
+        long flushes = meterRegistry.timer("baggage.scans.flush").count();
+        // Bags TBAG does not have, so the other tests' rows are left alone
+        for (int serialNr : new int[] {9001, 9002, 9003}) {
+            scanIngestionService.restore(new ScanEvent(bag(serialNr, 1, 111, 101, 1, 'A'), 7, null, null, null,
+                    scannedAt));
+        }
+
+        // The scheduled flush is an hour away, so only the scan-flush thread can have written them
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scanIngestionService.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, scanIngestionService.getPendingCount());
+        assertEquals(flushes + 1, meterRegistry.timer("baggage.scans.flush").count());
+    }
+
+    private static BagId bag(int btSerialNr, int btAirlineCodeNr, int oninterPrefix, int flightNr, int airlineCodeNr,
+                             char suffix) {
+        return new BagId(btSerialNr, (short) btAirlineCodeNr, (short) oninterPrefix, (short) 1, (short) flightNr,
+                (short) airlineCodeNr, suffix, LocalDate.of(2023, 6, 15), (short) 1);
+    }
+
+    private Map<String, Object> bag32027() {
+        return jdbcTemplate.queryForMap("SELECT LOADED_STATUS, UNIT_POSITION, LAST_KNOWN_LOCATION FROM TBAG " +
+                "WHERE BT_SERIAL_NR = 32027 AND DUPLICATE_NR = 1");
+    }
+}
@@ -0,0 +1,192 @@
+package com.baggage.journal;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.model.BagId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BagJournalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 11);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testTraceFollowsTheTagAcrossLegsAndSegments() {
+        // Small segments, so the scans of one day span several of them
+        BagJournal journal = journal(DataSize.ofBytes(1024), DAY);
+        LocalDateTime start = DAY.atTime(8, 0);
+        for (int i = 0; i < 40; i++) {
+            journal.append(scan(bag(1001, DAY), start.plusMinutes(i), "SORTER " + i));
+            journal.append(scan(bag(1002, DAY), start.plusMinutes(i), null));
+        }
+        // The connecting leg of the same tag, the next day
+        journal.append(scan(bag(1001, DAY.plusDays(1)), start.plusDays(1), "TRANSFER"));
+
+        List<ScanEvent> trace = journal.trace("0151001");
+        assertEquals(41, trace.size());
+        assertTrue(journal.getSegmentCount() > 2);
+        assertEquals("SORTER 0", trace.get(0).getLastKnownLocation());
+        assertEquals(bag(1001, DAY), trace.get(0).getBagId());
+        assertEquals(start, trace.get(0).getScannedAt());
+        assertEquals(DAY.atTime(7, 59, 30, 500), trace.get(0).getTimeBagLoaded());
+        assertEquals(9, trace.get(0).getLoadedStatus());
+        assertEquals("TRANSFER", trace.get(40).getLastKnownLocation());
+        assertEquals(DAY.plusDays(1), trace.get(40).getBagId().getFlightDepDate());
+
+        ScanEvent withoutLocation = journal.trace("0151002").get(0);
+        assertNull(withoutLocation.getLastKnownLocation());
+        assertEquals("11L", withoutLocation.getUnitPosition());
+        assertTrue(journal.trace("0159999").isEmpty());
+        assertTrue(journal.trace("not a tag").isEmpty());
+    }
+
+    @Test
+    public void testReopenRebuildsIndexAndDropsTornRecord() throws IOException {
+        BagJournal journal = journal(DataSize.ofKilobytes(64), DAY);
+        journal.append(scan(bag(1001, DAY), DAY.atTime(8, 0), "SORTER 1"));
+        journal.append(scan(bag(1001, DAY), DAY.atTime(8, 5), "SORTER 2"));
+        journal.append(scan(bag(1002, DAY), DAY.atTime(8, 6), "SORTER 3"));
+        journal.sync();
+
+        // Flip a byte in the payload of the last record, as a write cut off by a crash would leave it
+        Path segment = segments().get(0);
+        long lastRecord = journal.getBytes() - 10;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer oneByte = ByteBuffer.allocate(1);
+            channel.read(oneByte, lastRecord);
+            oneByte.put(0, (byte) ~oneByte.get(0)).rewind();
+            channel.write(oneByte, lastRecord);
+        }
+
+        BagJournal reopened = journal(DataSize.ofKilobytes(64), DAY);
+        assertEquals(2, reopened.trace("0151001").size());
+        assertTrue(reopened.trace("0151002").isEmpty());
+
+        // Appends continue where the valid records end
+        reopened.append(scan(bag(1001, DAY), DAY.atTime(8, 10), "SORTER 4"));
+        reopened.sync();
+        List<ScanEvent> replayed = new ArrayList<>();
+        journal(DataSize.ofKilobytes(64), DAY).forEach(replayed::add);
+        assertEquals(List.of("SORTER 1", "SORTER 2", "SORTER 4"),
+                replayed.stream().map(ScanEvent::getLastKnownLocation).toList());
+    }
+
+    @Test
+    public void testRollOffDeletesDaysPastRetention() {
+        BagJournal journal = journal(DataSize.ofKilobytes(64), DAY.plusDays(8));
+        journal.append(scan(bag(1001, DAY), DAY.atTime(8, 0), "SORTER 1"));
+        journal.append(scan(bag(1002, DAY), DAY.atTime(8, 0), "SORTER 1"));
+        journal.append(scan(bag(1001, DAY.plusDays(2)), DAY.plusDays(2).atTime(8, 0), "SORTER 2"));
+
+        journal.rollOff();
+
+        assertEquals(1, journal.getSegmentCount());
+        assertEquals(1, segments().size());
+        assertEquals(1, journal.trace("0151001").size());
+        assertTrue(journal.trace("0151002").isEmpty());
+    }
+
+    @Test
+    public void testReplayStartsAfterTheFlushedMark() {
+        BagJournal journal = journal(DataSize.ofKilobytes(64), DAY);
+        journal.append(scan(bag(1001, DAY), DAY.atTime(8, 0), "SORTER 1"));
+        journal.append(scan(bag(1002, DAY.plusDays(1)), DAY.atTime(8, 0), "SORTER 2"));
+        journal.replayed();
+        journal.markFlushed(journal.mark());
+        journal.append(scan(bag(1001, DAY), DAY.atTime(8, 5), "SORTER 3"));
+        journal.append(scan(bag(1003, DAY.plusDays(2)), DAY.atTime(8, 5), "SORTER 4"));
+
+        BagJournal reopened = journal(DataSize.ofKilobytes(64), DAY);
+        // Not stored while the replay is still pending
+        reopened.markFlushed(reopened.mark());
+        List<ScanEvent> replayed = new ArrayList<>();
+        journal(DataSize.ofKilobytes(64), DAY).forEachUnflushed(replayed::add);
+        assertEquals(List.of("SORTER 3", "SORTER 4"),
+                replayed.stream().map(ScanEvent::getLastKnownLocation).toList());
+    }
+
+    @Test
+    public void testSequenceOfARolledOffSegmentIsNotReused() {
+        BagJournal journal = journal(DataSize.ofKilobytes(64), DAY.plusDays(8));
+        journal.append(scan(bag(1002, DAY.plusDays(2)), DAY.plusDays(2).atTime(8, 0), "SORTER 1"));
+        journal.append(scan(bag(1001, DAY), DAY.atTime(8, 0), "SORTER 1"));
+        // Appended to the first segment, pointing back into the second (the highest)
+        journal.append(scan(bag(1001, DAY.plusDays(2)), DAY.plusDays(2).atTime(9, 0), "SORTER 2"));
+        journal.rollOff();
+
+        BagJournal reopened = journal(DataSize.ofKilobytes(64), DAY.plusDays(8));
+        reopened.append(scan(bag(1003, DAY.plusDays(1)), DAY.plusDays(1).atTime(8, 0), "SORTER 3"));
+
+        List<ScanEvent> trace = reopened.trace("0151001");
+        assertEquals(List.of("SORTER 2"), trace.stream().map(ScanEvent::getLastKnownLocation).toList());
+    }
+
+    @Test
+    public void testAppendAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        BagJournal journal = journal(DataSize.ofMegabytes(16), DAY);
+        ScanEvent[] scans = new ScanEvent[1000];
+        for (int i = 0; i < scans.length; i++) {
+            scans[i] = scan(bag(1000 + i, DAY), DAY.atTime(8, 0).plusSeconds(i), "SORTER 1");
+        }
+        // Warm up, with every tag already in the index
+        for (int i = 0; i < 20_000; i++) {
+            journal.append(scans[i % scans.length]);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 50_000; i++) {
+            journal.append(scans[i % scans.length]);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Tolerates a stray allocation or two from the JVM, not one per append
+        assertTrue(allocated < 50_000, "allocated " + allocated + " bytes");
+    }
+
+    private BagJournal journal(DataSize segmentSize, LocalDate today) {
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        Clock clock = Clock.fixed(today.atTime(1, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new BagJournal(properties, clock, new SimpleMeterRegistry());
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegment).toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BagId bag(int serialNr, LocalDate flightDepDate) {
+        return new BagId(serialNr, (short) 15, (short) 0, (short) 1, (short) 410, (short) 13, 'A', flightDepDate,
+                (short) (flightDepDate.equals(DAY) ? 1 : 2));
+    }
+
+    private static ScanEvent scan(BagId bagId, LocalDateTime scannedAt, String location) {
+        return new ScanEvent(bagId, 9, DAY.atTime(7, 59, 30, 500), "11L", location, scannedAt);
+    }
+}
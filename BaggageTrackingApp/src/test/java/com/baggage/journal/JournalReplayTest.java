@@ -0,0 +1,82 @@
+package com.baggage.journal;
+
+import com.baggage.dto.ScanEvent;
+import com.baggage.model.BagId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"baggage.journal.enabled=true", "baggage.scans.flush-interval=PT1H",
+        "baggage.cache.enabled=false"})
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@DirtiesContext
+public class JournalReplayTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BagJournal journal;
+
+    // A journal left behind by a process that died before flushing its last scans
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("bag-journal");
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        BagJournal journal = new BagJournal(properties, Clock.systemUTC(), new SimpleMeterRegistry());
+        BagId bag = new BagId(32027, (short) 32, (short) 320, (short) 1, (short) 327, (short) 30, 'I',
+                LocalDate.of(2025, 5, 12), (short) 1);
+        journal.append(new ScanEvent(bag, 2, null, "BELT", "SORTER 3", LocalDateTime.of(2025, 5, 11, 10, 0)));
+        journal.append(new ScanEvent(bag, 9, LocalDateTime.of(2025, 5, 11, 10, 5), "AKE1", null,
+                LocalDateTime.of(2025, 5, 11, 10, 5)));
+        journal.sync();
+        registry.add("baggage.journal.directory", directory::toString);
+    }
+
+    @Test
+    public void testJournaledScansAreReplayedIntoTbagOnStartup() throws Exception {
+        var row = jdbcTemplate.queryForMap("SELECT LOADED_STATUS, UNIT_POSITION, LAST_KNOWN_LOCATION FROM TBAG " +
+                "WHERE BT_SERIAL_NR = 32027 AND DUPLICATE_NR = 1");
+        assertEquals(9, row.get("LOADED_STATUS"));
+        assertEquals("AKE1", ((String) row.get("UNIT_POSITION")).trim());
+        assertEquals("SORTER 3", row.get("LAST_KNOWN_LOCATION"));
+        // Marked as flushed, so the next start does not replay them again
+        List<ScanEvent> unflushed = new ArrayList<>();
+        journal.forEachUnflushed(unflushed::add);
+        assertTrue(unflushed.isEmpty());
+
+        mockMvc.perform(get("/api/bags/3203232027/trace"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].lastKnownLocation").value("SORTER 3"))
+                .andExpect(jsonPath("$[1].unitPosition").value("AKE1"));
+        mockMvc.perform(get("/api/bags/1/trace")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,121 @@
+package com.baggage.load;
+
+import com.baggage.BaggageTrackingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the special baggage endpoints with many concurrent clients, once on
+ * Tomcat's platform thread pool and once with the virtual-threads profile,
+ * and prints p50/p99 latency and throughput for each. The cache is disabled
+ * so every request blocks on JDBC.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.baggage.load.RequestLoadHarness
+ *
+ * Tuning: -Dload.concurrency=200 -Dload.requests=20000 -Dload.warmup=2000.
+ * Pass "platform" or "virtual-threads" as argument to run a single mode.
+ * Point it at a real database (e.g. a Postgres container loaded with the same
+ * schema) with -Dspring.datasource.url=... -Dspring.sql.init.mode=never.
+ */
+public class RequestLoadHarness {
+    
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 2000);
+    
+    private static final List<String> PATHS = List.of(
+            "/api/get-special-baggage?from=2025-05-10T00:00:00Z&to=2025-05-13T00:00:00Z",
+            "/api/loading-records?flightStatus=Boarded&limit=50",
+            "/api/get-special-baggage?from=2023-06-15T00:00:00Z&to=2023-06-16T00:00:00Z&baggageStatus=Loaded");
+    
+    public static void main(String[] args) throws Exception {
+        List<String> modes = args.length > 0 ? Arrays.asList(args) : List.of("platform", "virtual-threads");
+        if (modes.contains("virtual-threads") && Runtime.version().feature() < 21) {
+            System.out.println("WARNING: Java " + Runtime.version().feature()
+                    + " has no virtual threads; the virtual-threads run falls back to platform threads");
+        }
+        
+        for (String mode : modes) {
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(BaggageTrackingApplication.class)
+                    .properties("server.port=0", "baggage.cache.enabled=false", "spring.jpa.show-sql=false");
+            if (!"platform".equals(mode)) {
+                builder.profiles(mode);
+            }
+            try (ConfigurableApplicationContext context = builder.run()) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                run(mode, "http://localhost:" + port);
+            }
+        }
+    }
+    
+    private static void run(String mode, String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        drive(client, baseUrl, WARMUP);
+        
+        long start = System.nanoTime();
+        Result result = drive(client, baseUrl, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        long[] latencies = result.latencies;
+        Arrays.sort(latencies);
+        System.out.printf("%-16s concurrency=%d requests=%d errors=%d p50=%.2fms p99=%.2fms max=%.2fms throughput=%.0f req/s%n",
+                mode, CONCURRENCY, REQUESTS, result.errors.get(),
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6, REQUESTS / seconds);
+    }
+    
+    private static Result drive(HttpClient client, String baseUrl, int requests) throws InterruptedException {
+        Result result = new Result(requests);
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int c = 0; c < CONCURRENCY; c++) {
+            clients.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(i % PATHS.size())))
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            result.errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        result.errors.incrementAndGet();
+                    }
+                    result.latencies[i] = System.nanoTime() - begin;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.HOURS);
+        return result;
+    }
+    
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+    
+    private static class Result {
+        final long[] latencies;
+        final AtomicInteger errors = new AtomicInteger();
+        
+        Result(int requests) {
+            latencies = new long[requests];
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.baggage.load;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures time to first successful request: starts the packaged application
+ * in a fresh JVM, polls /api/get-special-baggage until it answers 200 and
+ * prints the time from launch, once for the plain executable jar and once
+ * for the fast-startup build (AOT-processed, AppCDS archive).
+ *
+ * Build both first:
+ *   mvn package -DskipTests
+ *   mvn -Pfast-startup package -DskipTests
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.baggage.load.StartupTimeHarness
+ *
+ * Tuning: -Dstartup.runs=5 (the median is reported). Pass "baseline" or
+ * "fast-startup" as argument to run a single mode.
+ */
+public class StartupTimeHarness {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration GIVE_UP_AFTER = Duration.ofMinutes(2);
+    private static final String PATH =
+            "/api/get-special-baggage?from=2025-05-10T00:00:00Z&to=2025-05-13T00:00:00Z";
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path FAST_STARTUP = TARGET.resolve("fast-startup");
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = args.length > 0 ? Arrays.asList(args) : List.of("baseline", "fast-startup");
+        for (String mode : modes) {
+            Launch launch = launch(mode);
+            List<Long> millis = new ArrayList<>();
+            for (int run = 0; run < RUNS; run++) {
+                millis.add(timeToFirstRequest(launch));
+            }
+            Collections.sort(millis);
+            System.out.printf("%-13s runs=%d median=%dms min=%dms max=%dms%n",
+                    mode, RUNS, millis.get(millis.size() / 2), millis.get(0), millis.get(millis.size() - 1));
+        }
+    }
+
+    // The fast-startup build runs from its own directory, where its CDS archive was recorded
+    private record Launch(Path directory, List<String> command) {
+    }
+
+    private static Launch launch(String mode) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        if ("baseline".equals(mode)) {
+            return new Launch(TARGET, List.of(java, "-jar", jar(TARGET, "-SNAPSHOT.jar").getFileName().toString()));
+        }
+        if ("fast-startup".equals(mode)) {
+            return new Launch(FAST_STARTUP, List.of(java, "-XX:SharedArchiveFile=application.jsa",
+                    "-Dspring.aot.enabled=true", "-jar", jar(FAST_STARTUP, ".jar").getFileName().toString()));
+        }
+        throw new IllegalArgumentException("Unknown mode " + mode + ", expected baseline or fast-startup");
+    }
+
+    private static Path jar(Path directory, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No *" + suffix + " in " + directory
+                            + "; build it first (see the class comment)"));
+        }
+    }
+
+    private static long timeToFirstRequest(Launch launch) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> arguments = new ArrayList<>(launch.command());
+        arguments.add("--server.port=" + port);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .directory(launch.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(TARGET.resolve("startup-harness.log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < GIVE_UP_AFTER.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + ", see target/startup-harness.log");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No successful request within " + GIVE_UP_AFTER);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
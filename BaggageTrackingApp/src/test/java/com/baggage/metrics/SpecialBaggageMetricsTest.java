@@ -0,0 +1,66 @@
+package com.baggage.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "baggage.cache.enabled=false")
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class SpecialBaggageMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testStagesAndEndpointAreMeteredAndScraped() throws Exception {
+        mockMvc.perform(get("/api/get-special-baggage")
+                .param("from", "2023-06-15T00:00:00Z")
+                .param("to", "2023-06-16T00:00:00Z"))
+                .andExpect(status().isOk());
+
+        for (String stage : new String[]{SpecialBaggageMetrics.DB_FETCH, SpecialBaggageMetrics.FLIGHT_INDEX,
+                SpecialBaggageMetrics.EXCEPTION_FILTER, SpecialBaggageMetrics.MAPPING}) {
+            assertEquals(1, meterRegistry.get("baggage.pipeline.stage")
+                    .tag("query", "range").tag("stage", stage).timer().count(), stage);
+        }
+        double mapped = meterRegistry.get("baggage.pipeline.rows")
+                .tag("query", "range").tag("stage", SpecialBaggageMetrics.MAPPING).tag("direction", "out")
+                .summary().totalAmount();
+        assertTrue(mapped > 0);
+        assertEquals(1, meterRegistry.get("baggage.api.requests")
+                .tag("endpoint", "get-special-baggage").tag("window", "24h").timer().count());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("baggage_pipeline_stage_seconds_count")))
+                .andExpect(content().string(containsString("baggage_api_requests_seconds_bucket")));
+    }
+
+    @Test
+    public void testWindowWidthBuckets() {
+        LocalDateTime from = LocalDateTime.of(2025, 5, 10, 0, 0);
+        assertEquals("1h", SpecialBaggageMetrics.windowWidth(from, from.plusMinutes(30)));
+        assertEquals("24h", SpecialBaggageMetrics.windowWidth(from, from.plusHours(24)));
+        assertEquals("72h", SpecialBaggageMetrics.windowWidth(from, from.plusHours(48)));
+        assertEquals("longer", SpecialBaggageMetrics.windowWidth(from, from.plusDays(7)));
+        assertEquals("unbounded", SpecialBaggageMetrics.windowWidth(null, null));
+    }
+}
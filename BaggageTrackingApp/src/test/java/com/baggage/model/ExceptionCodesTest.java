@@ -0,0 +1,52 @@
+package com.baggage.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class ExceptionCodesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testBaggageTypePrecedence() {
+        assertNull(ExceptionCodes.baggageType(ExceptionCodes.parse(null)));
+        assertNull(ExceptionCodes.baggageType(ExceptionCodes.parse("PRIO,FRAG,PETC")));
+        assertEquals("weapon", ExceptionCodes.baggageType(ExceptionCodes.parse("FRAG,WEAP")));
+        assertEquals("wheelchair", ExceptionCodes.baggageType(ExceptionCodes.parse("WEAP,WCLB")));
+        assertEquals("wheelchair", ExceptionCodes.baggageType(ExceptionCodes.parse("WCBD")));
+        assertEquals("pet", ExceptionCodes.baggageType(ExceptionCodes.parse("WCHS,WEAP, PET ")));
+        assertEquals(ExceptionCodes.WCHR | ExceptionCodes.PET, ExceptionCodes.parse("PET,,WCHR,"));
+        assertFalse(ExceptionCodes.isSpecial(ExceptionCodes.parse("")));
+    }
+
+    @Test
+    public void testGeneratedColumnMatchesParse() {
+        jdbcTemplate.update("INSERT INTO TBAG (BT_SERIAL_NR, BT_AIRLINE_CODE_NR, ONINTER_PREFIX, DUPLICATE_NR, " +
+                "FLIGHT_NR, AIRLINE_CODE_NR, SUFFIX, FLIGHT_DEP_DATE, LEG_NR, LEG_DEP_DATE, LEG_ORIGIN, " +
+                "BAG_LEG_SEQ_NR, LOAD_DEVICE, BAG_STATUS, EXCEPTION_TYPES) " +
+                "VALUES (99999, 1, 0, 1, 999, 1, 'Z', '2020-01-01', 1, '2020-01-01', 'AMS', 1, 'X', 0, " +
+                "'PETC, WCHR ,XWEAP,WEAPX,WEAP')");
+        try {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT EXCEPTION_TYPES, EXCEPTION_MASK FROM TBAG");
+            assertFalse(rows.isEmpty());
+            for (Map<String, Object> row : rows) {
+                String exceptionTypes = (String) row.get("EXCEPTION_TYPES");
+                assertEquals(ExceptionCodes.parse(exceptionTypes), ((Number) row.get("EXCEPTION_MASK")).intValue(),
+                        exceptionTypes);
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM TBAG WHERE BT_SERIAL_NR = 99999");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.baggage.replica;
+
+import com.baggage.service.LoadingRecordServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The second replica is never populated, so reading its heartbeat always fails
+@SpringBootTest(properties = {
+        "baggage.replica.enabled=true",
+        "baggage.replica.max-lag=PT5S",
+        "baggage.replica.lag-check-interval=PT1H",
+        "baggage.replica.replicas[0].name=replica-1",
+        "baggage.replica.replicas[0].url=jdbc:h2:mem:replica-1;DB_CLOSE_DELAY=-1",
+        "baggage.replica.replicas[1].name=replica-2",
+        "baggage.replica.replicas[1].url=jdbc:h2:mem:replica-2"
+})
+@DirtiesContext
+public class ReplicaRoutingTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static boolean populated;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    private LoadingRecordServiceImpl loadingRecordServiceImpl;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setUp() {
+        primary = new JdbcTemplate(replicaSet.getPrimary());
+        replica = new JdbcTemplate(replicaSet.getReplicas().get(0).getDataSource());
+        if (!populated) {
+            // Replicated up to the sample data; the primary then deletes the bags of one flight
+            DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(
+                    new ClassPathResource("schema.sql"), new ClassPathResource("data.sql")),
+                    replicaSet.getReplicas().get(0).getDataSource());
+            primary.update("DELETE FROM TBAG WHERE FLIGHT_NR = 101");
+            populated = true;
+        }
+    }
+
+    @Test
+    public void testReadOnlyTransactionsFollowTheStalenessBound() {
+        int onReplica = recordsOn(replica);
+        int onPrimary = recordsOn(primary);
+        assertTrue(onPrimary < onReplica);
+        
+        replicateHeartbeat(LocalDateTime.now());
+        assertEquals(onReplica, loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO).size());
+        
+        // Injected lag past baggage.replica.max-lag: back to the primary
+        replicateHeartbeat(LocalDateTime.now().minusMinutes(1));
+        assertEquals(onPrimary, loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO).size());
+        assertTrue(meterRegistry.get("baggage.replica.lag").tag("replica", "replica-1").gauge().value() >= 60);
+        
+        replicateHeartbeat(LocalDateTime.now());
+        assertEquals(onReplica, loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO).size());
+    }
+
+    @Test
+    public void testUnreadableReplicaAndWritesStayOnThePrimary() {
+        replicateHeartbeat(LocalDateTime.now().minusMinutes(1));
+        double primaryReads = meterRegistry.get("baggage.replica.reads").tag("target", "primary").counter().count();
+        
+        assertEquals(recordsOn(primary), loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO).size());
+        
+        assertTrue(Double.isNaN(meterRegistry.get("baggage.replica.lag").tag("replica", "replica-2").gauge().value()));
+        assertEquals(primaryReads + 1,
+                meterRegistry.get("baggage.replica.reads").tag("target", "primary").counter().count());
+        // Outside a read-only transaction
+        assertEquals(primary.queryForObject("SELECT COUNT(*) FROM TBAG", Integer.class),
+                new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM TBAG", Integer.class));
+    }
+
+    // Sets replica-1's copy of the heartbeat, as replication would, and measures the lag
+    private void replicateHeartbeat(LocalDateTime beat) {
+        replica.update("MERGE INTO TREPLICA_HEARTBEAT (ID, BEAT) KEY (ID) VALUES (1, ?)", beat);
+        replicaSet.checkLag();
+    }
+
+    private static int recordsOn(JdbcTemplate database) {
+        return database.queryForObject("SELECT COUNT(*) FROM TBAG b JOIN TFLIGHT f " +
+                "ON b.FLIGHT_NR = f.FLIGHT_NR AND b.AIRLINE_CODE_NR = f.AIRLINE_CODE_NR AND b.SUFFIX = f.SUFFIX " +
+                "AND b.FLIGHT_DEP_DATE = f.FLIGHT_DEP_DATE AND b.LEG_NR = f.LEG_NR " +
+                "WHERE b.EXCEPTION_MASK > 0 AND f.EFFECTIVE_DEPARTURE_TIME BETWEEN ? AND ?", Integer.class, FROM, TO);
+    }
+}
@@ -0,0 +1,96 @@
+package com.baggage.service;
+
+import com.baggage.dto.LoadingRecord;
+import com.baggage.repository.BagRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext
+public class CoalescingLoadingRecordServiceTest {
+
+    private static final int CALLERS = 16;
+    // Outside the cache horizon, so every call is a cache miss
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 6, 15, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 6, 16, 0, 0);
+
+    @Autowired
+    private LoadingRecordService loadingRecordService;
+
+    @Autowired
+    private LoadingRecordServiceImpl loadingRecordServiceImpl;
+
+    @SpyBean
+    private BagRepository bagRepository;
+
+    @Test
+    public void testConcurrentNearbyWindowsShareOneDatabaseRead() throws Exception {
+        List<List<LoadingRecord>> expected = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            expected.add(loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM.plusSeconds(i), TO.minusSeconds(i)));
+        }
+        assertFalse(expected.get(0).isEmpty());
+        clearInvocations(bagRepository);
+
+        // The first read is held until every caller has started, so the others arrive while it is in flight
+        CountDownLatch started = new CountDownLatch(CALLERS);
+        // Spring Data repositories are JDK proxies, spied through a delegating default answer
+        Answer<?> repository = mockingDetails(bagRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            return repository.answer(invocation);
+        }).when(bagRepository).findSpecialBagsDepartingBetween(any(), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<List<LoadingRecord>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                // Windows a few seconds apart fall into the same 5 minute buckets
+                LocalDateTime from = FROM.plusSeconds(i);
+                LocalDateTime to = TO.minusSeconds(i);
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return loadingRecordService.getSpecialBaggageByDateRange(from, to);
+                }));
+            }
+            for (int i = 0; i < CALLERS; i++) {
+                assertEquals(expected.get(i), results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(bagRepository, times(1)).findSpecialBagsDepartingBetween(any(), any());
+    }
+
+    @Test
+    public void testNarrowerWindowIsCutFromTheBucket() {
+        LocalDateTime from = FROM.plusHours(8).plusMinutes(21);
+        LocalDateTime to = FROM.plusHours(14).plusSeconds(30);
+
+        assertEquals(loadingRecordServiceImpl.getSpecialBaggageByDateRange(from, to),
+                loadingRecordService.getSpecialBaggageByDateRange(from, to));
+        assertEquals(loadingRecordServiceImpl.getSpecialBaggageByFlight(from, to),
+                loadingRecordService.getSpecialBaggageByFlight(from, to));
+    }
+}
@@ -0,0 +1,115 @@
+package com.baggage.shard;
+
+import com.baggage.dto.LoadingRecord;
+import com.baggage.dto.NetworkSpecialBaggage;
+import com.baggage.service.LoadingRecordServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Three in-memory H2 databases stand in for the station databases
+@SpringBootTest(properties = {
+        "baggage.shards.enabled=true",
+        "baggage.shards.timeout=PT1S",
+        "baggage.shards.stations.ATL.url=jdbc:h2:mem:station-atl",
+        "baggage.shards.stations.DFW.url=jdbc:h2:mem:station-dfw",
+        "baggage.shards.stations.MIA.url=jdbc:h2:mem:station-mia"
+})
+@DirtiesContext
+public class ShardedLoadingRecordServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    // Each stand-in keeps one range of the sample data's origins, so together they hold all of it
+    private static final Map<String, String[]> ORIGIN_RANGES = Map.of(
+            "ATL", new String[]{"A", "DFW"},
+            "DFW", new String[]{"DFW", "MIA"},
+            "MIA", new String[]{"MIA", "ZZZ"});
+
+    private static boolean populated;
+
+    @Autowired
+    private ShardedLoadingRecordService shardedLoadingRecordService;
+
+    @SpyBean
+    private LoadingRecordServiceImpl loadingRecordServiceImpl;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void populateStations() {
+        if (populated) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        ORIGIN_RANGES.forEach((station, range) -> ShardContext.call(station, () -> {
+            DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(
+                    new ClassPathResource("schema.sql"), new ClassPathResource("data.sql")), dataSource);
+            for (String table : List.of("TBAG", "TFLIGHT")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE LEG_ORIGIN < ? OR LEG_ORIGIN >= ?",
+                        range[0], range[1]);
+            }
+            return null;
+        }));
+        populated = true;
+    }
+
+    @Test
+    public void testMergedStationsMatchTheSingleDatabaseInOrder() {
+        List<LoadingRecord> expected = loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO);
+        assertTrue(expected.size() > 10);
+        for (String station : ORIGIN_RANGES.keySet()) {
+            int stationSize = ShardContext.call(station,
+                    () -> loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO)).size();
+            assertTrue(stationSize > 0 && stationSize < expected.size(), station);
+        }
+        
+        NetworkSpecialBaggage network = shardedLoadingRecordService.getSpecialBaggageByDateRange(FROM, TO);
+        
+        assertEquals(expected, network.getRecords());
+        assertTrue(network.getUnavailableStations().isEmpty());
+    }
+
+    @Test
+    public void testSlowStationIsLeftOutAfterTheTimeout() {
+        List<LoadingRecord> expected = new ArrayList<>();
+        for (String station : List.of("ATL", "DFW")) {
+            expected.addAll(ShardContext.call(station,
+                    () -> loadingRecordServiceImpl.getSpecialBaggageByDateRange(FROM, TO)));
+        }
+        doAnswer(invocation -> {
+            if ("MIA".equals(ShardContext.current())) {
+                Thread.sleep(10_000);
+            }
+            return invocation.callRealMethod();
+        }).when(loadingRecordServiceImpl).getDepartingSpecialBaggage(any(), any());
+        
+        long started = System.nanoTime();
+        NetworkSpecialBaggage network = shardedLoadingRecordService.getSpecialBaggageByDateRange(FROM, TO);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        assertEquals(List.of("MIA"), network.getUnavailableStations());
+        assertEquals(expected.size(), network.getRecords().size());
+        assertTrue(network.getRecords().containsAll(expected));
+        assertTrue(elapsedMillis < 5_000, "took " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,143 @@
+package com.baggage.stream;
+
+import com.baggage.cache.SpecialBaggageCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Local harness for the special baggage stream: opens many SSE subscribers
+ * against a running server, changes one bag and measures how long the delta
+ * takes to reach all of them. Scale with -Dstream.subscribers=500.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "baggage.cache.refresh-interval=PT1H")
+@AutoConfigureTestDatabase
+public class SpecialBaggageStreamLoadTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("stream.subscribers", 50);
+
+    @TestConfiguration
+    static class FixedClockConfig {
+        @Bean
+        @Primary
+        public Clock fixedClock() {
+            return Clock.fixed(Instant.parse("2025-05-11T00:00:00Z"), ZoneOffset.UTC);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SpecialBaggageCache specialBaggageCache;
+
+    @Autowired
+    private SpecialBaggageStreamService specialBaggageStreamService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testDeltaReachesEverySubscriberOnlyOnce() throws Exception {
+        specialBaggageCache.refresh();
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:" + port
+                + "/api/special-baggage/stream?from=2025-05-12T00:00:00&to=2025-05-13T00:00:00");
+
+        List<SseSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            SseSubscriber subscriber = new SseSubscriber();
+            client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.fromLineSubscriber(subscriber));
+            subscribers.add(subscriber);
+        }
+        for (SseSubscriber subscriber : subscribers) {
+            assertTrue(subscriber.snapshot.await(30, TimeUnit.SECONDS), "snapshot not received");
+        }
+        assertEquals(SUBSCRIBERS, specialBaggageStreamService.getSubscriberCount());
+
+        jdbcTemplate.update("UPDATE TBAG SET LOADED_STATUS = 9, TIME_BAG_LOADED = '2025-05-10 23:00:00' " +
+                "WHERE BT_SERIAL_NR = 32027");
+        long start = System.nanoTime();
+        specialBaggageCache.refresh();
+        for (SseSubscriber subscriber : subscribers) {
+            assertTrue(subscriber.delta.await(30, TimeUnit.SECONDS), "delta not received");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.printf("Delta fan-out to %d subscribers took %d ms%n", SUBSCRIBERS, elapsedMillis);
+
+        // A refresh without changes pushes nothing
+        specialBaggageCache.refresh();
+        Thread.sleep(200);
+        for (SseSubscriber subscriber : subscribers) {
+            assertEquals(1, subscriber.deltaEvents);
+            assertTrue(subscriber.lastData.contains("\"status\":\"loaded\""));
+            assertTrue(subscriber.lastData.contains("\"change\":\"upsert\""));
+            subscriber.cancel();
+        }
+    }
+
+    private static class SseSubscriber implements Flow.Subscriber<String> {
+
+        private final CountDownLatch snapshot = new CountDownLatch(1);
+        private final CountDownLatch delta = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile String currentEvent;
+        private volatile String lastData;
+        private volatile int deltaEvents;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                currentEvent = line.substring("event:".length());
+            } else if (line.startsWith("data:")) {
+                lastData = line.substring("data:".length());
+                if ("snapshot".equals(currentEvent)) {
+                    snapshot.countDown();
+                } else if ("delta".equals(currentEvent)) {
+                    deltaEvents++;
+                    delta.countDown();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.baggage.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SseSubscriberTest {
+
+    private final ExecutorService senders = Executors.newCachedThreadPool();
+    private final CountDownLatch unstall = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        unstall.countDown();
+        senders.shutdownNow();
+    }
+
+    @Test
+    public void testStalledSubscriberDelaysNobodyAndIsClosedWhenItFallsBehind() throws InterruptedException {
+        Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        RecordingEmitter stalled = new RecordingEmitter(true);
+        RecordingEmitter healthy = new RecordingEmitter(false);
+        SseSubscriber slow = new SseSubscriber(stalled, senders, 3, subscribers::remove);
+        SseSubscriber fast = new SseSubscriber(healthy, senders, 100, subscribers::remove);
+        subscribers.add(slow);
+        subscribers.add(fast);
+
+        // Held back until start, then sent after its initial event
+        fast.send("alert", "early");
+        slow.start("active", "snapshot");
+        fast.start("active", "snapshot");
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 10; i++) {
+            for (SseSubscriber subscriber : subscribers) {
+                subscriber.send("alert", i);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (healthy.sent.size() < 12 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(12, healthy.sent.size());
+        assertTrue(stalled.sent.isEmpty());
+        assertEquals(Set.of(fast), subscribers);
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+
+        private final boolean stall;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(boolean stall) {
+            this.stall = stall;
+        }
+
+        @Override
+        public void send(SseEventBuilder event) {
+            sending.countDown();
+            if (stall) {
+                try {
+                    unstall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(event);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 'use client';
 
 import { useState, useEffect } from 'react';
-import { useQuery } from '@tanstack/react-query';
-import { fetchSpecialBaggage, LoadingRecord } from '@/lib/api/loading-records';
+import { useQuery, useQueryClient } from '@tanstack/react-query';
+import { fetchSpecialBaggage, subscribeSpecialBaggage, LoadingRecord } from '@/lib/api/loading-records';
+import { subscribeAlerts, BaggageAlert } from '@/lib/api/alerts';
 import Sidebar from '@/components/Sidebar';
 import Header from '@/components/Header';
 import AlertBanner from '@/components/AlertBanner';
@@ -20,6 +21,7 @@ export default function DashboardPage() {
   });
   
   const [alertMessage, setAlertMessage] = useState<string | null>(null);
+  const [serverAlerts, setServerAlerts] = useState<BaggageAlert[]>([]);
   const [filteredRecords, setFilteredRecords] = useState<LoadingRecord[]>([]);
 
   // Fetch data from the API with date range parameters only
@@ -35,6 +37,32 @@ export default function DashboardPage() {
     staleTime: 5 * 60 * 1000, // Cache for 5 minutes
   });
 
+  // Keep the query data current from the server's change stream instead of re-polling
+  const queryClient = useQueryClient();
+  useEffect(() => {
+    if (typeof EventSource === 'undefined') {
+      return;
+    }
+    return subscribeSpecialBaggage(
+      {
+        flightStatus: 'All',
+        passengerType: 'All',
+        baggageStatus: 'All',
+        timeRangePast: lookupTimeRangePast,
+        timeRangeFuture: lookupTimeRangeFuture
+      },
+      (records) => queryClient.setQueryData(['specialBaggage', lookupTimeRangePast, lookupTimeRangeFuture], records)
+    );
+  }, [queryClient, lookupTimeRangePast, lookupTimeRangeFuture]);
+
+  // Deadline alerts raised by the server, kept current without polling
+  useEffect(() => {
+    if (typeof EventSource === 'undefined') {
+      return;
+    }
+    return subscribeAlerts(setServerAlerts);
+  }, []);
+
   // Apply filters locally without making another API call
   useEffect(() => {
     if (loadedRecords) {
@@ -143,12 +171,19 @@ export default function DashboardPage() {
     }
   }, [lookupTimeRangePast, lookupTimeRangeFuture]);
 
+  // The most recently raised server alert takes precedence over what this client noticed itself
+  const latestAlert = serverAlerts[serverAlerts.length - 1];
+  const serverAlertMessage = latestAlert
+    ? `${latestAlert.record.flightNumber}: ${latestAlert.record.bagtag} still not loaded ${latestAlert.minutesBeforeDeparture} min before departure`
+    : null;
+  const bannerMessage = serverAlertMessage || alertMessage;
+
   return (
     <div className="flex h-screen">
       <Sidebar />
       <div className="flex-1 flex flex-col">
         <Header title="SPECIAL BAGGAGE LOADING" />
-        {alertMessage && <AlertBanner message={alertMessage} />}
+        {bannerMessage && <AlertBanner message={bannerMessage} />}
         <FilterBar filters={filters} onFilterChange={handleFilterChange} />
         <main className="flex-1 p-4 overflow-auto" style={{ backgroundColor: 'var(--bg-primary)' }}>
           {isLoading ? (
@@ -0,0 +1,39 @@
+import { LoadingRecord } from './loading-records';
+
+export interface BaggageAlert {
+  id: string; // Stable per bag and flight leg, as in LoadingRecordChange
+  minutesBeforeDeparture: number; // The lead time that was crossed
+  record: LoadingRecord;
+}
+
+const API_BASE_URL = 'http://localhost:8080/api';
+
+// Subscribe to the server's not-loaded alerts: one "active" event with every raised
+// alert, then raised/updated and cleared alerts as they happen. Alerts are passed on
+// most recently raised last. Returns an unsubscribe function.
+export const subscribeAlerts = (onAlerts: (alerts: BaggageAlert[]) => void): (() => void) => {
+  const source = new EventSource(`${API_BASE_URL}/alerts/stream`);
+  const alerts = new Map<string, BaggageAlert>();
+
+  source.addEventListener('active', (event) => {
+    // Sent on every (re)connect, so it replaces whatever we had
+    alerts.clear();
+    (JSON.parse((event as MessageEvent).data) as BaggageAlert[]).forEach((alert) => alerts.set(alert.id, alert));
+    onAlerts(Array.from(alerts.values()));
+  });
+  source.addEventListener('alert', (event) => {
+    const alert: BaggageAlert = JSON.parse((event as MessageEvent).data);
+    alerts.delete(alert.id);
+    alerts.set(alert.id, alert);
+    onAlerts(Array.from(alerts.values()));
+  });
+  source.addEventListener('cleared', (event) => {
+    alerts.delete((JSON.parse((event as MessageEvent).data) as BaggageAlert).id);
+    onAlerts(Array.from(alerts.values()));
+  });
+  source.onerror = (error) => {
+    console.error('Error in baggage alert stream:', error);
+  };
+
+  return () => source.close();
+};
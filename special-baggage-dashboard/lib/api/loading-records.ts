@@ -22,28 +22,48 @@ interface FilterOptions {
 // Backend API URL - adjust port if your Spring Boot app runs on a different port
 const API_BASE_URL = 'http://localhost:8080/api';
 
-// Function to convert local date to UTC
+// Function to convert local date to UTC, truncated to the minute so that
+// polls within the same minute ask for the same window
 const getUTCDate = (hoursOffset: number): string => {
   const date = new Date();
   date.setHours(date.getHours() + hoursOffset);
+  date.setSeconds(0, 0);
   return date.toISOString();
 };
 
+// Last response per window, revalidated with If-None-Match on the next poll
+const lastResponses = new Map<string, { etag: string; records: LoadingRecord[] }>();
+
 // New function to fetch special baggage data with UTC date range
 export const fetchSpecialBaggage = async (filters: FilterOptions): Promise<LoadingRecord[]> => {
   try {
     // Calculate date range based on lookupTimeRange settings
     const fromDateTime = getUTCDate(-(filters.timeRangePast || 24));
     const toDateTime = getUTCDate(filters.timeRangeFuture || 24);
+    const windowKey = `${fromDateTime}|${toDateTime}`;
+    const previous = lastResponses.get(windowKey);
     
     // Make API call to the backend with date range parameters
     const response = await axios.get(`${API_BASE_URL}/get-special-baggage`, {
       params: {
         from: fromDateTime,
         to: toDateTime
-      }
+      },
+      headers: previous ? { 'If-None-Match': previous.etag } : undefined,
+      validateStatus: (status) => (status >= 200 && status < 300) || status === 304
     });
     
+    // Unchanged on the server: reuse the records we already have
+    if (response.status === 304 && previous) {
+      return previous.records;
+    }
+    
+    const etag = response.headers['etag'];
+    lastResponses.clear();
+    if (etag) {
+      lastResponses.set(windowKey, { etag, records: response.data });
+    }
+    
     // Return the raw data - filtering will be handled by the component
     return response.data;
   } catch (error) {
@@ -52,6 +72,96 @@ export const fetchSpecialBaggage = async (filters: FilterOptions): Promise<Loadi
   }
 };
 
+export interface LoadingRecordChange {
+  id: string; // Stable per bag and flight leg
+  change: 'upsert' | 'remove';
+  record: LoadingRecord | null; // null for removals
+  departure: string | null; // ISO-8601 best departure time, null for removals
+}
+
+// The server's window does not slide, so the stream is re-opened on a new one this often
+const STREAM_REANCHOR_MS = 60 * 1000;
+// Wait before re-opening a stream that failed
+const STREAM_RETRY_MS = 5 * 1000;
+
+// Server order: departure, then the numeric parts of the id (flight, then bag tag)
+const compareChanges = (a: LoadingRecordChange, b: LoadingRecordChange): number => {
+  if (a.departure !== b.departure) {
+    return (a.departure ?? '') < (b.departure ?? '') ? -1 : 1;
+  }
+  const partsA = a.id.split(':');
+  const partsB = b.id.split(':');
+  for (let i = 0; i < Math.min(partsA.length, partsB.length); i++) {
+    const difference = Number(partsA[i]) - Number(partsB[i]);
+    if (difference !== 0) {
+      return difference;
+    }
+  }
+  return partsA.length - partsB.length;
+};
+
+// Subscribe to the special baggage stream: the server sends one snapshot of the
+// date range, then only the records that changed. The window is computed anew on
+// every (re)connect, and records are passed on in the server's departure order.
+// Returns an unsubscribe function.
+export const subscribeSpecialBaggage = (
+  filters: FilterOptions,
+  onRecords: (records: LoadingRecord[]) => void
+): (() => void) => {
+  let source: EventSource | null = null;
+  let retry: ReturnType<typeof setTimeout> | undefined;
+
+  const connect = () => {
+    clearTimeout(retry);
+    source?.close();
+    const params = new URLSearchParams({
+      from: getUTCDate(-(filters.timeRangePast || 24)),
+      to: getUTCDate(filters.timeRangeFuture || 24)
+    });
+    const current = new EventSource(`${API_BASE_URL}/special-baggage/stream?${params.toString()}`);
+    source = current;
+    const records = new Map<string, LoadingRecordChange>();
+
+    const applyChanges = (changes: LoadingRecordChange[]) => {
+      changes.forEach((change) => {
+        if (change.change === 'upsert' && change.record) {
+          records.set(change.id, change);
+        } else {
+          records.delete(change.id);
+        }
+      });
+      onRecords(Array.from(records.values()).sort(compareChanges).map((change) => change.record as LoadingRecord));
+    };
+
+    current.addEventListener('snapshot', (event) => {
+      // Sent once per connection, so it replaces whatever we had
+      records.clear();
+      applyChanges(JSON.parse((event as MessageEvent).data));
+    });
+    current.addEventListener('delta', (event) => {
+      applyChanges(JSON.parse((event as MessageEvent).data));
+    });
+    current.onerror = (error) => {
+      console.error('Error in special baggage stream:', error);
+      // EventSource would reconnect to the same, by then stale, window
+      current.close();
+      if (source === current) {
+        retry = setTimeout(connect, STREAM_RETRY_MS);
+      }
+    };
+  };
+
+  connect();
+  const reanchor = setInterval(connect, STREAM_REANCHOR_MS);
+
+  return () => {
+    clearInterval(reanchor);
+    clearTimeout(retry);
+    source?.close();
+    source = null;
+  };
+};
+
 // Legacy function alias for backward compatibility
 export const fetchLoadingRecords = fetchSpecialBaggage;
 